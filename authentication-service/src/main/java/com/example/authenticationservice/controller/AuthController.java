@@ -4,6 +4,7 @@ import com.example.authenticationservice.dto.request.LoginRequest;
 import com.example.authenticationservice.dto.request.RegisterRequest;
 import com.example.authenticationservice.dto.response.UserResponse;
 import com.example.authenticationservice.service.AuthService;
+import com.example.authenticationservice.service.PasswordHasher;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +13,8 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
@@ -34,26 +37,28 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "User registered successfully",
                     content = @Content(schema = @Schema(example = "{\"success\": true, \"user\": {...}, \"token\": \"...\"}"))),
             @ApiResponse(responseCode = "400", description = "Invalid request or user already exists"),
+            @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry later"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<Map<String, Object>> register(@org.springframework.web.bind.annotation.RequestBody String rawBody) {
-        Map<String, Object> response = new HashMap<>();
+        RegisterRequest request;
         try {
             ObjectMapper mapper = new ObjectMapper();
-            RegisterRequest request = mapper.readValue(rawBody, RegisterRequest.class);
+            request = mapper.readValue(rawBody, RegisterRequest.class);
 
             System.out.println("Raw body: " + rawBody);
             System.out.println("Parsed email: " + request.getEmail());
             System.out.println("Parsed password: " + request.getPassword());
-
-            response = authService.register(request);
         } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Error parsing request: " + e.getMessage());
             System.err.println("Parse error: " + e.getMessage());
             e.printStackTrace();
+            return ResponseEntity.ok(response);
         }
-        return ResponseEntity.ok(response);
+        // A saturated hashing pool surfaces as HashingUnavailableException, answered by hashingUnavailable
+        return ResponseEntity.ok(authService.register(request));
     }
 
     @PostMapping("/login")
@@ -62,19 +67,21 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Login successful",
                     content = @Content(schema = @Schema(example = "{\"success\": true, \"user\": {...}, \"token\": \"...\"}"))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry later"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<Map<String, Object>> login(@org.springframework.web.bind.annotation.RequestBody String rawBody) {
-        Map<String, Object> response = new HashMap<>();
+        LoginRequest request;
         try {
             ObjectMapper mapper = new ObjectMapper();
-            LoginRequest request = mapper.readValue(rawBody, LoginRequest.class);
-            response = authService.login(request);
+            request = mapper.readValue(rawBody, LoginRequest.class);
         } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Error parsing request: " + e.getMessage());
+            return ResponseEntity.ok(response);
         }
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(authService.login(request));
     }
 
     @GetMapping("/user/{id}")
@@ -105,6 +112,7 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "User updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request"),
             @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry later"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<Map<String, Object>> updateUser(@PathVariable Long id, @RequestBody RegisterRequest request) {
@@ -148,6 +156,20 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Password hashing pool saturated: fail fast so clients back off instead of holding request threads.
+     * The only place HashingUnavailableException is turned into a response, for every endpoint that hashes.
+     */
+    @ExceptionHandler(PasswordHasher.HashingUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> hashingUnavailable(PasswordHasher.HashingUnavailableException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the authentication service is running")
     @ApiResponses(value = {
@@ -0,0 +1,67 @@
+package com.example.authenticationservice.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custom business metrics for Authentication Service
+ */
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Expose the password hashing pool: queued requests and busy workers
+     */
+    public void registerHashingPool(ThreadPoolExecutor executor) {
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hash/verify requests waiting for a hashing worker")
+                .register(meterRegistry);
+
+        Gauge.builder("auth.password.workers.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing workers currently running BCrypt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record one BCrypt operation (hash or verify): time spent queued and time spent hashing
+     */
+    public void recordPasswordHash(String operation, long queuedNanos, long hashNanos) {
+        Timer.builder("auth.password.queue.wait")
+                .description("Time a password operation waited for a hashing worker")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(queuedNanos, TimeUnit.NANOSECONDS);
+
+        Timer.builder("auth.password.hash.duration")
+                .description("BCrypt hash/verify latency on the hashing pool")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(hashNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a password operation turned away (queue full, or no result within the wait timeout)
+     */
+    public void recordPasswordRejected(String operation, String reason) {
+        Counter.builder("auth.password.rejected")
+                .description("Password operations rejected because the hashing pool was saturated")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
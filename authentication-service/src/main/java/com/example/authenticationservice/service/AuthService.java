@@ -5,7 +5,6 @@ import com.example.authenticationservice.dto.request.RegisterRequest;
 import com.example.authenticationservice.dto.response.UserResponse;
 import com.example.authenticationservice.entity.User;
 import com.example.authenticationservice.repository.UserRepository;
-import at.favre.lib.crypto.bcrypt.BCrypt;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -21,6 +20,9 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
     public Map<String, Object> register(RegisterRequest request) {
         Map<String, Object> response = new HashMap<>();
 
@@ -56,8 +58,8 @@ public class AuthService {
             return response;
         }
 
-        // Hash password
-        String hashedPassword = BCrypt.withDefaults().hashToString(12, request.getPassword().toCharArray());
+        // Hash password on the hashing pool; throws HashingUnavailableException when it is saturated
+        String hashedPassword = passwordHasher.hash(request.getPassword());
 
         // Create new user
         User user = new User();
@@ -93,7 +95,7 @@ public class AuthService {
         User user = userOpt.get();
 
         // Verify password
-        boolean isPasswordValid = BCrypt.verifyer().verify(request.getPassword().toCharArray(), user.getPassword()).verified;
+        boolean isPasswordValid = passwordHasher.verify(request.getPassword(), user.getPassword());
 
         if (!isPasswordValid) {
             response.put("success", false);
@@ -140,7 +142,7 @@ public class AuthService {
 
         // Update password if provided
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
-            String hashedPassword = BCrypt.withDefaults().hashToString(12, request.getPassword().toCharArray());
+            String hashedPassword = passwordHasher.hash(request.getPassword());
             user.setPassword(hashedPassword);
         }
 
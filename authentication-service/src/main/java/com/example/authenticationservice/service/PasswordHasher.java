@@ -0,0 +1,127 @@
+package com.example.authenticationservice.service;
+
+import com.example.authenticationservice.metrics.AuthMetrics;
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt hashing and verification on a dedicated, CPU-sized pool.
+ *
+ * BCrypt is pure CPU work, so running it on request threads lets a login burst occupy every
+ * Tomcat thread and starve unrelated endpoints. Here it runs on {@code threads} workers with a
+ * bounded queue; once the queue is full further requests are rejected immediately (the caller
+ * answers 503) instead of piling up, and a request that does not get its result within
+ * {@code wait-timeout-ms} is rejected the same way (cancelling it only helps while it is still
+ * queued; a running BCrypt cannot be interrupted). The request thread only parks
+ * on the Future (no monitors held), so with virtual threads waiting does not pin a carrier.
+ */
+@Component
+public class PasswordHasher {
+
+    /**
+     * Thrown when the hashing pool cannot take or finish the request in time
+     */
+    public static class HashingUnavailableException extends RuntimeException {
+        public HashingUnavailableException(String message) {
+            super(message);
+        }
+    }
+
+    @Autowired
+    private AuthMetrics metrics;
+
+    @Value("${auth.password.bcrypt-cost:12}")
+    private int cost;
+
+    @Value("${auth.password.threads:0}")
+    private int threads;
+
+    @Value("${auth.password.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${auth.password.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        metrics.registerHashingPool(executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String password) {
+        return run("hash", () -> BCrypt.withDefaults().hashToString(cost, password.toCharArray()));
+    }
+
+    public boolean verify(String password, String hash) {
+        return run("verify", () -> BCrypt.verifyer().verify(password.toCharArray(), hash).verified);
+    }
+
+    private <T> T run(String operation, Callable<T> work) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    metrics.recordPasswordHash(operation, started - submitted, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            metrics.recordPasswordRejected(operation, "queue_full");
+            throw new HashingUnavailableException("Too many authentication requests, please retry shortly");
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // BCrypt does not check for interrupts: a hash that already started keeps its worker busy
+            // until it finishes, after the caller got its 503. Only a still-queued task is really dropped.
+            future.cancel(true);
+            // Free the queue slot if it never started
+            executor.remove((Runnable) future);
+            metrics.recordPasswordRejected(operation, "timeout");
+            throw new HashingUnavailableException("Authentication timed out, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingUnavailableException("Authentication was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.authenticationservice.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// One worker and a queue of 2; a cost-16 hash keeps the worker busy far longer than the 1 s wait
+@SpringBootTest(properties = {
+        "auth.password.threads=1",
+        "auth.password.queue-capacity=2",
+        "auth.password.bcrypt-cost=16",
+        "auth.password.wait-timeout-ms=1000"
+})
+@AutoConfigureMockMvc
+class AuthControllerOverloadTest {
+
+    private static final int BURST = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void burstBeyondTheHashingPoolGetsFast503sWithRetryAfter() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Outcome>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(BURST)) {
+            for (int i = 0; i < BURST; i++) {
+                String body = "{\"email\": \"burst" + i + "@example.com\", \"password\": \"secret123\", " +
+                        "\"firstName\": \"Burst\", \"lastName\": \"User\"}";
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    long started = System.nanoTime();
+                    MockHttpServletResponse response = mockMvc.perform(post("/auth/register")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn().getResponse();
+                    return new Outcome(response, (System.nanoTime() - started) / 1_000_000);
+                }));
+            }
+            start.countDown();
+
+            int fast = 0;
+            for (Future<Outcome> future : futures) {
+                Outcome outcome = future.get();
+                assertEquals(503, outcome.response().getStatus());
+                assertEquals("1", outcome.response().getHeader(HttpHeaders.RETRY_AFTER));
+                assertTrue(outcome.response().getContentAsString().contains("\"success\":false"));
+                if (outcome.elapsedMs() < 500) {
+                    fast++;
+                }
+            }
+
+            // Three requests fit in the pool and wait out the timeout; the rest are turned away at once
+            assertEquals(BURST - 3, rejected("queue_full"));
+            assertEquals(3, rejected("timeout"));
+            assertEquals(BURST - 3, fast);
+        }
+    }
+
+    private double rejected(String reason) {
+        Counter counter = meterRegistry.find("auth.password.rejected")
+                .tags("operation", "hash", "reason", reason)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private record Outcome(MockHttpServletResponse response, long elapsedMs) {
+    }
+}
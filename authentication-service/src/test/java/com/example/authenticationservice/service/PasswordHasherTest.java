@@ -0,0 +1,55 @@
+package com.example.authenticationservice.service;
+
+import com.example.authenticationservice.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        hasher = new PasswordHasher();
+        ReflectionTestUtils.setField(hasher, "metrics", new AuthMetrics(registry));
+        ReflectionTestUtils.setField(hasher, "cost", 4);
+        ReflectionTestUtils.setField(hasher, "threads", 1);
+        ReflectionTestUtils.setField(hasher, "queueCapacity", 2);
+        ReflectionTestUtils.setField(hasher, "waitTimeoutMs", 5000L);
+        hasher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void hashVerifiesOnlyTheOriginalPassword() {
+        String hash = hasher.hash("secret123");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.verify("secret123", hash));
+        assertFalse(hasher.verify("secret124", hash));
+    }
+
+    @Test
+    void everyOperationIsTimedAndThePoolIsExposed() {
+        String hash = hasher.hash("secret123");
+        hasher.verify("secret123", hash);
+
+        assertEquals(1, registry.get("auth.password.hash.duration").tag("operation", "hash").timer().count());
+        assertEquals(1, registry.get("auth.password.queue.wait").tag("operation", "verify").timer().count());
+        assertEquals(0, registry.get("auth.password.queue.depth").gauge().value());
+        assertTrue(registry.find("auth.password.rejected").counters().isEmpty());
+    }
+}
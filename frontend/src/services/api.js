@@ -46,11 +46,32 @@ export const authAPI = {
   getAllUsers: () => api.get('/auth/users'),
 };
 
+// Goal listings are keyset-paginated; follow nextCursor until the last page
+const GOALS_PAGE_SIZE = 500;
+
+const getAllUserGoalPages = async (userId) => {
+  const goals = [];
+  let cursor = null;
+  let response;
+  do {
+    response = await api.get(`/goals/user/${userId}`, {
+      params: cursor ? { limit: GOALS_PAGE_SIZE, cursor } : { limit: GOALS_PAGE_SIZE },
+    });
+    goals.push(...(response.data.goals || []));
+    cursor = response.data.nextCursor;
+  } while (cursor);
+
+  return {
+    ...response,
+    data: { ...response.data, goals, count: goals.length, hasMore: false, nextCursor: null },
+  };
+};
+
 // Goals API
 export const goalsAPI = {
   createGoal: (goalData) => api.post('/goals', goalData),
   getAllGoals: () => api.get('/goals'),
-  getUserGoals: (userId) => api.get(`/goals/user/${userId}`),
+  getUserGoals: (userId) => getAllUserGoalPages(userId),
   getGoalById: (id) => api.get(`/goals/${id}`),
   updateGoal: (id, goalData) => api.put(`/goals/${id}`, goalData),
   deleteGoal: (id) => api.delete(`/goals/${id}`),
@@ -0,0 +1,182 @@
+package com.example.goalservice.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker plus concurrency bulkhead for one downstream dependency.
+ *
+ * The breaker keeps the outcome of the last {@code windowSize} calls; once at least
+ * {@code minimumCalls} are recorded and the failure rate reaches the threshold it opens and
+ * every call goes straight to the fallback for {@code openDurationMs}. After that a single
+ * probe call is let through (half-open): success closes the circuit, failure re-opens it.
+ * Independently, at most {@code maxConcurrentCalls} requests may be in flight; callers that
+ * cannot get a permit within {@code maxWaitMs} are shed to the fallback instead of piling up
+ * behind a slow dependency.
+ *
+ * Only outages count against the breaker: 5xx answers and I/O errors, timeouts included. A 4xx
+ * means the dependency is up and rejected this request, so it is recorded as a healthy call and
+ * rethrown to the caller instead of going to the fallback.
+ */
+public class DependencyGuard {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    public enum Rejection { CIRCUIT_OPEN, BULKHEAD_FULL, CALL_FAILED }
+
+    public record Settings(int windowSize, int minimumCalls, int failureRateThreshold,
+                           long openDurationMs, int maxConcurrentCalls, long maxWaitMs) {
+    }
+
+    @FunctionalInterface
+    public interface Fallback<T> {
+        T apply(Rejection rejection, RuntimeException cause);
+    }
+
+    private final String name;
+    private final Settings settings;
+    private final Semaphore permits;
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openUntilMillis;
+    private boolean probeInFlight;
+
+    public DependencyGuard(String name, Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.permits = new Semaphore(settings.maxConcurrentCalls());
+        this.outcomes = new boolean[settings.windowSize()];
+    }
+
+    /**
+     * Run the call through the breaker and bulkhead; any rejection or failure other than a 4xx is
+     * answered by the fallback
+     */
+    public <T> T call(Supplier<T> call, Fallback<T> fallback) {
+        boolean probe;
+        synchronized (this) {
+            if (state == State.OPEN && System.currentTimeMillis() >= openUntilMillis) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.OPEN || (state == State.HALF_OPEN && probeInFlight)) {
+                return fallback.apply(Rejection.CIRCUIT_OPEN, null);
+            }
+            probe = state == State.HALF_OPEN;
+            if (probe) {
+                probeInFlight = true;
+            }
+        }
+
+        if (!acquirePermit()) {
+            if (probe) {
+                synchronized (this) {
+                    probeInFlight = false;
+                }
+            }
+            return fallback.apply(Rejection.BULKHEAD_FULL, null);
+        }
+
+        try {
+            T result = call.get();
+            onResult(probe, true);
+            return result;
+        } catch (HttpClientErrorException e) {
+            onResult(probe, true);
+            throw e;
+        } catch (RuntimeException e) {
+            onResult(probe, !isOutage(e));
+            return fallback.apply(Rejection.CALL_FAILED, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * 5xx, connection and read failures (RestTemplate wraps I/O errors and timeouts in
+     * ResourceAccessException); anything else, including a body that could not be decoded,
+     * means the dependency did answer
+     */
+    private static boolean isOutage(RuntimeException e) {
+        if (e instanceof ResourceAccessException && e.getCause() instanceof JsonProcessingException) {
+            return false;
+        }
+        return e instanceof HttpServerErrorException || e instanceof ResourceAccessException
+                || e instanceof UncheckedIOException;
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(settings.maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void onResult(boolean probe, boolean success) {
+        if (probe) {
+            probeInFlight = false;
+            if (success) {
+                state = State.CLOSED;
+                resetWindow();
+            } else {
+                open();
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            return;
+        }
+
+        if (recorded == outcomes.length) {
+            if (!outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = success;
+        if (!success) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+
+        if (recorded >= settings.minimumCalls() && failures * 100 >= settings.failureRateThreshold() * recorded) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntilMillis = System.currentTimeMillis() + settings.openDurationMs();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
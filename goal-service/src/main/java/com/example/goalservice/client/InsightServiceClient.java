@@ -1,6 +1,8 @@
 package com.example.goalservice.client;
 
-import com.example.goalservice.entity.Goal;
+import com.example.goalservice.event.GoalLifecycleEvent;
+import com.example.goalservice.metrics.GoalMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -11,10 +13,14 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.RestClientException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class InsightServiceClient {
@@ -22,57 +28,75 @@ public class InsightServiceClient {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private GoalMetrics metrics;
+
     @Value("${services.insight-service.url:http://localhost:8085}")
     private String insightServiceUrl;
 
-    public void notifyGoalCreated(Goal goal) {
-        try {
-            String url = insightServiceUrl + "/notifications";
+    @Value("${goal.clients.breaker.window-size:20}")
+    private int breakerWindowSize;
 
-            // Create notification data for goal creation
-            Map<String, Object> notificationData = new HashMap<>();
-            notificationData.put("userId", goal.getUserId());
-            notificationData.put("notificationType", "GOAL_CREATED");
-            notificationData.put("title", "New Goal Created");
-            notificationData.put("message", "Goal '" + goal.getTitle() + "' has been created with target amount: $" + goal.getTargetAmount());
-            notificationData.put("relatedGoalId", goal.getId());
-            notificationData.put("isRead", false);
-            notificationData.put("priority", goal.getPriorityLevel().toString());
+    @Value("${goal.clients.breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+    @Value("${goal.clients.breaker.failure-rate-threshold:50}")
+    private int breakerFailureRateThreshold;
 
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(notificationData, headers);
+    @Value("${goal.clients.breaker.open-duration-ms:10000}")
+    private long breakerOpenDurationMs;
 
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                request,
-                new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
+    @Value("${goal.clients.bulkhead.max-concurrent-calls:16}")
+    private int bulkheadMaxConcurrentCalls;
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                System.out.println("Successfully notified Insight Service about goal creation: " + goal.getId());
-            }
+    @Value("${goal.clients.bulkhead.max-wait-ms:50}")
+    private long bulkheadMaxWaitMs;
 
-        } catch (RestClientException e) {
-            System.err.println("Failed to notify Insight Service about goal creation: " + e.getMessage());
-        }
+    private DependencyGuard guard;
+
+    @PostConstruct
+    void initGuard() {
+        guard = new DependencyGuard("insight-service", new DependencyGuard.Settings(
+                breakerWindowSize, breakerMinimumCalls, breakerFailureRateThreshold,
+                breakerOpenDurationMs, bulkheadMaxConcurrentCalls, bulkheadMaxWaitMs));
+        metrics.registerDependencyGuard(guard);
     }
 
-    public void notifyGoalUpdated(Goal goal) {
-        try {
+    /**
+     * Post the notification for a goal lifecycle event; false when Insight Service failed or was
+     * skipped by the breaker/bulkhead, so the outbox relay can retry it later
+     */
+    public boolean sendGoalNotification(GoalLifecycleEvent event) {
+        return guard.call(() -> {
             String url = insightServiceUrl + "/notifications";
 
-            // Create notification data for goal update
             Map<String, Object> notificationData = new HashMap<>();
-            notificationData.put("userId", goal.getUserId());
-            notificationData.put("notificationType", "GOAL_UPDATED");
-            notificationData.put("title", "Goal Updated");
-            notificationData.put("message", "Goal '" + goal.getTitle() + "' has been updated. Current progress: $" + goal.getCurrentAmount() + " of $" + goal.getTargetAmount());
-            notificationData.put("relatedGoalId", goal.getId());
+            notificationData.put("userId", event.getUserId());
+            notificationData.put("notificationType", event.getEventType().name());
+            notificationData.put("relatedGoalId", event.getGoalId());
             notificationData.put("isRead", false);
-            notificationData.put("priority", "MEDIUM");
+            switch (event.getEventType()) {
+                case GOAL_CREATED -> {
+                    notificationData.put("title", "New Goal Created");
+                    notificationData.put("message", "Goal '" + event.getTitle() + "' has been created with target amount: $" + event.getTargetAmount());
+                    notificationData.put("priority", event.getPriorityLevel());
+                }
+                case GOAL_UPDATED -> {
+                    notificationData.put("title", "Goal Updated");
+                    notificationData.put("message", "Goal '" + event.getTitle() + "' has been updated. Current progress: $" + event.getCurrentAmount() + " of $" + event.getTargetAmount());
+                    notificationData.put("priority", "MEDIUM");
+                }
+                case GOAL_COMPLETED -> {
+                    notificationData.put("title", "Goal Completed!");
+                    notificationData.put("message", "Congratulations! You've completed your goal '" + event.getTitle() + "' with a target of $" + event.getTargetAmount());
+                    notificationData.put("priority", "HIGH");
+                }
+                case GOAL_DELETED -> {
+                    notificationData.put("title", "Goal Deleted");
+                    notificationData.put("message", "Goal '" + event.getTitle() + "' has been deleted");
+                    notificationData.put("priority", "LOW");
+                }
+            }
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
@@ -86,68 +110,60 @@ public class InsightServiceClient {
                 new ParameterizedTypeReference<Map<String, Object>>() {}
             );
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                System.out.println("Successfully notified Insight Service about goal update: " + goal.getId());
-            }
-
-        } catch (RestClientException e) {
-            System.err.println("Failed to notify Insight Service about goal update: " + e.getMessage());
-        }
+            return response.getStatusCode().is2xxSuccessful();
+        }, (rejection, cause) -> {
+            notificationSkipped(event.getEventType().name(), rejection, cause);
+            return false;
+        });
     }
 
-    public void notifyGoalCompleted(Goal goal) {
-        try {
-            String url = insightServiceUrl + "/notifications";
-
-            // Create notification data for goal completion
-            Map<String, Object> notificationData = new HashMap<>();
-            notificationData.put("userId", goal.getUserId());
-            notificationData.put("notificationType", "GOAL_COMPLETED");
-            notificationData.put("title", "Goal Completed!");
-            notificationData.put("message", "Congratulations! You've completed your goal '" + goal.getTitle() + "' with a target of $" + goal.getTargetAmount());
-            notificationData.put("relatedGoalId", goal.getId());
-            notificationData.put("isRead", false);
-            notificationData.put("priority", "HIGH");
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(notificationData, headers);
-
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                request,
-                new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                System.out.println("Successfully notified Insight Service about goal completion: " + goal.getId());
+    /**
+     * Post milestone notifications in one call. Events are coalesced per goal into a single notification
+     * for the highest milestone reached; false when Insight Service failed or was skipped.
+     */
+    public boolean sendGoalMilestoneNotifications(List<GoalLifecycleEvent> events) {
+        Map<Long, List<GoalLifecycleEvent>> byGoal = new LinkedHashMap<>();
+        for (GoalLifecycleEvent event : events) {
+            byGoal.computeIfAbsent(event.getGoalId(), id -> new ArrayList<>()).add(event);
+        }
+        List<Map<String, Object>> notifications = new ArrayList<>(byGoal.size());
+        for (List<GoalLifecycleEvent> goalEvents : byGoal.values()) {
+            goalEvents.sort(Comparator.comparing(GoalLifecycleEvent::getMilestonePercentage));
+            GoalLifecycleEvent highest = goalEvents.get(goalEvents.size() - 1);
+            String message = "You've reached " + highest.getMilestonePercentage() + "% of your goal '" + highest.getTitle()
+                    + "': $" + highest.getCurrentAmount() + " of $" + highest.getTargetAmount();
+            if (goalEvents.size() > 1) {
+                message += " (passing " + goalEvents.subList(0, goalEvents.size() - 1).stream()
+                        .map(e -> e.getMilestonePercentage() + "%")
+                        .collect(Collectors.joining(", ")) + ")";
             }
 
-        } catch (RestClientException e) {
-            System.err.println("Failed to notify Insight Service about goal completion: " + e.getMessage());
+            Map<String, Object> notificationData = new HashMap<>();
+            notificationData.put("userId", highest.getUserId());
+            notificationData.put("goalId", highest.getGoalId());
+            notificationData.put("title", highest.getMilestonePercentage() == 100 ? "Goal Reached 100%" : "Goal Milestone Reached");
+            notificationData.put("message", message);
+            notifications.add(notificationData);
         }
+
+        return postNotificationBatch("/notifications/goal-milestone/batch", notifications, "goal milestones");
     }
 
-    public void notifyGoalDeleted(Long goalId, Long userId, String goalName) {
-        try {
-            String url = insightServiceUrl + "/notifications";
+    /**
+     * Post deadline reminders (userId, goalId, title, message) in one call; false when Insight Service failed or was skipped
+     */
+    public boolean sendGoalDeadlineNotifications(List<Map<String, Object>> notifications) {
+        return postNotificationBatch("/notifications/goal-deadline/batch", notifications, "goal deadline reminders");
+    }
 
-            // Create notification data for goal deletion
-            Map<String, Object> notificationData = new HashMap<>();
-            notificationData.put("userId", userId);
-            notificationData.put("notificationType", "GOAL_DELETED");
-            notificationData.put("title", "Goal Deleted");
-            notificationData.put("message", "Goal '" + goalName + "' has been deleted");
-            notificationData.put("relatedGoalId", goalId);
-            notificationData.put("isRead", false);
-            notificationData.put("priority", "LOW");
+    private boolean postNotificationBatch(String path, List<Map<String, Object>> notifications, String label) {
+        return guard.call(() -> {
+            String url = insightServiceUrl + path;
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
 
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(notificationData, headers);
+            HttpEntity<Map<String, Object>> request = new HttpEntity<>(Map.of("notifications", notifications), headers);
 
             ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
                 url,
@@ -156,17 +172,15 @@ public class InsightServiceClient {
                 new ParameterizedTypeReference<Map<String, Object>>() {}
             );
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                System.out.println("Successfully notified Insight Service about goal deletion: " + goalId);
-            }
-
-        } catch (RestClientException e) {
-            System.err.println("Failed to notify Insight Service about goal deletion: " + e.getMessage());
-        }
+            return response.getStatusCode().is2xxSuccessful();
+        }, (rejection, cause) -> {
+            notificationSkipped(notifications.size() + " " + label, rejection, cause);
+            return false;
+        });
     }
 
     public Map<String, Object> getUserGoalInsights(Long userId) {
-        try {
+        return guard.call(() -> {
             String url = insightServiceUrl + "/integrated/user/" + userId + "/goal-progress-analysis";
 
             ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
@@ -180,10 +194,25 @@ public class InsightServiceClient {
                 return response.getBody();
             }
 
-            return Map.of("success", false, "message", "Failed to fetch goal insights");
-        } catch (RestClientException e) {
-            System.err.println("Error calling Insight Service for goal insights: " + e.getMessage());
-            return Map.of("success", false, "message", "Service unavailable", "error", e.getMessage());
+            return Map.<String, Object>of("success", false, "message", "Failed to fetch goal insights");
+        }, (rejection, cause) -> {
+            if (cause != null) {
+                System.err.println("Error calling Insight Service for goal insights: " + cause.getMessage());
+            }
+            metrics.recordClientFallback(guard.getName(), rejection);
+            return Map.of("success", false, "message", "Service unavailable", "reason", rejection.name());
+        });
+    }
+
+    /**
+     * Count a notification Insight Service did not take; the outbox relay decides whether to retry it
+     */
+    private void notificationSkipped(String event, DependencyGuard.Rejection rejection, RuntimeException cause) {
+        if (cause != null) {
+            System.err.println("Failed to notify Insight Service about " + event + ": " + cause.getMessage());
+        } else {
+            System.err.println("Skipped Insight Service notification about " + event + ": " + rejection);
         }
+        metrics.recordClientFallback(guard.getName(), rejection);
     }
 }
\ No newline at end of file
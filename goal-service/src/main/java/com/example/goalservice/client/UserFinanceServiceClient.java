@@ -3,13 +3,15 @@ package com.example.goalservice.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -72,23 +74,32 @@ public class UserFinanceServiceClient {
         }
     }
 
-    public BigDecimal calculateGoalContributions(Long userId, Long goalId) {
+    /**
+     * Monthly income/expense totals for a batch of users in one call; null when the service is unavailable.
+     * The ids go in a POST body, since a forecast partition of them would not fit in a URL.
+     */
+    public Map<String, Object> getMonthlyCashFlowForUsers(Collection<Long> userIds, int months) {
         try {
-            List<Map<String, Object>> transactions = getUserTransactions(userId);
-
-            return transactions.stream()
-                .filter(t -> {
-                    Object transactionGoalId = t.get("goalId");
-                    return transactionGoalId != null &&
-                           goalId.equals(Long.valueOf(transactionGoalId.toString()));
-                })
-                .filter(t -> "INCOME".equals(t.get("type")))
-                .map(t -> new BigDecimal(t.get("amount").toString()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        } catch (Exception e) {
-            System.err.println("Error calculating goal contributions: " + e.getMessage());
-            return BigDecimal.ZERO;
+            String url = UriComponentsBuilder.fromUriString(userFinanceServiceUrl + "/finance/transactions/batch/monthly-cash-flow")
+                .queryParam("months", months)
+                .toUriString();
+
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("userIds", List.copyOf(userIds))),
+                new ParameterizedTypeReference<Map<String, Object>>() {}
+            );
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null
+                    && Boolean.TRUE.equals(response.getBody().get("success"))) {
+                return response.getBody();
+            }
+
+            return null;
+        } catch (RestClientException e) {
+            System.err.println("Error calling User Finance Service for monthly cash flow: " + e.getMessage());
+            return null;
         }
     }
 
@@ -0,0 +1,24 @@
+package com.example.goalservice.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile (binary JSON) responses for internal callers.
+ *
+ * Clients that send Accept: application/x-jackson-smile get the same response structure
+ * in a compact binary encoding; browsers and other clients still negotiate JSON. The
+ * mapper is built from the application's Jackson builder so dates and inclusion rules
+ * match the JSON output.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.goalservice.controller;
 
+import com.example.goalservice.dto.request.GoalContributionRequest;
 import com.example.goalservice.dto.request.GoalRequest;
 import com.example.goalservice.dto.response.GoalResponse;
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.service.DataVersionService;
+import com.example.goalservice.service.GoalProgressHistoryService;
 import com.example.goalservice.service.GoalService;
+import com.example.goalservice.service.GoalSimulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,9 +15,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,6 +35,15 @@ public class GoalController {
     @Autowired
     private GoalService goalService;
 
+    @Autowired
+    private GoalProgressHistoryService progressHistoryService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private GoalSimulationService simulationService;
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the goal service is running")
     public ResponseEntity<String> health() {
@@ -53,14 +74,62 @@ public class GoalController {
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Get user goals", description = "Retrieve all financial goals for a specific user")
+    @Operation(summary = "Get user goals", description = "Retrieve a page of a user's goals, newest first, optionally filtered by status; pass nextCursor back as cursor for the next page")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User goals retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Goals unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "User not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Map<String, Object>> getGoalsByUserId(@PathVariable Long userId) {
-        Map<String, Object> response = goalService.getGoalsByUserId(userId);
+    public ResponseEntity<Map<String, Object>> getGoalsByUserId(@PathVariable Long userId,
+                                                                @RequestParam(required = false) Goal.Status status,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
+        Map<String, Object> response = goalService.getGoalsByUserId(userId, status, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get goals for many users", description = "Retrieve goals for a list of users in one call, grouped by user ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User goals retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Goals unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getGoalsByUserIds(@RequestParam List<Long> userIds, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(userIds))) {
+            return null;
+        }
+        Map<String, Object> response = goalService.getGoalsByUserIds(userIds);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get goals for many users", description = "Same as GET /goals/batch with the user IDs in the body ({\"userIds\": [...]}), for lists too long for a URL; resend the IDs above nextCursor when it is set")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User goals retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> postGoalsByUserIds(@RequestBody Map<String, List<Long>> request) {
+        Map<String, Object> response = goalService.getGoalsByUserIds(request.get("userIds"));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/batch/range")
+    @Operation(summary = "Get goals for a user ID range", description = "Page through users with goals in [fromUserId, toUserId], grouped by user ID; pass nextCursor back as after")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User goals retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getGoalsByUserRange(@RequestParam(required = false) Long fromUserId,
+                                                                   @RequestParam(required = false) Long toUserId,
+                                                                   @RequestParam(required = false) Long after,
+                                                                   @RequestParam(defaultValue = "500") int limit) {
+        Map<String, Object> response = goalService.getGoalsByUserRange(fromUserId, toUserId, after, limit);
         return ResponseEntity.ok(response);
     }
 
@@ -79,6 +148,62 @@ public class GoalController {
         return ResponseEntity.notFound().build();
     }
 
+    @GetMapping("/{id}/progress-history")
+    @Operation(summary = "Get goal progress history", description = "Progress time series at DAILY, WEEKLY or MONTHLY resolution (chosen from the date range when omitted)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Progress history retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getProgressHistory(@PathVariable Long id,
+                                                                  @RequestParam(required = false) String resolution,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Map<String, Object> response = progressHistoryService.getProgressHistory(id, resolution, from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/prediction")
+    @Operation(summary = "Get goal prediction", description = "Latest nightly forecast: predicted completion date, required monthly savings and probability of success")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Goal prediction retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getGoalPrediction(@PathVariable Long id) {
+        Map<String, Object> response = goalService.getGoalPrediction(id);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/simulate")
+    @Operation(summary = "Simulate goal savings", description = "Monte Carlo what-if: percentile completion dates and probability of reaching the target, from the user's cash flow history or a given monthly contribution")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Simulation completed successfully"),
+            @ApiResponse(responseCode = "503", description = "Too many simulations running; retry shortly"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> simulate(@PathVariable Long id,
+                                                        @RequestParam(required = false) BigDecimal monthlyContribution,
+                                                        @RequestParam(required = false) Integer paths,
+                                                        @RequestParam(required = false) Long seed) {
+        Map<String, Object> response = simulationService.simulate(id, monthlyContribution, paths, seed);
+        if (Boolean.TRUE.equals(response.get("busy"))) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/contributions")
+    @Operation(summary = "Add contribution", description = "Add money to an active goal atomically; the goal is completed when the contribution reaches its target")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contribution added successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "404", description = "Goal not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> addContribution(@PathVariable Long id, @RequestBody GoalContributionRequest request) {
+        Map<String, Object> response = goalService.addContribution(id, request);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update goal", description = "Update an existing financial goal")
     @ApiResponses(value = {
@@ -0,0 +1,23 @@
+package com.example.goalservice.dto.request;
+
+import java.math.BigDecimal;
+
+public class GoalContributionRequest {
+    private BigDecimal amount;
+
+    // Constructors
+    public GoalContributionRequest() {}
+
+    public GoalContributionRequest(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    // Getters and Setters
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
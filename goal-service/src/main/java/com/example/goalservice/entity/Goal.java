@@ -1,12 +1,19 @@
 package com.example.goalservice.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+// Entity updates write only the changed columns; amount changes go through GoalRepository's atomic UPDATEs
 @Entity
-@Table(name = "goals")
+@DynamicUpdate
+@Table(name = "goals", indexes = {
+        @Index(name = "idx_goals_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_goals_status_user", columnList = "status, user_id"),
+        @Index(name = "idx_goals_status_target_date", columnList = "status, target_date")
+})
 public class Goal {
 
     @Id
@@ -0,0 +1,110 @@
+package com.example.goalservice.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ledger entry: what one finance transaction currently contributes to a goal.
+ *
+ * Keyed by the transaction ID, so a redelivered event finds the entry it already produced
+ * and only the difference is applied to the goal. The transaction version of the last
+ * event applied rejects events that arrive out of order. Deleted transactions leave a
+ * tombstone so that a late replay of their earlier events cannot bring the contribution back.
+ */
+@Entity
+@Table(name = "goal_contributions", indexes = {
+        @Index(name = "idx_goal_contributions_goal", columnList = "goal_id")
+})
+public class GoalContribution {
+
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "goal_id")
+    private Long goalId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_version")
+    private Long transactionVersion;
+
+    @Column(nullable = false)
+    private Boolean deleted = false;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public GoalContribution() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public GoalContribution(Long transactionId, Long userId) {
+        this();
+        this.transactionId = transactionId;
+        this.userId = userId;
+    }
+
+    // Getters and Setters
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Long getTransactionVersion() {
+        return transactionVersion;
+    }
+
+    public void setTransactionVersion(Long transactionVersion) {
+        this.transactionVersion = transactionVersion;
+    }
+
+    public Boolean getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.goalservice.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Watermark of the goal deadline scanner for one reminder horizon: target dates up to
+ * scannedThrough have been reminded, and cursorTargetDate/cursorGoalId mark how far an
+ * interrupted scan got
+ */
+@Entity
+@Table(name = "goal_deadline_scans")
+public class GoalDeadlineScan {
+
+    @Id
+    @Column(name = "horizon_days")
+    private Integer horizonDays;
+
+    @Column(name = "scanned_through")
+    private LocalDate scannedThrough;
+
+    @Column(name = "cursor_target_date")
+    private LocalDate cursorTargetDate;
+
+    @Column(name = "cursor_goal_id")
+    private Long cursorGoalId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public GoalDeadlineScan() {
+    }
+
+    public GoalDeadlineScan(Integer horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Integer getHorizonDays() {
+        return horizonDays;
+    }
+
+    public void setHorizonDays(Integer horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    public LocalDate getScannedThrough() {
+        return scannedThrough;
+    }
+
+    public void setScannedThrough(LocalDate scannedThrough) {
+        this.scannedThrough = scannedThrough;
+    }
+
+    public LocalDate getCursorTargetDate() {
+        return cursorTargetDate;
+    }
+
+    public void setCursorTargetDate(LocalDate cursorTargetDate) {
+        this.cursorTargetDate = cursorTargetDate;
+    }
+
+    public Long getCursorGoalId() {
+        return cursorGoalId;
+    }
+
+    public void setCursorGoalId(Long cursorGoalId) {
+        this.cursorGoalId = cursorGoalId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.goalservice.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "goal_milestones", indexes = {
+        @Index(name = "idx_goal_milestones_goal", columnList = "goal_id")
+})
+public class GoalMilestone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "goal_id", nullable = false)
+    private Long goalId;
+
+    @Column(name = "milestone_name", nullable = false, length = 200)
+    private String milestoneName;
+
+    @Column(name = "target_percentage", nullable = false, precision = 5, scale = 2)
+    private BigDecimal targetPercentage;
+
+    @Column(name = "target_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal targetAmount;
+
+    @Column(name = "is_achieved")
+    private Boolean isAchieved = false;
+
+    @Column(name = "achieved_at")
+    private LocalDateTime achievedAt;
+
+    @Column(name = "reward_description", columnDefinition = "TEXT")
+    private String rewardDescription;
+
+    @Column(name = "is_automatic")
+    private Boolean isAutomatic = true;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public GoalMilestone() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public String getMilestoneName() {
+        return milestoneName;
+    }
+
+    public void setMilestoneName(String milestoneName) {
+        this.milestoneName = milestoneName;
+    }
+
+    public BigDecimal getTargetPercentage() {
+        return targetPercentage;
+    }
+
+    public void setTargetPercentage(BigDecimal targetPercentage) {
+        this.targetPercentage = targetPercentage;
+    }
+
+    public BigDecimal getTargetAmount() {
+        return targetAmount;
+    }
+
+    public void setTargetAmount(BigDecimal targetAmount) {
+        this.targetAmount = targetAmount;
+    }
+
+    public Boolean getIsAchieved() {
+        return isAchieved;
+    }
+
+    public void setIsAchieved(Boolean isAchieved) {
+        this.isAchieved = isAchieved;
+    }
+
+    public LocalDateTime getAchievedAt() {
+        return achievedAt;
+    }
+
+    public void setAchievedAt(LocalDateTime achievedAt) {
+        this.achievedAt = achievedAt;
+    }
+
+    public String getRewardDescription() {
+        return rewardDescription;
+    }
+
+    public void setRewardDescription(String rewardDescription) {
+        this.rewardDescription = rewardDescription;
+    }
+
+    public Boolean getIsAutomatic() {
+        return isAutomatic;
+    }
+
+    public void setIsAutomatic(Boolean isAutomatic) {
+        this.isAutomatic = isAutomatic;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
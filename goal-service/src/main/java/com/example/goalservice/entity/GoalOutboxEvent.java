@@ -0,0 +1,183 @@
+package com.example.goalservice.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for one goal lifecycle event, written in the same transaction as the goal change.
+ *
+ * GoalOutboxRelay delivers it to Kafka and to Insight Service and deletes it once both channels
+ * have accepted it; each channel's flag is kept so a retry never repeats a delivered channel.
+ * Rows that exhaust their attempts stay behind as FAILED.
+ */
+@Entity
+@Table(name = "goal_outbox_events", indexes = {
+        @Index(name = "idx_goal_outbox_status_next", columnList = "status, next_attempt_at")
+})
+public class GoalOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "goal_id", nullable = false)
+    private Long goalId;
+
+    @Column(name = "event_type", nullable = false, length = 30)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "kafka_delivered", nullable = false)
+    private Boolean kafkaDelivered = false;
+
+    @Column(name = "notification_delivered", nullable = false)
+    private Boolean notificationDelivered = false;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public GoalOutboxEvent() {
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public GoalOutboxEvent(Long userId, Long goalId, String eventType, String payload) {
+        this();
+        this.userId = userId;
+        this.goalId = goalId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    // Enum for delivery status
+    public enum Status {
+        PENDING, FAILED
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Boolean getKafkaDelivered() {
+        return kafkaDelivered;
+    }
+
+    public void setKafkaDelivered(Boolean kafkaDelivered) {
+        this.kafkaDelivered = kafkaDelivered;
+    }
+
+    public Boolean getNotificationDelivered() {
+        return notificationDelivered;
+    }
+
+    public void setNotificationDelivered(Boolean notificationDelivered) {
+        this.notificationDelivered = notificationDelivered;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
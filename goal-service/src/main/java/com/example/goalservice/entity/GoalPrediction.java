@@ -0,0 +1,220 @@
+package com.example.goalservice.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "goal_predictions", indexes = {
+        @Index(name = "unique_goal_prediction", columnList = "goal_id", unique = true),
+        @Index(name = "idx_goal_predictions_user", columnList = "user_id")
+})
+public class GoalPrediction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "goal_id", nullable = false)
+    private Long goalId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "predicted_completion_date")
+    private LocalDate predictedCompletionDate;
+
+    @Column(name = "predicted_final_amount", precision = 15, scale = 2)
+    private BigDecimal predictedFinalAmount;
+
+    @Column(name = "confidence_score", nullable = false, precision = 3, scale = 2)
+    private BigDecimal confidenceScore;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "prediction_method")
+    private PredictionMethod predictionMethod = PredictionMethod.TREND_ANALYSIS;
+
+    @Column(name = "required_monthly_savings", nullable = false, precision = 15, scale = 2)
+    private BigDecimal requiredMonthlySavings;
+
+    @Column(name = "current_monthly_average", precision = 15, scale = 2)
+    private BigDecimal currentMonthlyAverage = BigDecimal.ZERO;
+
+    @Column(name = "savings_rate_needed", precision = 5, scale = 2)
+    private BigDecimal savingsRateNeeded = BigDecimal.ZERO;
+
+    @Column(name = "probability_of_success", precision = 5, scale = 2)
+    private BigDecimal probabilityOfSuccess = BigDecimal.ZERO;
+
+    @Column(name = "days_to_completion")
+    private Integer daysToCompletion;
+
+    @Column(name = "months_behind_schedule")
+    private Integer monthsBehindSchedule = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recommended_action")
+    private RecommendedAction recommendedAction;
+
+    @Column(name = "risk_factors", columnDefinition = "TEXT")
+    private String riskFactors;
+
+    @Column(name = "last_updated", nullable = false)
+    private LocalDateTime lastUpdated;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public GoalPrediction() {
+        this.createdAt = LocalDateTime.now();
+        this.lastUpdated = LocalDateTime.now();
+    }
+
+    // Enums
+    public enum PredictionMethod {
+        LINEAR_REGRESSION, TREND_ANALYSIS, SEASONAL_ADJUSTED, ML_MODEL
+    }
+
+    public enum RecommendedAction {
+        INCREASE_SAVINGS, EXTEND_DEADLINE, REDUCE_TARGET, ON_TRACK, ADJUST_SPENDING
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getPredictedCompletionDate() {
+        return predictedCompletionDate;
+    }
+
+    public void setPredictedCompletionDate(LocalDate predictedCompletionDate) {
+        this.predictedCompletionDate = predictedCompletionDate;
+    }
+
+    public BigDecimal getPredictedFinalAmount() {
+        return predictedFinalAmount;
+    }
+
+    public void setPredictedFinalAmount(BigDecimal predictedFinalAmount) {
+        this.predictedFinalAmount = predictedFinalAmount;
+    }
+
+    public BigDecimal getConfidenceScore() {
+        return confidenceScore;
+    }
+
+    public void setConfidenceScore(BigDecimal confidenceScore) {
+        this.confidenceScore = confidenceScore;
+    }
+
+    public PredictionMethod getPredictionMethod() {
+        return predictionMethod;
+    }
+
+    public void setPredictionMethod(PredictionMethod predictionMethod) {
+        this.predictionMethod = predictionMethod;
+    }
+
+    public BigDecimal getRequiredMonthlySavings() {
+        return requiredMonthlySavings;
+    }
+
+    public void setRequiredMonthlySavings(BigDecimal requiredMonthlySavings) {
+        this.requiredMonthlySavings = requiredMonthlySavings;
+    }
+
+    public BigDecimal getCurrentMonthlyAverage() {
+        return currentMonthlyAverage;
+    }
+
+    public void setCurrentMonthlyAverage(BigDecimal currentMonthlyAverage) {
+        this.currentMonthlyAverage = currentMonthlyAverage;
+    }
+
+    public BigDecimal getSavingsRateNeeded() {
+        return savingsRateNeeded;
+    }
+
+    public void setSavingsRateNeeded(BigDecimal savingsRateNeeded) {
+        this.savingsRateNeeded = savingsRateNeeded;
+    }
+
+    public BigDecimal getProbabilityOfSuccess() {
+        return probabilityOfSuccess;
+    }
+
+    public void setProbabilityOfSuccess(BigDecimal probabilityOfSuccess) {
+        this.probabilityOfSuccess = probabilityOfSuccess;
+    }
+
+    public Integer getDaysToCompletion() {
+        return daysToCompletion;
+    }
+
+    public void setDaysToCompletion(Integer daysToCompletion) {
+        this.daysToCompletion = daysToCompletion;
+    }
+
+    public Integer getMonthsBehindSchedule() {
+        return monthsBehindSchedule;
+    }
+
+    public void setMonthsBehindSchedule(Integer monthsBehindSchedule) {
+        this.monthsBehindSchedule = monthsBehindSchedule;
+    }
+
+    public RecommendedAction getRecommendedAction() {
+        return recommendedAction;
+    }
+
+    public void setRecommendedAction(RecommendedAction recommendedAction) {
+        this.recommendedAction = recommendedAction;
+    }
+
+    public String getRiskFactors() {
+        return riskFactors;
+    }
+
+    public void setRiskFactors(String riskFactors) {
+        this.riskFactors = riskFactors;
+    }
+
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
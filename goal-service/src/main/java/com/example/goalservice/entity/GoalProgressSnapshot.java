@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "goal_progress_snapshots")
+@Table(name = "goal_progress_snapshots", indexes = {
+        // One row per goal, tier and date: overlapping job runs cannot write a day (or roll up a period) twice
+        @Index(name = "unique_goal_snapshot_goal_type_date", columnList = "goal_id, snapshot_type, snapshot_date", unique = true)
+})
 public class GoalProgressSnapshot {
 
     @Id
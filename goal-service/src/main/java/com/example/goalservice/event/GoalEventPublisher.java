@@ -0,0 +1,62 @@
+package com.example.goalservice.event;
+
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalOutboxEvent;
+import com.example.goalservice.event.GoalLifecycleEvent.EventType;
+import com.example.goalservice.repository.GoalOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records goal lifecycle events in the outbox as part of the caller's transaction.
+ *
+ * Nothing leaves the process here: the event is only a row that commits or rolls back with the
+ * goal change, and GoalOutboxRelay delivers it afterwards. Goal writes therefore never wait on
+ * Kafka or Insight Service.
+ */
+@Component
+public class GoalEventPublisher {
+
+    @Autowired
+    private GoalOutboxEventRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Goal goal, EventType eventType) {
+        save(goal, eventType, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishMilestone(Goal goal, int percentage) {
+        save(goal, EventType.GOAL_MILESTONE, percentage);
+    }
+
+    private void save(Goal goal, EventType eventType, Integer milestonePercentage) {
+        GoalLifecycleEvent event = new GoalLifecycleEvent();
+        event.setEventType(eventType);
+        event.setGoalId(goal.getId());
+        event.setUserId(goal.getUserId());
+        event.setTitle(goal.getTitle());
+        event.setTargetAmount(goal.getTargetAmount());
+        event.setCurrentAmount(goal.getCurrentAmount());
+        event.setStatus(goal.getStatus() != null ? goal.getStatus().name() : null);
+        event.setPriorityLevel(goal.getPriorityLevel() != null ? goal.getPriorityLevel().name() : null);
+        event.setMilestonePercentage(milestonePercentage);
+        event.setOccurredAt(LocalDateTime.now());
+
+        try {
+            outboxRepository.save(new GoalOutboxEvent(goal.getUserId(), goal.getId(), eventType.name(),
+                    objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize goal event " + eventType + " for goal " + goal.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.goalservice.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Goal lifecycle event published on goals.lifecycle (keyed by userId) and relayed to Insight Service
+ * as a notification. Carries a snapshot of the goal at commit time, so deletions can still be described.
+ * GOAL_CONTRIBUTION only goes to Kafka: it lets consumers see every balance change without a
+ * notification per contribution.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GoalLifecycleEvent {
+
+    public enum EventType {
+        GOAL_CREATED, GOAL_UPDATED, GOAL_COMPLETED, GOAL_DELETED, GOAL_MILESTONE, GOAL_CONTRIBUTION
+    }
+
+    private EventType eventType;
+    private Long goalId;
+    private Long userId;
+    private String title;
+    private BigDecimal targetAmount;
+    private BigDecimal currentAmount;
+    private String status;
+    private String priorityLevel;
+    private Integer milestonePercentage; // GOAL_MILESTONE only
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public GoalLifecycleEvent() {}
+
+    // Getters and setters
+    public EventType getEventType() { return eventType; }
+    public void setEventType(EventType eventType) { this.eventType = eventType; }
+
+    public Long getGoalId() { return goalId; }
+    public void setGoalId(Long goalId) { this.goalId = goalId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public BigDecimal getTargetAmount() { return targetAmount; }
+    public void setTargetAmount(BigDecimal targetAmount) { this.targetAmount = targetAmount; }
+
+    public BigDecimal getCurrentAmount() { return currentAmount; }
+    public void setCurrentAmount(BigDecimal currentAmount) { this.currentAmount = currentAmount; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getPriorityLevel() { return priorityLevel; }
+    public void setPriorityLevel(String priorityLevel) { this.priorityLevel = priorityLevel; }
+
+    public Integer getMilestonePercentage() { return milestonePercentage; }
+    public void setMilestonePercentage(Integer milestonePercentage) { this.milestonePercentage = milestonePercentage; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,46 @@
+package com.example.goalservice.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction change event published by User Finance Service (transactions.created/updated/deleted).
+ * Only the fields the contribution ledger needs are mapped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TransactionEvent {
+
+    private Long transactionId;
+    private Long userId;
+    private Long goalId;
+    private String type;
+    private BigDecimal amount;
+    private String eventType; // CREATED, UPDATED, DELETED
+    private Long version; // Grows with every change to the transaction; null from older producers
+
+    // Constructors
+    public TransactionEvent() {}
+
+    // Getters and setters
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getGoalId() { return goalId; }
+    public void setGoalId(Long goalId) { this.goalId = goalId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,48 @@
+package com.example.goalservice.event;
+
+import com.example.goalservice.service.GoalContributionLedger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Feeds transaction change events into the goal contribution ledger.
+ *
+ * Created, updated and deleted events come from three topics and are published from an async
+ * pool, so changes to one transaction can arrive in any order. Each event carries the
+ * transaction's version and the ledger drops anything not newer than what it already applied;
+ * together with at-least-once delivery this makes redelivered and overtaken events no-ops.
+ */
+@Component
+public class TransactionEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionEventListener.class);
+
+    @Autowired
+    private GoalContributionLedger ledger;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = {"transactions.created", "transactions.updated", "transactions.deleted"},
+            groupId = "goal-service-contributions",
+            properties = {"auto.offset.reset=earliest"},
+            autoStartup = "${goal.contributions.kafka.enabled:true}")
+    public void onTransactionEvent(ConsumerRecord<String, String> record) {
+        TransactionEvent event;
+        try {
+            event = objectMapper.readValue(record.value(), TransactionEvent.class);
+        } catch (IOException e) {
+            logger.warn("Skipping unreadable {} event at offset {}: {}", record.topic(), record.offset(), e.getMessage());
+            return;
+        }
+        ledger.apply(event);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.goalservice.metrics;
+
+import com.example.goalservice.client.DependencyGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Custom business metrics for Goal Service
+ */
+@Component
+public class GoalMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public GoalMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Expose a dependency's circuit state (0 closed, 1 half-open, 2 open) and free bulkhead permits
+     */
+    public void registerDependencyGuard(DependencyGuard guard) {
+        Gauge.builder("goal.client.circuit.state", guard, g -> g.getState().ordinal())
+                .description("Circuit breaker state per dependency: 0 closed, 1 half-open, 2 open")
+                .tag("dependency", guard.getName())
+                .register(meterRegistry);
+
+        Gauge.builder("goal.client.bulkhead.available", guard, DependencyGuard::getAvailablePermits)
+                .description("Free concurrent call permits per dependency")
+                .tag("dependency", guard.getName())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a dependency call that was rejected or failed and answered by the fallback
+     */
+    public void recordClientFallback(String dependency, DependencyGuard.Rejection reason) {
+        Counter.builder("goal.client.fallbacks")
+                .description("Dependency calls answered by a fallback instead of the dependency")
+                .tag("dependency", dependency)
+                .tag("reason", reason.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record a transaction event handled by the contribution ledger (applied, duplicate, stale, ignored)
+     */
+    public void recordContributionEvent(String eventType, String outcome) {
+        Counter.builder("goal.contributions.events")
+                .description("Transaction events processed by the goal contribution ledger")
+                .tag("event", eventType)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record the goals of one forecast partition (written, skipped when cash flow was unavailable, failed)
+     */
+    public void recordForecastPartition(String outcome, int goals) {
+        Counter.builder("goal.forecast.goals")
+                .description("Goals processed by the forecast job")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(goals);
+    }
+
+    /**
+     * Record the wall-clock duration of a full forecast recompute
+     */
+    public void recordForecastRun(long durationMs) {
+        Timer.builder("goal.forecast.duration")
+                .description("Duration of a full goal forecast recompute")
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record one what-if simulation and the number of paths it ran
+     */
+    public void recordSimulation(int paths, long durationMs) {
+        Timer.builder("goal.simulation.duration")
+                .description("Duration of a goal Monte Carlo simulation")
+                .register(meterRegistry)
+                .record(durationMs, TimeUnit.MILLISECONDS);
+
+        Counter.builder("goal.simulation.paths")
+                .description("Monte Carlo paths simulated")
+                .register(meterRegistry)
+                .increment(paths);
+    }
+
+    /**
+     * Record a simulation turned away because max-concurrent simulations were already running
+     */
+    public void recordSimulationRejected() {
+        Counter.builder("goal.simulation.rejected")
+                .description("Goal simulations rejected by admission control")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record deadline reminders of one scanner chunk (sent, or failed when Insight Service did not take them)
+     */
+    public void recordDeadlineReminders(int horizonDays, String outcome, int reminders) {
+        Counter.builder("goal.deadlines.reminders")
+                .description("Goal deadline reminders produced by the deadline scanner")
+                .tag("horizon", String.valueOf(horizonDays))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(reminders);
+    }
+
+    /**
+     * Expose the goal event outbox backlog: pending rows and the age of the oldest one
+     */
+    public void registerOutbox(Supplier<Number> pending, Supplier<Number> oldestAgeSeconds) {
+        Gauge.builder("goal.events.outbox.pending", pending)
+                .description("Goal lifecycle events waiting in the outbox")
+                .register(meterRegistry);
+
+        Gauge.builder("goal.events.outbox.lag.seconds", oldestAgeSeconds)
+                .description("Age of the oldest undelivered goal lifecycle event")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record one delivery attempt of a goal event on a channel (kafka, insight) and its outcome
+     */
+    public void recordEventDelivery(String channel, String outcome) {
+        Counter.builder("goal.events.deliveries")
+                .description("Goal lifecycle event delivery attempts by channel and outcome")
+                .tag("channel", channel)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record the time from commit to full delivery of a goal event
+     */
+    public void recordEventLag(long lagMs) {
+        Timer.builder("goal.events.delivery.lag")
+                .description("Time from goal change commit to delivery on every channel")
+                .register(meterRegistry)
+                .record(lagMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record a goal event that exhausted its delivery attempts
+     */
+    public void recordEventDeadLettered(String eventType) {
+        Counter.builder("goal.events.dead")
+                .description("Goal lifecycle events given up after the maximum number of attempts")
+                .tag("event", eventType)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.goalservice.repository;
+
+import com.example.goalservice.entity.GoalDeadlineScan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GoalDeadlineScanRepository extends JpaRepository<GoalDeadlineScan, Integer> {
+}
@@ -0,0 +1,20 @@
+package com.example.goalservice.repository;
+
+import com.example.goalservice.entity.Goal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for goal listings: the columns a GoalResponse needs, goal and category
+ * selected in one join, without hydrating or tracking entities
+ */
+public record GoalListView(Long id, Long userId, String title, String description,
+                           BigDecimal targetAmount, BigDecimal currentAmount,
+                           Goal.PriorityLevel priorityLevel, LocalDate targetDate, LocalDate startDate,
+                           Goal.Status status, BigDecimal completionPercentage,
+                           LocalDateTime createdAt, LocalDateTime updatedAt,
+                           Long categoryId, String categoryName, String categoryDescription,
+                           String categoryColorCode, LocalDateTime categoryCreatedAt) {
+}
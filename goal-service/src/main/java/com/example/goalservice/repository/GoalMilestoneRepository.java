@@ -0,0 +1,16 @@
+package com.example.goalservice.repository;
+
+import com.example.goalservice.entity.GoalMilestone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GoalMilestoneRepository extends JpaRepository<GoalMilestone, Long> {
+
+    @Modifying
+    @Query("DELETE FROM GoalMilestone m WHERE m.goalId = :goalId")
+    int deleteByGoalId(@Param("goalId") Long goalId);
+}
@@ -0,0 +1,13 @@
+package com.example.goalservice.repository;
+
+import com.example.goalservice.entity.GoalPrediction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GoalPredictionRepository extends JpaRepository<GoalPrediction, Long> {
+
+    Optional<GoalPrediction> findByGoalId(Long goalId);
+}
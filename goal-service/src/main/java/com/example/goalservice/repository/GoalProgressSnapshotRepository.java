@@ -0,0 +1,25 @@
+package com.example.goalservice.repository;
+
+import com.example.goalservice.entity.GoalProgressSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GoalProgressSnapshotRepository extends JpaRepository<GoalProgressSnapshot, Long> {
+
+    // Rows: snapshotDate, snapshotType, amount, progressPercentage, amountChange
+    @Query("SELECT s.snapshotDate, s.snapshotType, s.amount, s.progressPercentage, s.amountChange " +
+           "FROM GoalProgressSnapshot s " +
+           "WHERE s.goal.id = :goalId AND s.snapshotType IN :types AND s.snapshotDate BETWEEN :from AND :to " +
+           "ORDER BY s.snapshotDate")
+    List<Object[]> findHistory(@Param("goalId") Long goalId,
+                               @Param("types") Collection<GoalProgressSnapshot.SnapshotType> types,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+}
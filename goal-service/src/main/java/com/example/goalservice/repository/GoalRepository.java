@@ -1,12 +1,21 @@
 package com.example.goalservice.repository;
 
 import com.example.goalservice.entity.Goal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
@@ -19,4 +28,86 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
 
     @Query(value = "SELECT * FROM goals WHERE user_id = :userId ORDER BY created_at DESC", nativeQuery = true)
     List<Goal> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // Goal row locked until commit, so an edit computes progress from the amount atomic deltas left behind
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Goal g WHERE g.id = :id")
+    Optional<Goal> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT g FROM Goal g JOIN FETCH g.category WHERE g.userId IN :userIds ORDER BY g.userId, g.createdAt DESC")
+    List<Goal> findByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // Rows: userId, goal count
+    @Query("SELECT g.userId, COUNT(g) FROM Goal g WHERE g.userId IN :userIds GROUP BY g.userId")
+    List<Object[]> countByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // Rows: userId, goal count; users in (afterUserId, toUserId] ascending
+    @Query("SELECT g.userId, COUNT(g) FROM Goal g WHERE g.userId > :afterUserId AND g.userId <= :toUserId " +
+           "GROUP BY g.userId ORDER BY g.userId")
+    List<Object[]> countByUserIdInRange(@Param("afterUserId") Long afterUserId, @Param("toUserId") Long toUserId, Pageable pageable);
+
+    String GOAL_LIST_VIEW = "SELECT new com.example.goalservice.repository.GoalListView(" +
+            "g.id, g.userId, g.title, g.description, g.targetAmount, g.currentAmount, g.priorityLevel, " +
+            "g.targetDate, g.startDate, g.status, g.completionPercentage, g.createdAt, g.updatedAt, " +
+            "c.id, c.name, c.description, c.colorCode, c.createdAt) " +
+            "FROM Goal g JOIN g.category c ";
+
+    // First page of a user's goals, newest first; served by idx_goals_user_created
+    @Query(GOAL_LIST_VIEW +
+           "WHERE g.userId = :userId AND (:status IS NULL OR g.status = :status) " +
+           "ORDER BY g.createdAt DESC, g.id DESC")
+    List<GoalListView> findListViewsByUserId(@Param("userId") Long userId,
+                                             @Param("status") Goal.Status status,
+                                             Pageable pageable);
+
+    // Following pages: rows strictly after the (createdAt, id) of the last row already returned
+    @Query(GOAL_LIST_VIEW +
+           "WHERE g.userId = :userId AND (:status IS NULL OR g.status = :status) " +
+           "AND (g.createdAt < :createdAt OR (g.createdAt = :createdAt AND g.id < :id)) " +
+           "ORDER BY g.createdAt DESC, g.id DESC")
+    List<GoalListView> findListViewsByUserIdBefore(@Param("userId") Long userId,
+                                                   @Param("status") Goal.Status status,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    // Shared SET clause for atomic amount changes. completion_percentage, status and completed_at are all derived
+    // from the old current_amount plus the delta, and current_amount is assigned last: MySQL evaluates SET
+    // assignments left to right with already-updated values, standard SQL uses the old row, and this order gives
+    // the same result on both. An ACTIVE goal that reaches its target becomes COMPLETED; a COMPLETED goal that
+    // drops below it (a reversed contribution) becomes ACTIVE again.
+    String APPLY_AMOUNT_DELTA =
+            "UPDATE Goal g SET " +
+            "g.completedAt = CASE " +
+            "WHEN g.status = com.example.goalservice.entity.Goal.Status.ACTIVE " +
+            "AND COALESCE(g.currentAmount, 0) + :delta >= g.targetAmount THEN :now " +
+            "WHEN g.status = com.example.goalservice.entity.Goal.Status.COMPLETED " +
+            "AND COALESCE(g.currentAmount, 0) + :delta < g.targetAmount THEN NULL " +
+            "ELSE g.completedAt END, " +
+            "g.status = CASE " +
+            "WHEN g.status = com.example.goalservice.entity.Goal.Status.ACTIVE " +
+            "AND COALESCE(g.currentAmount, 0) + :delta >= g.targetAmount " +
+            "THEN com.example.goalservice.entity.Goal.Status.COMPLETED " +
+            "WHEN g.status = com.example.goalservice.entity.Goal.Status.COMPLETED " +
+            "AND COALESCE(g.currentAmount, 0) + :delta < g.targetAmount " +
+            "THEN com.example.goalservice.entity.Goal.Status.ACTIVE " +
+            "ELSE g.status END, " +
+            "g.completionPercentage = CASE WHEN g.targetAmount > 0 " +
+            "THEN GREATEST(0, LEAST(100, (COALESCE(g.currentAmount, 0) + :delta) * 100 / g.targetAmount)) ELSE 0 END, " +
+            "g.updatedAt = :now, " +
+            "g.currentAmount = COALESCE(g.currentAmount, 0) + :delta ";
+
+    // Adds delta to current_amount and derives percentage and status in the same statement, so concurrent
+    // deltas never overwrite each other and no row is read or locked beforehand. Only goals owned by userId
+    // are touched: returns 0 when the goal is missing or belongs to someone else
+    @Modifying
+    @Query(APPLY_AMOUNT_DELTA + "WHERE g.id = :goalId AND g.userId = :userId")
+    int addToCurrentAmount(@Param("goalId") Long goalId, @Param("userId") Long userId,
+                           @Param("delta") BigDecimal delta, @Param("now") LocalDateTime now);
+
+    // Same as addToCurrentAmount, but only for ACTIVE goals: returns 0 when the goal is missing or not active
+    @Transactional
+    @Modifying
+    @Query(APPLY_AMOUNT_DELTA + "WHERE g.id = :goalId AND g.status = com.example.goalservice.entity.Goal.Status.ACTIVE")
+    int addContribution(@Param("goalId") Long goalId, @Param("delta") BigDecimal delta, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,168 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.client.InsightServiceClient;
+import com.example.goalservice.entity.GoalDeadlineScan;
+import com.example.goalservice.metrics.GoalMetrics;
+import com.example.goalservice.repository.GoalDeadlineScanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Nightly goal deadline reminders.
+ *
+ * Each configured horizon (e.g. 30, 7 and 1 days) owns the band of target dates between the next
+ * smaller horizon and itself, so a goal gets one reminder per horizon, for the tightest one that
+ * applies. A horizon's scan covers target dates after its watermark up to today + horizon, paging
+ * ACTIVE goals in (target_date, id) keyset chunks over the (status, target_date) index. Every chunk
+ * is sent to Insight Service as one batch and then the keyset position is saved, so no transaction
+ * spans more than one statement and an interrupted or failed scan resumes where it stopped. Once
+ * the band is done the watermark moves to its upper bound, which makes a rerun on the same day a
+ * no-op and a run after missed nights catch up. Goals created or rescheduled into a band that was
+ * already scanned are reminded by the next smaller horizon.
+ */
+@Component
+public class GoalDeadlineScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalDeadlineScanner.class);
+
+    private static final String SELECT_DUE_GOALS =
+            "SELECT id, user_id, title, target_date, current_amount, target_amount, completion_percentage " +
+            "FROM goals WHERE status = 'ACTIVE' AND target_date <= ? " +
+            "AND (target_date > ? OR (target_date = ? AND id > ?)) " +
+            "ORDER BY target_date, id LIMIT ?";
+
+    private record DueGoal(long id, long userId, String title, LocalDate targetDate,
+                           BigDecimal currentAmount, BigDecimal targetAmount, BigDecimal percentage) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GoalDeadlineScanRepository scanRepository;
+
+    @Autowired
+    private InsightServiceClient insightServiceClient;
+
+    @Autowired
+    private GoalMetrics goalMetrics;
+
+    @Value("${goal.deadlines.enabled:true}")
+    private boolean enabled;
+
+    @Value("${goal.deadlines.horizons-days:30,7,1}")
+    private int[] horizonsDays;
+
+    @Value("${goal.deadlines.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${goal.deadlines.cron:0 30 7 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        int[] horizons = Arrays.stream(horizonsDays).filter(h -> h > 0).distinct().sorted().toArray();
+        int total = 0;
+        for (int i = 0; i < horizons.length; i++) {
+            // The smallest horizon also covers goals due today
+            LocalDate floor = i == 0 ? today.minusDays(1) : today.plusDays(horizons[i - 1]);
+            total += scanHorizon(today, horizons[i], floor);
+        }
+        logger.info("Goal deadline scan finished: {} reminders sent", total);
+    }
+
+    /**
+     * Remind goals due after max(watermark, floor) up to today + horizon; returns the reminders sent
+     */
+    public int scanHorizon(LocalDate today, int horizonDays, LocalDate floor) {
+        GoalDeadlineScan scan = scanRepository.findById(horizonDays).orElseGet(() -> new GoalDeadlineScan(horizonDays));
+        LocalDate from = scan.getScannedThrough() != null && scan.getScannedThrough().isAfter(floor)
+                ? scan.getScannedThrough() : floor;
+        LocalDate to = today.plusDays(horizonDays);
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+
+        // Resume an interrupted scan; a cursor below the band is left over from an older window
+        LocalDate afterDate = from;
+        long afterId = Long.MAX_VALUE;
+        if (scan.getCursorTargetDate() != null && !scan.getCursorTargetDate().isBefore(from)) {
+            afterDate = scan.getCursorTargetDate();
+            afterId = scan.getCursorGoalId();
+        }
+
+        int sent = 0;
+        List<DueGoal> chunk;
+        do {
+            chunk = jdbcTemplate.query(SELECT_DUE_GOALS, (rs, rowNum) -> new DueGoal(
+                    rs.getLong("id"),
+                    rs.getLong("user_id"),
+                    rs.getString("title"),
+                    rs.getDate("target_date").toLocalDate(),
+                    Objects.requireNonNullElse(rs.getBigDecimal("current_amount"), BigDecimal.ZERO),
+                    rs.getBigDecimal("target_amount"),
+                    Objects.requireNonNullElse(rs.getBigDecimal("completion_percentage"), BigDecimal.ZERO)
+            ), Date.valueOf(to), Date.valueOf(afterDate), Date.valueOf(afterDate), afterId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            List<Map<String, Object>> notifications = new ArrayList<>(chunk.size());
+            for (DueGoal goal : chunk) {
+                notifications.add(reminder(goal, today));
+            }
+            if (!insightServiceClient.sendGoalDeadlineNotifications(notifications)) {
+                goalMetrics.recordDeadlineReminders(horizonDays, "failed", chunk.size());
+                logger.warn("Goal deadline scan for {}-day horizon stopped at target date {}, goal {}; resuming next run",
+                        horizonDays, afterDate, afterId);
+                return sent;
+            }
+            goalMetrics.recordDeadlineReminders(horizonDays, "sent", chunk.size());
+            sent += chunk.size();
+
+            DueGoal last = chunk.get(chunk.size() - 1);
+            afterDate = last.targetDate();
+            afterId = last.id();
+            scan.setCursorTargetDate(afterDate);
+            scan.setCursorGoalId(afterId);
+            scan = scanRepository.save(scan);
+        } while (chunk.size() == chunkSize);
+
+        scan.setScannedThrough(to);
+        scan.setCursorTargetDate(null);
+        scan.setCursorGoalId(null);
+        scanRepository.save(scan);
+        return sent;
+    }
+
+    private static Map<String, Object> reminder(DueGoal goal, LocalDate today) {
+        long daysLeft = ChronoUnit.DAYS.between(today, goal.targetDate());
+        String due = daysLeft <= 0 ? "today" : daysLeft == 1 ? "tomorrow" : "in " + daysLeft + " days";
+        String message = "Your goal '" + goal.title() + "' is due " + due + " (" + goal.targetDate() + "): "
+                + goal.percentage() + "% saved, $" + goal.currentAmount() + " of $" + goal.targetAmount();
+
+        Map<String, Object> notificationData = new HashMap<>();
+        notificationData.put("userId", goal.userId());
+        notificationData.put("goalId", goal.id());
+        notificationData.put("title", "Goal Deadline Approaching");
+        notificationData.put("message", message);
+        return notificationData;
+    }
+}
@@ -0,0 +1,394 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.client.UserFinanceServiceClient;
+import com.example.goalservice.entity.GoalPrediction.PredictionMethod;
+import com.example.goalservice.metrics.GoalMetrics;
+import com.example.goalservice.service.GoalForecaster;
+import com.example.goalservice.service.GoalForecaster.CashFlow;
+import com.example.goalservice.service.GoalForecaster.Forecast;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Nightly completion forecast for every active goal, written to goal_predictions.
+ *
+ * Users with active goals are read in user_id order and cut into partitions of
+ * {@code partition-users}; partitions run on a bounded pool of {@code parallelism} workers, and
+ * when the queue is full the reading thread runs the next partition itself, so reading never
+ * outpaces writing. A partition loads its users' active goals with one query, fetches their
+ * monthly cash flow from User Finance Service with one aggregate call, and upserts the
+ * predictions as one UPDATE batch plus one INSERT batch. A partition whose cash flow cannot be
+ * fetched is skipped and keeps its previous predictions. Predictions of goals that are no
+ * longer active are removed at the end, {@code delete-batch-size} rows per statement.
+ *
+ * Only one replica runs the job at a time: the run first takes the "goal-forecast" row of
+ * job_leases for {@code lease-minutes}, renews it after every partition it reads, and gives it
+ * back when done. A replica that dies mid-run holds the lease until it expires.
+ */
+@Component
+public class GoalForecastJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalForecastJob.class);
+
+    private static final String SELECT_USER_IDS =
+            "SELECT DISTINCT user_id FROM goals WHERE status = 'ACTIVE' AND user_id > ? ORDER BY user_id LIMIT ?";
+
+    private static final String SELECT_GOALS =
+            "SELECT id, user_id, target_amount, current_amount, target_date FROM goals " +
+            "WHERE status = 'ACTIVE' AND user_id IN (:userIds)";
+
+    private static final String SELECT_EXISTING = "SELECT goal_id FROM goal_predictions WHERE goal_id IN (:goalIds)";
+
+    private static final String UPDATE_PREDICTION =
+            "UPDATE goal_predictions SET user_id = ?, predicted_completion_date = ?, predicted_final_amount = ?, " +
+            "confidence_score = ?, prediction_method = ?, required_monthly_savings = ?, current_monthly_average = ?, " +
+            "savings_rate_needed = ?, probability_of_success = ?, days_to_completion = ?, months_behind_schedule = ?, " +
+            "recommended_action = ?, risk_factors = ?, last_updated = ? WHERE goal_id = ?";
+
+    private static final String INSERT_PREDICTION =
+            "INSERT INTO goal_predictions (user_id, predicted_completion_date, predicted_final_amount, " +
+            "confidence_score, prediction_method, required_monthly_savings, current_monthly_average, " +
+            "savings_rate_needed, probability_of_success, days_to_completion, months_behind_schedule, " +
+            "recommended_action, risk_factors, last_updated, goal_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_INACTIVE =
+            "SELECT p.id FROM goal_predictions p WHERE p.id > ? AND NOT EXISTS " +
+            "(SELECT 1 FROM goals g WHERE g.id = p.goal_id AND g.status = 'ACTIVE') ORDER BY p.id LIMIT ?";
+
+    private static final String DELETE_PREDICTIONS = "DELETE FROM goal_predictions WHERE id IN (:ids)";
+
+    private static final String LEASE_NAME = "goal-forecast";
+
+    private static final String TAKE_LEASE =
+            "UPDATE job_leases SET owner = ?, leased_until = ?, updated_at = ? WHERE name = ? AND leased_until <= ?";
+
+    private static final String INSERT_LEASE =
+            "INSERT INTO job_leases (name, owner, leased_until, updated_at) VALUES (?, ?, ?, ?)";
+
+    private static final String RENEW_LEASE =
+            "UPDATE job_leases SET leased_until = ?, updated_at = ? WHERE name = ? AND owner = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserFinanceServiceClient userFinanceServiceClient;
+
+    @Autowired
+    private GoalMetrics metrics;
+
+    @Value("${goal.forecast.enabled:true}")
+    private boolean enabled;
+
+    @Value("${goal.forecast.parallelism:6}")
+    private int parallelism;
+
+    @Value("${goal.forecast.partition-users:500}")
+    private int partitionUsers;
+
+    @Value("${goal.forecast.history-months:6}")
+    private int historyMonths;
+
+    @Value("${goal.forecast.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    @Value("${goal.forecast.lease-minutes:30}")
+    private long leaseMinutes;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Lease owner of the scheduled run in progress; null for direct calls of recomputeAll
+    private volatile String leaseOwner;
+
+    @Scheduled(cron = "${goal.forecast.cron:0 45 2 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Goal forecast job still running, skipping this trigger");
+            return;
+        }
+        try {
+            String owner = UUID.randomUUID().toString();
+            if (!acquireLease(owner)) {
+                logger.info("Goal forecast job is running on another replica, skipping this trigger");
+                return;
+            }
+            leaseOwner = owner;
+            try {
+                recomputeAll(LocalDate.now());
+            } finally {
+                leaseOwner = null;
+                releaseLease(owner);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Take the job lease when it is free or expired. Expiry is judged on this replica's clock, so
+     * lease-minutes must stay well above the clock skew between replicas.
+     */
+    boolean acquireLease(String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plusMinutes(leaseMinutes));
+        if (jdbcTemplate.update(TAKE_LEASE, owner, until, Timestamp.valueOf(now), LEASE_NAME, Timestamp.valueOf(now)) == 1) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update(INSERT_LEASE, LEASE_NAME, owner, until, Timestamp.valueOf(now));
+            return true;
+        } catch (DuplicateKeyException e) {
+            // The row exists and its lease has not expired: another replica holds it
+            return false;
+        }
+    }
+
+    /**
+     * Extend the lease; false when it expired and another replica has taken it over
+     */
+    private boolean renewLease(String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(RENEW_LEASE, Timestamp.valueOf(now.plusMinutes(leaseMinutes)),
+                Timestamp.valueOf(now), LEASE_NAME, owner) == 1;
+    }
+
+    void releaseLease(String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(RENEW_LEASE, Timestamp.valueOf(now), Timestamp.valueOf(now), LEASE_NAME, owner);
+    }
+
+    /**
+     * Recompute the prediction of every active goal; returns the number of predictions written
+     */
+    public int recomputeAll(LocalDate today) {
+        long started = System.nanoTime();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger failedPartitions = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            long afterUserId = Long.MIN_VALUE;
+            List<Long> userIds;
+            do {
+                userIds = jdbcTemplate.queryForList(SELECT_USER_IDS, Long.class, afterUserId, partitionUsers);
+                if (!userIds.isEmpty()) {
+                    List<Long> partition = userIds;
+                    executor.execute(() -> {
+                        try {
+                            int count = forecastPartition(partition, today);
+                            if (count < 0) {
+                                failedPartitions.incrementAndGet();
+                            } else {
+                                written.addAndGet(count);
+                            }
+                        } catch (RuntimeException e) {
+                            failedPartitions.incrementAndGet();
+                            metrics.recordForecastPartition("failed", 0);
+                            logger.error("Goal forecast failed for users {}..{}", partition.get(0),
+                                    partition.get(partition.size() - 1), e);
+                        }
+                    });
+                    afterUserId = userIds.get(userIds.size() - 1);
+                }
+                String owner = leaseOwner;
+                if (owner != null && !renewLease(owner)) {
+                    logger.warn("Goal forecast job lost its lease after users up to {}, stopping", afterUserId);
+                    break;
+                }
+            } while (userIds.size() == partitionUsers);
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+
+        int removed = deleteInactivePredictions();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        metrics.recordForecastRun(elapsedMs);
+        logger.info("Goal forecast job finished in {} ms: {} predictions written, {} partitions skipped, {} stale removed",
+                elapsedMs, written.get(), failedPartitions.get(), removed);
+        return written.get();
+    }
+
+    /**
+     * Delete predictions of goals that are no longer active in id order, one bounded statement per
+     * batch, so no single DELETE holds locks across the whole table
+     */
+    int deleteInactivePredictions() {
+        int removed = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(SELECT_INACTIVE, Long.class, afterId, deleteBatchSize);
+            if (!ids.isEmpty()) {
+                removed += namedJdbcTemplate.update(DELETE_PREDICTIONS, new MapSqlParameterSource("ids", ids));
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == deleteBatchSize);
+        return removed;
+    }
+
+    /**
+     * Forecast and upsert the active goals of one partition of users; -1 when cash flow was unavailable
+     */
+    int forecastPartition(List<Long> userIds, LocalDate today) {
+        List<GoalRow> goals = namedJdbcTemplate.query(SELECT_GOALS, new MapSqlParameterSource("userIds", userIds),
+                (rs, rowNum) -> new GoalRow(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        doubleValue(rs.getBigDecimal("target_amount")),
+                        doubleValue(rs.getBigDecimal("current_amount")),
+                        rs.getDate("target_date") != null ? rs.getDate("target_date").toLocalDate() : null));
+        if (goals.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, CashFlow> cashFlows = fetchCashFlows(userIds);
+        if (cashFlows == null) {
+            metrics.recordForecastPartition("skipped", goals.size());
+            return -1;
+        }
+
+        Map<Long, Double> remainingByUser = new HashMap<>();
+        Map<Long, Integer> goalsByUser = new HashMap<>();
+        for (GoalRow goal : goals) {
+            remainingByUser.merge(goal.userId(), Math.max(0, goal.targetAmount() - goal.currentAmount()), Double::sum);
+            goalsByUser.merge(goal.userId(), 1, Integer::sum);
+        }
+
+        CashFlow noHistory = new CashFlow(new double[historyMonths], new double[historyMonths]);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> goalIds = new ArrayList<>(goals.size());
+        List<Object[]> rows = new ArrayList<>(goals.size());
+        for (GoalRow goal : goals) {
+            double userRemaining = remainingByUser.get(goal.userId());
+            double share = userRemaining > 0
+                    ? Math.max(0, goal.targetAmount() - goal.currentAmount()) / userRemaining
+                    : 1.0 / goalsByUser.get(goal.userId());
+            Forecast forecast = GoalForecaster.forecast(goal.targetAmount(), goal.currentAmount(), goal.targetDate(),
+                    cashFlows.getOrDefault(goal.userId(), noHistory), share, today);
+            goalIds.add(goal.id());
+            rows.add(toRow(goal, forecast, now));
+        }
+
+        Set<Long> existing = new HashSet<>(namedJdbcTemplate.queryForList(SELECT_EXISTING,
+                new MapSqlParameterSource("goalIds", goalIds), Long.class));
+        List<Object[]> updates = new ArrayList<>(existing.size());
+        List<Object[]> inserts = new ArrayList<>(rows.size() - existing.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (existing.contains(goalIds.get(i))) {
+                updates.add(rows.get(i));
+            } else {
+                Object[] row = rows.get(i);
+                Object[] insert = new Object[row.length + 1];
+                System.arraycopy(row, 0, insert, 0, row.length);
+                insert[row.length] = now;
+                inserts.add(insert);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_PREDICTION, updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_PREDICTION, inserts);
+            }
+        });
+        metrics.recordForecastPartition("written", rows.size());
+        return rows.size();
+    }
+
+    private Map<Long, CashFlow> fetchCashFlows(List<Long> userIds) {
+        Map<String, Object> response = userFinanceServiceClient.getMonthlyCashFlowForUsers(userIds, historyMonths);
+        if (response == null || !(response.get("cashFlowByUser") instanceof Map<?, ?> byUser)) {
+            return null;
+        }
+        Map<Long, CashFlow> cashFlows = new HashMap<>();
+        byUser.forEach((userId, value) -> {
+            if (value instanceof Map<?, ?> cashFlow) {
+                cashFlows.put(Long.valueOf(userId.toString()), CashFlow.of(cashFlow, historyMonths));
+            }
+        });
+        return cashFlows;
+    }
+
+    private static Object[] toRow(GoalRow goal, Forecast forecast, Timestamp now) {
+        return new Object[] {
+                goal.userId(),
+                forecast.predictedCompletionDate() != null ? Date.valueOf(forecast.predictedCompletionDate()) : null,
+                money(forecast.predictedFinalAmount()),
+                BigDecimal.valueOf(forecast.confidenceScore()).setScale(2, RoundingMode.HALF_UP),
+                PredictionMethod.TREND_ANALYSIS.name(),
+                money(forecast.requiredMonthlySavings()),
+                money(forecast.currentMonthlyAverage()),
+                BigDecimal.valueOf(forecast.savingsRateNeeded()).setScale(2, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(forecast.probabilityOfSuccess()).setScale(2, RoundingMode.HALF_UP),
+                forecast.daysToCompletion(),
+                forecast.monthsBehindSchedule(),
+                forecast.recommendedAction().name(),
+                forecast.riskFactors().stream().map(risk -> "\"" + risk + "\"").collect(Collectors.joining(",", "[", "]")),
+                now,
+                goal.id()
+        };
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static double doubleValue(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0;
+    }
+
+    private static void awaitTermination(ThreadPoolExecutor executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.info("Goal forecast job waiting for {} partitions", executor.getActiveCount() + executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record GoalRow(long id, long userId, double targetAmount, double currentAmount, LocalDate targetDate) {
+    }
+}
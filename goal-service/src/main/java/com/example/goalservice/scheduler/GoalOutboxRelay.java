@@ -0,0 +1,317 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.client.InsightServiceClient;
+import com.example.goalservice.event.GoalLifecycleEvent;
+import com.example.goalservice.metrics.GoalMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers goal lifecycle events from the outbox in the background.
+ *
+ * Every cycle claims up to {@code batch-size} due rows (a claim token plus a lease, so a second
+ * instance skips them), sends them all to goals.lifecycle keyed by userId and waits for the acks
+ * together, then posts the Insight Service notifications through the guarded client, with all
+ * milestone events of the batch coalesced into one call; GOAL_CONTRIBUTION events are Kafka-only
+ * and need no notification. Rows delivered on both channels are
+ * deleted; the rest record which channel succeeded and are retried with exponential backoff
+ * until {@code max-attempts}, after which they are left as FAILED.
+ * A backlog is drained batch after batch within one cycle. Ordering is per attempt: an event that
+ * has to be retried can be overtaken by later events of the same user.
+ */
+@Component
+public class GoalOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalOutboxRelay.class);
+
+    static final String TOPIC = "goals.lifecycle";
+
+    private static final String SELECT_DUE =
+            "SELECT id FROM goal_outbox_events WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ?";
+
+    private static final String CLAIM =
+            "UPDATE goal_outbox_events SET claim_token = :token, next_attempt_at = :leaseUntil " +
+            "WHERE id IN (:ids) AND status = 'PENDING' AND next_attempt_at <= :now";
+
+    private static final String SELECT_CLAIMED =
+            "SELECT id, user_id, event_type, payload, attempts, kafka_delivered, notification_delivered, created_at " +
+            "FROM goal_outbox_events WHERE id IN (:ids) AND claim_token = :token ORDER BY id";
+
+    private static final String DELETE_DELIVERED = "DELETE FROM goal_outbox_events WHERE id IN (:ids)";
+
+    private static final String RESCHEDULE =
+            "UPDATE goal_outbox_events SET status = ?, attempts = ?, kafka_delivered = ?, notification_delivered = ?, " +
+            "next_attempt_at = ?, last_error = ?, claim_token = NULL WHERE id = ?";
+
+    private static final String SELECT_BACKLOG =
+            "SELECT COUNT(*) AS pending, MIN(created_at) AS oldest FROM goal_outbox_events WHERE status = 'PENDING'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private InsightServiceClient insightServiceClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GoalMetrics metrics;
+
+    @Value("${goal.events.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${goal.events.kafka.enabled:true}")
+    private boolean kafkaEnabled;
+
+    @Value("${goal.events.relay.batch-size:200}")
+    private int batchSize;
+
+    @Value("${goal.events.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${goal.events.relay.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+
+    @Value("${goal.events.relay.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+
+    @Value("${goal.events.relay.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${goal.events.relay.kafka-timeout-ms:10000}")
+    private long kafkaTimeoutMs;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        metrics.registerOutbox(pending::get, oldestAgeSeconds::get);
+    }
+
+    @Scheduled(fixedDelayString = "${goal.events.relay.interval-ms:500}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int claimed;
+            do {
+                claimed = relayBatch();
+            } while (claimed == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Goal outbox relay cycle failed", e);
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    /**
+     * Claim and deliver one batch of due events; returns how many were claimed
+     */
+    public int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = jdbcTemplate.queryForList(SELECT_DUE, Long.class, Timestamp.valueOf(now), batchSize);
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+
+        String token = UUID.randomUUID().toString();
+        namedJdbcTemplate.update(CLAIM, new MapSqlParameterSource()
+                .addValue("token", token)
+                .addValue("leaseUntil", Timestamp.valueOf(now.plusNanos(leaseMs * 1_000_000)))
+                .addValue("ids", dueIds)
+                .addValue("now", Timestamp.valueOf(now)));
+        List<OutboxRow> rows = namedJdbcTemplate.query(SELECT_CLAIMED,
+                new MapSqlParameterSource().addValue("ids", dueIds).addValue("token", token),
+                (rs, rowNum) -> new OutboxRow(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getInt("attempts"),
+                        rs.getBoolean("kafka_delivered") || !kafkaEnabled,
+                        rs.getBoolean("notification_delivered"),
+                        rs.getTimestamp("created_at").toLocalDateTime()));
+
+        sendToKafka(rows);
+        sendNotifications(rows);
+        complete(rows);
+        return dueIds.size();
+    }
+
+    private void sendToKafka(List<OutboxRow> rows) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            CompletableFuture<?> send;
+            if (row.kafkaDelivered) {
+                send = null;
+            } else {
+                try {
+                    send = kafkaTemplate.send(TOPIC, String.valueOf(row.userId), row.payload);
+                } catch (RuntimeException e) {
+                    send = CompletableFuture.failedFuture(e);
+                }
+            }
+            sends.add(send);
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (sends.get(i) == null) {
+                continue;
+            }
+            OutboxRow row = rows.get(i);
+            try {
+                sends.get(i).get(kafkaTimeoutMs, TimeUnit.MILLISECONDS);
+                row.kafkaDelivered = true;
+                metrics.recordEventDelivery("kafka", "delivered");
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                row.error = "kafka: " + e.getMessage();
+                metrics.recordEventDelivery("kafka", "failed");
+            }
+        }
+    }
+
+    private void sendNotifications(List<OutboxRow> rows) {
+        List<OutboxRow> milestoneRows = new ArrayList<>();
+        List<GoalLifecycleEvent> milestones = new ArrayList<>();
+        for (OutboxRow row : rows) {
+            if (row.notificationDelivered) {
+                continue;
+            }
+            if (GoalLifecycleEvent.EventType.GOAL_CONTRIBUTION.name().equals(row.eventType)) {
+                row.notificationDelivered = true;
+                continue;
+            }
+            try {
+                GoalLifecycleEvent event = objectMapper.readValue(row.payload, GoalLifecycleEvent.class);
+                if (event.getEventType() == GoalLifecycleEvent.EventType.GOAL_MILESTONE) {
+                    milestoneRows.add(row);
+                    milestones.add(event);
+                    continue;
+                }
+                row.notificationDelivered = insightServiceClient.sendGoalNotification(event);
+                if (!row.notificationDelivered) {
+                    row.error = "insight: notification not accepted";
+                }
+            } catch (Exception e) {
+                row.error = "insight: " + e.getMessage();
+            }
+            metrics.recordEventDelivery("insight", row.notificationDelivered ? "delivered" : "failed");
+        }
+
+        // Milestones of the whole batch go out in one coalesced call
+        if (!milestones.isEmpty()) {
+            boolean delivered = insightServiceClient.sendGoalMilestoneNotifications(milestones);
+            for (OutboxRow row : milestoneRows) {
+                row.notificationDelivered = delivered;
+                if (!delivered) {
+                    row.error = "insight: milestone batch not accepted";
+                }
+                metrics.recordEventDelivery("insight", delivered ? "delivered" : "failed");
+            }
+        }
+    }
+
+    private void complete(List<OutboxRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> delivered = new ArrayList<>();
+        List<Object[]> retries = new ArrayList<>();
+        for (OutboxRow row : rows) {
+            if (row.kafkaDelivered && row.notificationDelivered) {
+                delivered.add(row.id);
+                metrics.recordEventLag(Duration.between(row.createdAt, now).toMillis());
+                continue;
+            }
+            int attempts = row.attempts + 1;
+            boolean dead = attempts >= maxAttempts;
+            if (dead) {
+                metrics.recordEventDeadLettered(row.eventType);
+                logger.warn("Giving up on goal event {} ({}) after {} attempts: {}", row.id, row.eventType, attempts, row.error);
+            }
+            long backoff = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+            retries.add(new Object[] {
+                    dead ? "FAILED" : "PENDING",
+                    attempts,
+                    row.kafkaDelivered,
+                    row.notificationDelivered,
+                    Timestamp.valueOf(now.plusNanos(backoff * 1_000_000)),
+                    row.error != null && row.error.length() > 500 ? row.error.substring(0, 500) : row.error,
+                    row.id
+            });
+        }
+        if (!delivered.isEmpty()) {
+            namedJdbcTemplate.update(DELETE_DELIVERED, new MapSqlParameterSource("ids", delivered));
+        }
+        if (!retries.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESCHEDULE, retries);
+        }
+    }
+
+    private void refreshBacklog() {
+        try {
+            jdbcTemplate.query(SELECT_BACKLOG, rs -> {
+                pending.set(rs.getLong("pending"));
+                Timestamp oldest = rs.getTimestamp("oldest");
+                oldestAgeSeconds.set(oldest != null
+                        ? Math.max(0, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).getSeconds())
+                        : 0);
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not read goal outbox backlog: {}", e.getMessage());
+        }
+    }
+
+    private static final class OutboxRow {
+        private final long id;
+        private final long userId;
+        private final String eventType;
+        private final String payload;
+        private final int attempts;
+        private final LocalDateTime createdAt;
+        private boolean kafkaDelivered;
+        private boolean notificationDelivered;
+        private String error;
+
+        OutboxRow(long id, long userId, String eventType, String payload, int attempts,
+                  boolean kafkaDelivered, boolean notificationDelivered, LocalDateTime createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.eventType = eventType;
+            this.payload = payload;
+            this.attempts = attempts;
+            this.kafkaDelivered = kafkaDelivered;
+            this.notificationDelivered = notificationDelivered;
+            this.createdAt = createdAt;
+        }
+    }
+}
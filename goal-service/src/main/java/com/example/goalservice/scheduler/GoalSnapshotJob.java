@@ -0,0 +1,265 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.entity.GoalProgressSnapshot.SnapshotType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Nightly goal progress time series.
+ *
+ * Writes one DAILY snapshot per active goal, reading goals in id-ordered chunks and inserting
+ * each chunk as a single JDBC batch. Goals that already have today's snapshot are skipped, so
+ * a rerun is harmless; runs that overlap (two replicas, or a manual run during the cron) are
+ * kept apart by the unique (goal_id, snapshot_type, snapshot_date) index, and a chunk that hits
+ * it is retried row by row, skipping the rows the other run wrote. Old rows are then rolled up:
+ * dailies past their retention become one WEEKLY row per goal and week, and weeklies past
+ * theirs one MONTHLY row per goal and month. Each rolled-up row keeps the last amount and
+ * percentage of its period and the summed amount_change. Only whole periods are rolled up; a
+ * chunk whose roll-up collides with a concurrent run is rolled back and left to that run.
+ */
+@Component
+public class GoalSnapshotJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalSnapshotJob.class);
+
+    private static final String SELECT_GOALS_WITHOUT_SNAPSHOT =
+            "SELECT g.id, g.current_amount, g.completion_percentage, " +
+            "(SELECT s.amount FROM goal_progress_snapshots s WHERE s.goal_id = g.id AND s.snapshot_type = 'DAILY' " +
+            "ORDER BY s.snapshot_date DESC LIMIT 1) AS previous_amount " +
+            "FROM goals g " +
+            "WHERE g.status = 'ACTIVE' AND g.id > ? " +
+            "AND NOT EXISTS (SELECT 1 FROM goal_progress_snapshots s " +
+            "WHERE s.goal_id = g.id AND s.snapshot_type = 'DAILY' AND s.snapshot_date = ?) " +
+            "ORDER BY g.id LIMIT ?";
+
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO goal_progress_snapshots " +
+            "(goal_id, amount, progress_percentage, snapshot_date, snapshot_type, amount_change, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_GOALS_TO_COMPACT =
+            "SELECT DISTINCT goal_id FROM goal_progress_snapshots " +
+            "WHERE snapshot_type = ? AND snapshot_date < ? AND goal_id > ? ORDER BY goal_id LIMIT ?";
+
+    private static final String SELECT_ROWS_TO_COMPACT =
+            "SELECT id, goal_id, snapshot_date, amount, progress_percentage, amount_change " +
+            "FROM goal_progress_snapshots " +
+            "WHERE goal_id IN (:goalIds) AND snapshot_type = :type AND snapshot_date < :before " +
+            "ORDER BY goal_id, snapshot_date";
+
+    private static final String DELETE_ROWS = "DELETE FROM goal_progress_snapshots WHERE id IN (:ids)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${goal.snapshots.enabled:true}")
+    private boolean enabled;
+
+    @Value("${goal.snapshots.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${goal.snapshots.daily-retention-days:90}")
+    private int dailyRetentionDays;
+
+    @Value("${goal.snapshots.weekly-retention-days:730}")
+    private int weeklyRetentionDays;
+
+    @Scheduled(cron = "${goal.snapshots.cron:0 15 1 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        int written = writeDailySnapshots(today);
+        int weekly = compact(SnapshotType.DAILY, SnapshotType.WEEKLY, weeklyCutoff(today), GoalSnapshotJob::weekStart);
+        int monthly = compact(SnapshotType.WEEKLY, SnapshotType.MONTHLY, monthlyCutoff(today), GoalSnapshotJob::monthStart);
+        logger.info("Goal snapshot job finished: {} daily snapshots written, {} rows rolled into weekly, {} into monthly",
+                written, weekly, monthly);
+    }
+
+    /**
+     * Write the DAILY snapshot for every active goal that does not have one for the date yet
+     */
+    public int writeDailySnapshots(LocalDate date) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long afterId = 0;
+        int total = 0;
+        int read;
+        do {
+            List<Object[]> batch = jdbcTemplate.query(SELECT_GOALS_WITHOUT_SNAPSHOT, (rs, rowNum) -> {
+                BigDecimal amount = Objects.requireNonNullElse(rs.getBigDecimal("current_amount"), BigDecimal.ZERO);
+                BigDecimal previous = rs.getBigDecimal("previous_amount");
+                return new Object[] {
+                        rs.getLong("id"),
+                        amount,
+                        Objects.requireNonNullElse(rs.getBigDecimal("completion_percentage"), BigDecimal.ZERO),
+                        Date.valueOf(date),
+                        SnapshotType.DAILY.name(),
+                        previous != null ? amount.subtract(previous) : BigDecimal.ZERO,
+                        now
+                };
+            }, afterId, Date.valueOf(date), chunkSize);
+
+            read = batch.size();
+            if (read > 0) {
+                total += insertSnapshots(batch);
+                afterId = (Long) batch.get(read - 1)[0];
+            }
+        } while (read == chunkSize);
+        return total;
+    }
+
+    private int insertSnapshots(List<Object[]> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, batch));
+            return batch.size();
+        } catch (DuplicateKeyException e) {
+            // Another run wrote some of these goals' snapshots since they were read
+            int inserted = 0;
+            for (Object[] row : batch) {
+                try {
+                    inserted += jdbcTemplate.update(INSERT_SNAPSHOT, row);
+                } catch (DuplicateKeyException duplicate) {
+                    // Already written by the other run
+                }
+            }
+            return inserted;
+        }
+    }
+
+    /**
+     * Roll rows of one tier dated before the cutoff into one row per goal and period of the next tier
+     */
+    public int compact(SnapshotType from, SnapshotType to, LocalDate before, UnaryOperator<LocalDate> periodStart) {
+        long afterGoalId = 0;
+        int total = 0;
+        List<Long> goalIds;
+        do {
+            goalIds = jdbcTemplate.queryForList(SELECT_GOALS_TO_COMPACT, Long.class,
+                    from.name(), Date.valueOf(before), afterGoalId, chunkSize);
+            if (!goalIds.isEmpty()) {
+                List<Long> chunk = goalIds;
+                try {
+                    total += transactionTemplate.execute(status -> compactGoals(chunk, from, to, before, periodStart));
+                } catch (DuplicateKeyException e) {
+                    logger.warn("Snapshot roll-up into {} after goal {} collided with a concurrent run; skipped", to, afterGoalId);
+                }
+                afterGoalId = goalIds.get(goalIds.size() - 1);
+            }
+        } while (goalIds.size() == chunkSize);
+        return total;
+    }
+
+    private int compactGoals(List<Long> goalIds, SnapshotType from, SnapshotType to, LocalDate before,
+                             UnaryOperator<LocalDate> periodStart) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("goalIds", goalIds)
+                .addValue("type", from.name())
+                .addValue("before", Date.valueOf(before));
+
+        List<Long> sourceIds = new ArrayList<>();
+        List<Object[]> rolledUp = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        PeriodAccumulator current = new PeriodAccumulator();
+
+        namedJdbcTemplate.query(SELECT_ROWS_TO_COMPACT, params, rs -> {
+            long goalId = rs.getLong("goal_id");
+            LocalDate date = rs.getDate("snapshot_date").toLocalDate();
+            LocalDate period = periodStart.apply(date);
+            if (current.goalId != goalId || !period.equals(current.period)) {
+                current.flushInto(rolledUp, to, now);
+                current.start(goalId, period);
+            }
+            current.add(date, rs.getBigDecimal("amount"), rs.getBigDecimal("progress_percentage"),
+                    rs.getBigDecimal("amount_change"));
+            sourceIds.add(rs.getLong("id"));
+        });
+        current.flushInto(rolledUp, to, now);
+
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, rolledUp);
+        for (int i = 0; i < sourceIds.size(); i += chunkSize) {
+            namedJdbcTemplate.update(DELETE_ROWS,
+                    new MapSqlParameterSource("ids", sourceIds.subList(i, Math.min(i + chunkSize, sourceIds.size()))));
+        }
+        return sourceIds.size();
+    }
+
+    LocalDate weeklyCutoff(LocalDate today) {
+        return weekStart(today.minusDays(dailyRetentionDays));
+    }
+
+    LocalDate monthlyCutoff(LocalDate today) {
+        return monthStart(today.minusDays(weeklyRetentionDays));
+    }
+
+    static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    static LocalDate monthStart(LocalDate date) {
+        return date.withDayOfMonth(1);
+    }
+
+    /**
+     * Rows of one goal and period, in date order: keeps the last value and sums the changes
+     */
+    private static final class PeriodAccumulator {
+        private long goalId = -1;
+        private LocalDate period;
+        private LocalDate lastDate;
+        private BigDecimal lastAmount;
+        private BigDecimal lastPercentage;
+        private BigDecimal change = BigDecimal.ZERO;
+
+        void start(long goalId, LocalDate period) {
+            this.goalId = goalId;
+            this.period = period;
+            this.lastDate = null;
+            this.change = BigDecimal.ZERO;
+        }
+
+        void add(LocalDate date, BigDecimal amount, BigDecimal percentage, BigDecimal amountChange) {
+            lastDate = date;
+            lastAmount = amount;
+            lastPercentage = percentage;
+            if (amountChange != null) {
+                change = change.add(amountChange);
+            }
+        }
+
+        void flushInto(List<Object[]> rows, SnapshotType type, Timestamp now) {
+            if (lastDate == null) {
+                return;
+            }
+            rows.add(new Object[] {goalId, lastAmount, lastPercentage, Date.valueOf(lastDate), type.name(), change, now});
+            lastDate = null;
+        }
+    }
+}
@@ -18,6 +18,9 @@ public class GoalCategoryService {
     @Autowired
     private GoalCategoryRepository categoryRepository;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
     public Map<String, Object> createCategory(GoalCategoryRequest request) {
         Map<String, Object> response = new HashMap<>();
 
@@ -95,6 +98,8 @@ public class GoalCategoryService {
         }
 
         GoalCategory updatedCategory = categoryRepository.save(category);
+        // Goal listings embed the category
+        dataVersionService.bump(DataVersionService.GLOBAL);
         GoalCategoryResponse categoryResponse = convertToCategoryResponse(updatedCategory);
 
         response.put("success", true);
@@ -115,6 +120,7 @@ public class GoalCategoryService {
         }
 
         categoryRepository.deleteById(id);
+        dataVersionService.bump(DataVersionService.GLOBAL);
 
         response.put("success", true);
         response.put("message", "Category deleted successfully");
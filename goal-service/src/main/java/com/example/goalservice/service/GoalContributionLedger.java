@@ -0,0 +1,132 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.entity.GoalContribution;
+import com.example.goalservice.event.TransactionEvent;
+import com.example.goalservice.metrics.GoalMetrics;
+import com.example.goalservice.repository.GoalContributionRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps goal progress current from transaction events instead of recomputing it from the
+ * user's full transaction list.
+ *
+ * Each event states what its transaction contributes now (INCOME with a goalId counts, anything
+ * else contributes nothing). The ledger entry for that transaction records what was already
+ * applied, so only the difference reaches the goal: replays are no-ops, and moving a
+ * transaction between goals or deleting it takes its amount back out. Events can overtake each
+ * other, so one whose transaction version is not newer than the entry's is dropped. Amounts
+ * only ever reach goals owned by the transaction's user; a link to anyone else's goal is
+ * recorded as contributing nothing. A positive amount reaching a goal is checked for milestones
+ * like a direct contribution.
+ */
+@Service
+public class GoalContributionLedger {
+
+    @Autowired
+    private GoalContributionRepository contributionRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalMilestoneTracker milestoneTracker;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private GoalMetrics metrics;
+
+    @Transactional
+    public void apply(TransactionEvent event) {
+        String eventType = event.getEventType() != null ? event.getEventType() : "UNKNOWN";
+        if (event.getTransactionId() == null || event.getUserId() == null) {
+            metrics.recordContributionEvent(eventType, "ignored");
+            return;
+        }
+
+        boolean deleted = "DELETED".equals(eventType);
+        boolean contributes = !deleted && event.getGoalId() != null && event.getAmount() != null
+                && "INCOME".equals(event.getType());
+        Long goalId = contributes ? event.getGoalId() : null;
+        BigDecimal amount = contributes ? event.getAmount() : BigDecimal.ZERO;
+
+        Optional<GoalContribution> existing = contributionRepository.findById(event.getTransactionId());
+        GoalContribution entry = existing.orElseGet(() -> new GoalContribution(event.getTransactionId(), event.getUserId()));
+        if (Boolean.TRUE.equals(entry.getDeleted())) {
+            // Late replay for a transaction that is already gone
+            metrics.recordContributionEvent(eventType, "duplicate");
+            return;
+        }
+        Long version = event.getVersion();
+        if (version != null && entry.getTransactionVersion() != null && version <= entry.getTransactionVersion()) {
+            // Redelivered, or overtaken by a newer change that was already applied
+            metrics.recordContributionEvent(eventType, version.equals(entry.getTransactionVersion()) ? "duplicate" : "stale");
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (version != null) {
+            entry.setTransactionVersion(version);
+        }
+        if (deleted) {
+            reverse(entry, now);
+            markDeleted(entry, now);
+            dataVersionService.bump(event.getUserId());
+            metrics.recordContributionEvent(eventType, "applied");
+            return;
+        }
+        if (Objects.equals(entry.getGoalId(), goalId) && entry.getAmount().compareTo(amount) == 0) {
+            if (version != null && (existing.isPresent() || !"CREATED".equals(eventType))) {
+                // Nothing to apply, but older events (even a CREATED that is still on its way) must now be stale
+                contributionRepository.save(entry);
+            }
+            metrics.recordContributionEvent(eventType, existing.isPresent() ? "duplicate" : "ignored");
+            return;
+        }
+
+        // What this event changes on its goal overall, once an earlier amount on the same goal is taken back out
+        BigDecimal change = Objects.equals(entry.getGoalId(), goalId) ? amount.subtract(entry.getAmount()) : amount;
+        reverse(entry, now);
+        boolean linked = goalId != null
+                && goalRepository.addToCurrentAmount(goalId, entry.getUserId(), amount, now) > 0;
+        if (linked && change.signum() > 0) {
+            recordMilestones(goalId, change);
+        }
+        entry.setGoalId(linked ? goalId : null);
+        entry.setAmount(linked ? amount : BigDecimal.ZERO);
+        entry.setUpdatedAt(now);
+        contributionRepository.save(entry);
+        dataVersionService.bump(event.getUserId());
+        // A goal that does not exist or belongs to another user gets nothing
+        metrics.recordContributionEvent(eventType, goalId == null || linked ? "applied" : "ignored");
+    }
+
+    private void recordMilestones(Long goalId, BigDecimal change) {
+        // The UPDATEs above hold the row lock until commit, so the amount read back is exactly their result
+        goalRepository.findById(goalId).ifPresent(goal ->
+                milestoneTracker.record(goal, goal.getCurrentAmount().subtract(change), goal.getTargetAmount()));
+    }
+
+    private void reverse(GoalContribution entry, LocalDateTime now) {
+        if (entry.getGoalId() != null && entry.getAmount().signum() != 0) {
+            goalRepository.addToCurrentAmount(entry.getGoalId(), entry.getUserId(), entry.getAmount().negate(), now);
+        }
+    }
+
+    private void markDeleted(GoalContribution entry, LocalDateTime now) {
+        entry.setGoalId(null);
+        entry.setAmount(BigDecimal.ZERO);
+        entry.setDeleted(true);
+        entry.setUpdatedAt(now);
+        contributionRepository.save(entry);
+    }
+}
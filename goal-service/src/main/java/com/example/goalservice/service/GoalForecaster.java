@@ -0,0 +1,190 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.entity.GoalPrediction.RecommendedAction;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completion forecast for one goal from its owner's monthly cash flow.
+ *
+ * The user's savings velocity is the mean monthly net (income minus expense) over the history
+ * window; each active goal gets a share of it proportional to its remaining amount. The
+ * completion date extrapolates that share linearly, and the probability of reaching the target
+ * by the deadline treats the months ahead as independent draws with the history's mean and
+ * standard deviation (normal approximation). Confidence falls with missing months and with
+ * month-to-month volatility. All arithmetic is on doubles; callers round when writing.
+ */
+public final class GoalForecaster {
+
+    static final double DAYS_PER_MONTH = 365.2425 / 12;
+
+    private static final long MAX_FORECAST_DAYS = 100L * 365;
+    private static final double MAX_SAVINGS_RATE = 999.99;
+    private static final double ON_TRACK_PROBABILITY = 70;
+    private static final int MONTHS_BEHIND_BEFORE_REPLAN = 6;
+
+    /**
+     * Monthly income and expense totals, oldest month first
+     */
+    public record CashFlow(double[] income, double[] expense) {
+
+        /**
+         * Parse one user's entry of the monthly-cash-flow response ({income: [...], expense: [...]})
+         */
+        public static CashFlow of(Map<?, ?> cashFlow, int months) {
+            return new CashFlow(toDoubles(cashFlow.get("income"), months), toDoubles(cashFlow.get("expense"), months));
+        }
+
+        public double meanNet() {
+            int months = income.length;
+            double netSum = 0;
+            for (int i = 0; i < months; i++) {
+                netSum += income[i] - expense[i];
+            }
+            return months > 0 ? netSum / months : 0;
+        }
+
+        /**
+         * Sample standard deviation of the monthly net
+         */
+        public double sdNet() {
+            int months = income.length;
+            double meanNet = meanNet();
+            double variance = 0;
+            for (int i = 0; i < months; i++) {
+                double deviation = income[i] - expense[i] - meanNet;
+                variance += deviation * deviation;
+            }
+            return months > 1 ? Math.sqrt(variance / (months - 1)) : 0;
+        }
+
+        private static double[] toDoubles(Object values, int months) {
+            double[] result = new double[months];
+            if (values instanceof List<?> list) {
+                for (int i = 0; i < Math.min(list.size(), months); i++) {
+                    if (list.get(i) instanceof Number number) {
+                        result[i] = number.doubleValue();
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    public record Forecast(LocalDate predictedCompletionDate, double predictedFinalAmount, double confidenceScore,
+                           double requiredMonthlySavings, double currentMonthlyAverage, double savingsRateNeeded,
+                           double probabilityOfSuccess, Integer daysToCompletion, int monthsBehindSchedule,
+                           RecommendedAction recommendedAction, List<String> riskFactors) {
+    }
+
+    private GoalForecaster() {
+    }
+
+    /**
+     * @param share fraction of the user's savings velocity allocated to this goal, in (0, 1]
+     */
+    public static Forecast forecast(double targetAmount, double currentAmount, LocalDate targetDate,
+                                    CashFlow history, double share, LocalDate today) {
+        int months = history.income().length;
+        double incomeSum = 0;
+        int activeMonths = 0;
+        for (int i = 0; i < months; i++) {
+            incomeSum += history.income()[i];
+            if (history.income()[i] != 0 || history.expense()[i] != 0) {
+                activeMonths++;
+            }
+        }
+        double meanIncome = months > 0 ? incomeSum / months : 0;
+        double meanNet = history.meanNet();
+        double sdNet = history.sdNet();
+        double volatility = meanNet != 0 ? sdNet / Math.abs(meanNet) : Double.POSITIVE_INFINITY;
+
+        double remaining = Math.max(0, targetAmount - currentAmount);
+        double velocity = Math.max(0, meanNet) * share;
+        boolean hasDeadline = targetDate != null;
+        double monthsLeft = hasDeadline ? Math.max(0, ChronoUnit.DAYS.between(today, targetDate)) / DAYS_PER_MONTH : 0;
+
+        List<String> risks = new ArrayList<>();
+        if (activeMonths == 0) {
+            risks.add("NO_CASH_FLOW_HISTORY");
+        } else if (meanNet < 0) {
+            risks.add("NEGATIVE_CASH_FLOW");
+        } else if (volatility > 1) {
+            risks.add("VOLATILE_SAVINGS");
+        }
+        if (share < 1) {
+            risks.add("COMPETING_GOALS");
+        }
+
+        if (remaining == 0) {
+            return new Forecast(today, currentAmount, 1, 0, velocity, 0, 100, 0, 0, RecommendedAction.ON_TRACK, risks);
+        }
+        if (hasDeadline && !targetDate.isAfter(today)) {
+            risks.add("DEADLINE_PASSED");
+        }
+
+        double required = hasDeadline ? remaining / Math.max(monthsLeft, 1) : 0;
+
+        Integer daysToCompletion = null;
+        LocalDate completionDate = null;
+        if (velocity > 0) {
+            long days = (long) Math.ceil(remaining / velocity * DAYS_PER_MONTH);
+            if (days <= MAX_FORECAST_DAYS) {
+                daysToCompletion = (int) days;
+                completionDate = today.plusDays(days);
+            }
+        }
+
+        double finalAmount;
+        double probability;
+        if (hasDeadline) {
+            finalAmount = Math.min(targetAmount, currentAmount + velocity * monthsLeft);
+            double expected = meanNet * share * monthsLeft;
+            double spread = sdNet * share * Math.sqrt(monthsLeft);
+            if (monthsLeft == 0) {
+                probability = 0;
+            } else if (spread == 0) {
+                probability = expected >= remaining ? 100 : 0;
+            } else {
+                probability = 100 * normalCdf((expected - remaining) / spread);
+            }
+        } else {
+            finalAmount = velocity > 0 ? targetAmount : currentAmount;
+            probability = completionDate != null ? 100 : 0;
+        }
+
+        int monthsBehind = hasDeadline && completionDate != null
+                ? (int) ChronoUnit.MONTHS.between(targetDate, completionDate) : 0;
+        double confidence = months > 0 ? (double) activeMonths / months / (1 + volatility) : 0;
+        double savingsRate = meanIncome > 0 ? Math.min(MAX_SAVINGS_RATE, required / meanIncome * 100) : 0;
+
+        RecommendedAction action;
+        if (probability >= ON_TRACK_PROBABILITY) {
+            action = RecommendedAction.ON_TRACK;
+        } else if (meanNet <= 0) {
+            action = RecommendedAction.ADJUST_SPENDING;
+        } else if (hasDeadline && (monthsLeft == 0 || monthsBehind >= MONTHS_BEHIND_BEFORE_REPLAN)) {
+            action = required > meanIncome / 2 ? RecommendedAction.REDUCE_TARGET : RecommendedAction.EXTEND_DEADLINE;
+        } else {
+            action = RecommendedAction.INCREASE_SAVINGS;
+        }
+
+        return new Forecast(completionDate, finalAmount, Math.min(1, confidence), required, velocity, savingsRate,
+                probability, daysToCompletion, monthsBehind, action, risks);
+    }
+
+    /**
+     * Standard normal CDF via the Abramowitz-Stegun 7.1.26 erf approximation (error below 1.5e-7)
+     */
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+                * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalMilestone;
+import com.example.goalservice.event.GoalEventPublisher;
+import com.example.goalservice.repository.GoalMilestoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detects a goal crossing its 25/50/75/100% milestones.
+ *
+ * Callers pass the amount and target before a change; the goal carries them after it. Both sides
+ * are compared as amounts against target * threshold / 100, never through the rounded
+ * completion_percentage column, so a contribution that lands exactly on a threshold is seen on one
+ * side only. Detection itself reads nothing. Each crossed threshold is inserted into goal_milestones and
+ * queued in the outbox as a GOAL_MILESTONE event, in the caller's transaction; the outbox relay
+ * coalesces them per goal and sends them to Insight Service in batches. Only upward crossings
+ * count, so a goal that falls back below a threshold and reaches it again records it again.
+ */
+@Component
+public class GoalMilestoneTracker {
+
+    static final int[] THRESHOLDS = {25, 50, 75, 100};
+
+    @Autowired
+    private GoalMilestoneRepository milestoneRepository;
+
+    @Autowired
+    private GoalEventPublisher eventPublisher;
+
+    /**
+     * Record every milestone crossed since the goal stood at previousAmount of previousTarget;
+     * returns the crossed thresholds
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Integer> record(Goal goal, BigDecimal previousAmount, BigDecimal previousTarget) {
+        List<Integer> crossed = crossed(previousAmount, previousTarget, goal.getCurrentAmount(), goal.getTargetAmount());
+        if (crossed.isEmpty()) {
+            return crossed;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<GoalMilestone> milestones = new ArrayList<>(crossed.size());
+        for (int threshold : crossed) {
+            GoalMilestone milestone = new GoalMilestone();
+            milestone.setGoalId(goal.getId());
+            milestone.setMilestoneName(threshold + "% of " + goal.getTitle());
+            milestone.setTargetPercentage(BigDecimal.valueOf(threshold));
+            milestone.setTargetAmount(goal.getTargetAmount().multiply(BigDecimal.valueOf(threshold))
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+            milestone.setIsAchieved(true);
+            milestone.setAchievedAt(now);
+            milestones.add(milestone);
+            eventPublisher.publishMilestone(goal, threshold);
+        }
+        milestoneRepository.saveAll(milestones);
+        return crossed;
+    }
+
+    /**
+     * Thresholds t with previousAmount < previousTarget * t / 100 and currentAmount >= currentTarget * t / 100,
+     * for a change that moved the goal's progress upwards; a missing or zero target counts as no progress
+     */
+    static List<Integer> crossed(BigDecimal previousAmount, BigDecimal previousTarget,
+                                 BigDecimal currentAmount, BigDecimal currentTarget) {
+        List<Integer> crossed = new ArrayList<>(THRESHOLDS.length);
+        if (!positive(currentTarget) || currentAmount == null) {
+            return crossed;
+        }
+        BigDecimal previous = positive(previousTarget) && previousAmount != null ? previousAmount : BigDecimal.ZERO;
+        BigDecimal previousBase = positive(previousTarget) ? previousTarget : BigDecimal.ONE;
+        // previous / previousBase < current / currentTarget, cross-multiplied to stay exact
+        if (previous.multiply(currentTarget).compareTo(currentAmount.multiply(previousBase)) >= 0) {
+            return crossed;
+        }
+        BigDecimal previousScaled = previous.multiply(BigDecimal.valueOf(100));
+        BigDecimal currentScaled = currentAmount.multiply(BigDecimal.valueOf(100));
+        for (int threshold : THRESHOLDS) {
+            BigDecimal t = BigDecimal.valueOf(threshold);
+            if (previousScaled.compareTo(previousBase.multiply(t)) < 0 && currentScaled.compareTo(currentTarget.multiply(t)) >= 0) {
+                crossed.add(threshold);
+            }
+        }
+        return crossed;
+    }
+
+    private static boolean positive(BigDecimal value) {
+        return value != null && value.signum() > 0;
+    }
+}
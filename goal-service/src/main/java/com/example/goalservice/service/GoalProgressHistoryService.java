@@ -0,0 +1,123 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalProgressSnapshot.SnapshotType;
+import com.example.goalservice.repository.GoalProgressSnapshotRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Progress charts from the snapshot tiers written by GoalSnapshotJob.
+ *
+ * Every tier is read and bucketed to the requested period: recent days come from dailies,
+ * older ones from the weekly and monthly roll-ups, so a chart never reads more than the
+ * retained dailies plus one row per rolled-up week or month. Rolled-up periods stay at
+ * their own granularity when a finer resolution is asked for.
+ */
+@Service
+public class GoalProgressHistoryService {
+
+    private static final Set<SnapshotType> TIERS = EnumSet.of(SnapshotType.DAILY, SnapshotType.WEEKLY, SnapshotType.MONTHLY);
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalProgressSnapshotRepository snapshotRepository;
+
+    @Value("${goal.snapshots.daily-retention-days:90}")
+    private int dailyRetentionDays;
+
+    @Value("${goal.snapshots.weekly-retention-days:730}")
+    private int weeklyRetentionDays;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProgressHistory(Long goalId, String resolution, LocalDate from, LocalDate to) {
+        Map<String, Object> response = new HashMap<>();
+
+        Optional<Goal> goalOpt = goalRepository.findById(goalId);
+        if (goalOpt.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Goal not found");
+            return response;
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : Optional.ofNullable(goalOpt.get().getStartDate())
+                .orElse(goalOpt.get().getCreatedAt().toLocalDate());
+        if (start.isAfter(end)) {
+            response.put("success", false);
+            response.put("message", "from must not be after to");
+            return response;
+        }
+
+        SnapshotType tier;
+        if (resolution == null || resolution.isBlank()) {
+            long days = ChronoUnit.DAYS.between(start, end);
+            tier = days <= dailyRetentionDays ? SnapshotType.DAILY
+                    : days <= weeklyRetentionDays ? SnapshotType.WEEKLY : SnapshotType.MONTHLY;
+        } else {
+            try {
+                tier = SnapshotType.valueOf(resolution.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                tier = null;
+            }
+            if (tier != SnapshotType.DAILY && tier != SnapshotType.WEEKLY && tier != SnapshotType.MONTHLY) {
+                response.put("success", false);
+                response.put("message", "resolution must be DAILY, WEEKLY or MONTHLY");
+                return response;
+            }
+        }
+
+        // Bucket to the resolution: last amount/percentage of each period, summed changes
+        Map<LocalDate, Map<String, Object>> buckets = new LinkedHashMap<>();
+        for (Object[] row : snapshotRepository.findHistory(goalId, TIERS, start, end)) {
+            LocalDate date = (LocalDate) row[0];
+            LocalDate period = switch (tier) {
+                case MONTHLY -> date.withDayOfMonth(1);
+                case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                default -> date;
+            };
+            BigDecimal change = row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO;
+            Map<String, Object> point = buckets.computeIfAbsent(period, p -> {
+                Map<String, Object> empty = new HashMap<>();
+                empty.put("period", p);
+                empty.put("amountChange", BigDecimal.ZERO);
+                return empty;
+            });
+            point.put("date", date);
+            point.put("amount", row[2]);
+            point.put("progressPercentage", row[3]);
+            point.put("amountChange", ((BigDecimal) point.get("amountChange")).add(change));
+        }
+        List<Map<String, Object>> points = new ArrayList<>(buckets.values());
+
+        response.put("success", true);
+        response.put("message", "Goal progress history retrieved successfully");
+        response.put("goalId", goalId);
+        response.put("resolution", tier);
+        response.put("from", start);
+        response.put("to", end);
+        response.put("points", points);
+        response.put("count", points.size());
+
+        return response;
+    }
+}
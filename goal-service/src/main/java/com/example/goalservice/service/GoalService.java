@@ -1,24 +1,37 @@
 package com.example.goalservice.service;
 
-import com.example.goalservice.client.InsightServiceClient;
 import com.example.goalservice.client.UserFinanceServiceClient;
+import com.example.goalservice.dto.request.GoalContributionRequest;
 import com.example.goalservice.dto.request.GoalRequest;
 import com.example.goalservice.dto.response.GoalCategoryResponse;
 import com.example.goalservice.dto.response.GoalResponse;
 import com.example.goalservice.entity.Goal;
 import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.entity.GoalPrediction;
+import com.example.goalservice.event.GoalEventPublisher;
+import com.example.goalservice.event.GoalLifecycleEvent.EventType;
 import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalListView;
+import com.example.goalservice.repository.GoalMilestoneRepository;
+import com.example.goalservice.repository.GoalPredictionRepository;
 import com.example.goalservice.repository.GoalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 public class GoalService {
@@ -30,11 +43,36 @@ public class GoalService {
     private GoalCategoryRepository categoryRepository;
 
     @Autowired
-    private InsightServiceClient insightServiceClient;
+    private GoalEventPublisher eventPublisher;
+
+    @Autowired
+    private GoalMilestoneTracker milestoneTracker;
+
+    @Autowired
+    private GoalMilestoneRepository milestoneRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
 
     @Autowired
     private UserFinanceServiceClient userFinanceServiceClient;
 
+    @Autowired
+    private GoalPredictionRepository predictionRepository;
+
+    @Value("${goal.list.default-page-size:100}")
+    private int listDefaultPageSize;
+
+    @Value("${goal.list.max-page-size:500}")
+    private int listMaxPageSize;
+
+    @Value("${goal.batch.max-users:1000}")
+    private int batchMaxUsers;
+
+    @Value("${goal.batch.max-rows:5000}")
+    private int batchMaxRows;
+
+    @Transactional
     public Map<String, Object> createGoal(GoalRequest request) {
         Map<String, Object> response = new HashMap<>();
 
@@ -85,12 +123,9 @@ public class GoalService {
 
         Goal savedGoal = goalRepository.save(goal);
 
-        // Notify Insight Service about new goal
-        try {
-            insightServiceClient.notifyGoalCreated(savedGoal);
-        } catch (Exception e) {
-            System.err.println("Failed to notify Insight Service about goal creation: " + e.getMessage());
-        }
+        // Delivered to Kafka and Insight Service by the outbox relay after commit
+        eventPublisher.publish(savedGoal, EventType.GOAL_CREATED);
+        dataVersionService.bump(savedGoal.getUserId());
 
         GoalResponse goalResponse = convertToGoalResponse(savedGoal);
 
@@ -117,37 +152,198 @@ public class GoalService {
         return response;
     }
 
+    /**
+     * One page of a user's goals, newest first, optionally for one status. Pages are keyset-based:
+     * pass nextCursor back as cursor until it is null.
+     */
     @Transactional(readOnly = true)
-    public Map<String, Object> getGoalsByUserId(Long userId) {
+    public Map<String, Object> getGoalsByUserId(Long userId, Goal.Status status, String cursor, Integer limit) {
         Map<String, Object> response = new HashMap<>();
 
-        List<Goal> allGoals = goalRepository.findAll();
-        List<Goal> goals = allGoals.stream()
-                .filter(goal -> goal.getUserId().equals(userId))
-                .sorted((g1, g2) -> g2.getCreatedAt().compareTo(g1.getCreatedAt()))
-                .toList();
-        List<GoalResponse> goalResponses = goals.stream()
+        int pageSize = limit != null ? Math.max(1, Math.min(limit, listMaxPageSize)) : listDefaultPageSize;
+        // One extra row tells whether another page exists
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<GoalListView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = goalRepository.findListViewsByUserId(userId, status, page);
+        } else {
+            int separator = cursor.lastIndexOf('_');
+            LocalDateTime createdAt;
+            Long id;
+            try {
+                createdAt = LocalDateTime.parse(cursor.substring(0, separator));
+                id = Long.valueOf(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                response.put("success", false);
+                response.put("message", "Invalid cursor");
+                return response;
+            }
+            rows = goalRepository.findListViewsByUserIdBefore(userId, status, createdAt, id, page);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        List<GoalResponse> goalResponses = rows.stream()
                 .map(this::convertToGoalResponse)
                 .toList();
 
+        String nextCursor = null;
+        if (hasMore) {
+            GoalListView last = rows.get(rows.size() - 1);
+            nextCursor = last.createdAt() + "_" + last.id();
+        }
+
         response.put("success", true);
         response.put("message", "User goals retrieved successfully");
         response.put("goals", goalResponses);
         response.put("count", goalResponses.size());
+        response.put("hasMore", hasMore);
+        response.put("nextCursor", nextCursor);
 
         return response;
     }
 
+    /**
+     * Goals for many users from one IN query, grouped by user in ascending id order; every requested user up to
+     * the max-rows budget gets an entry, and nextCursor (the last included user) is set when the rest were left out
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getGoalsByUserIds(List<Long> userIds) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (userIds == null || userIds.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "At least one user ID is required");
+            return response;
+        }
+        if (userIds.size() > batchMaxUsers) {
+            response.put("success", false);
+            response.put("message", "At most " + batchMaxUsers + " user IDs per request");
+            return response;
+        }
+
+        // Ascending ids, so a page cut short by max-rows can be resumed from nextCursor
+        List<Long> ids = new ArrayList<>(new TreeSet<>(userIds));
+        List<Long> page = withinRowBudget(ids, counts(goalRepository.countByUserIdIn(ids)));
+        Map<Long, List<GoalResponse>> goalsByUser = new LinkedHashMap<>();
+        for (Long userId : page) {
+            goalsByUser.put(userId, new ArrayList<>());
+        }
+        int count = groupByUser(goalRepository.findByUserIdIn(page), goalsByUser);
+
+        response.put("success", true);
+        response.put("message", "User goals retrieved successfully");
+        response.put("goalsByUser", goalsByUser);
+        response.put("userCount", goalsByUser.size());
+        response.put("count", count);
+        response.put("nextCursor", page.size() < ids.size() ? page.get(page.size() - 1) : null);
+
+        return response;
+    }
+
+    /**
+     * One page of users with goals in (after, toUserId], ascending; pass nextCursor back as after
+     * until it is null. A user's goals are never split across pages.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getGoalsByUserRange(Long fromUserId, Long toUserId, Long after, int limit) {
+        Map<String, Object> response = new HashMap<>();
+
+        int pageSize = Math.max(1, Math.min(limit, batchMaxUsers));
+        long afterUserId = after != null ? after : (fromUserId != null ? Math.max(fromUserId, Long.MIN_VALUE + 1) - 1 : Long.MIN_VALUE);
+        long upperUserId = toUserId != null ? toUserId : Long.MAX_VALUE;
+
+        Map<Long, Long> counts = counts(goalRepository.countByUserIdInRange(afterUserId, upperUserId, PageRequest.of(0, pageSize)));
+        List<Long> userIds = new ArrayList<>(counts.keySet());
+        List<Long> page = withinRowBudget(userIds, counts);
+
+        Map<Long, List<GoalResponse>> goalsByUser = new LinkedHashMap<>();
+        for (Long userId : page) {
+            goalsByUser.put(userId, new ArrayList<>());
+        }
+        int count = page.isEmpty() ? 0 : groupByUser(goalRepository.findByUserIdIn(page), goalsByUser);
+
+        response.put("success", true);
+        response.put("message", "User goals retrieved successfully");
+        response.put("goalsByUser", goalsByUser);
+        response.put("userCount", goalsByUser.size());
+        response.put("count", count);
+        response.put("nextCursor", page.size() < userIds.size() || userIds.size() == pageSize
+                ? page.get(page.size() - 1) : null);
+
+        return response;
+    }
+
+    /**
+     * Leading users of the list whose goals fit in max-rows together; the first user is always included,
+     * so every page makes progress and a user's goals are never split
+     */
+    private List<Long> withinRowBudget(List<Long> userIds, Map<Long, Long> counts) {
+        long rows = 0;
+        int users = 0;
+        for (Long userId : userIds) {
+            long userRows = counts.getOrDefault(userId, 0L);
+            if (users > 0 && rows + userRows > batchMaxRows) {
+                break;
+            }
+            rows += userRows;
+            users++;
+        }
+        return userIds.subList(0, users);
+    }
+
+    private static Map<Long, Long> counts(List<Object[]> rows) {
+        Map<Long, Long> counts = new TreeMap<>();
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private int groupByUser(List<Goal> goals, Map<Long, List<GoalResponse>> goalsByUser) {
+        for (Goal goal : goals) {
+            goalsByUser.computeIfAbsent(goal.getUserId(), id -> new ArrayList<>()).add(convertToGoalResponse(goal));
+        }
+        return goals.size();
+    }
+
     @Transactional(readOnly = true)
     public GoalResponse getGoalById(Long id) {
         Optional<Goal> goalOpt = goalRepository.findById(id);
         return goalOpt.map(this::convertToGoalResponse).orElse(null);
     }
 
+    /**
+     * Latest forecast written by GoalForecastJob
+     */
+    public Map<String, Object> getGoalPrediction(Long goalId) {
+        Map<String, Object> response = new HashMap<>();
+
+        Optional<GoalPrediction> prediction = predictionRepository.findByGoalId(goalId);
+        if (prediction.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "No prediction for this goal yet");
+            return response;
+        }
+
+        response.put("success", true);
+        response.put("message", "Goal prediction retrieved successfully");
+        response.put("prediction", prediction.get());
+        return response;
+    }
+
+    /**
+     * Edit a goal under its row lock: contributions and ledger deltas that commit meanwhile wait for it
+     * instead of being overwritten, and only the columns that actually change are written.
+     */
+    @Transactional
     public Map<String, Object> updateGoal(Long id, GoalRequest request) {
         Map<String, Object> response = new HashMap<>();
 
-        Optional<Goal> goalOpt = goalRepository.findById(id);
+        Optional<Goal> goalOpt = goalRepository.findByIdForUpdate(id);
         if (goalOpt.isEmpty()) {
             response.put("success", false);
             response.put("message", "Goal not found");
@@ -155,6 +351,8 @@ public class GoalService {
         }
 
         Goal goal = goalOpt.get();
+        BigDecimal previousAmount = goal.getCurrentAmount();
+        BigDecimal previousTarget = goal.getTargetAmount();
 
         // Update fields
         if (request.getTitle() != null) {
@@ -189,17 +387,17 @@ public class GoalService {
         }
 
         Goal updatedGoal = goalRepository.save(goal);
-
-        // Check if goal is completed and notify accordingly
-        try {
-            if (updatedGoal.getCompletionPercentage().compareTo(BigDecimal.valueOf(100)) >= 0) {
-                insightServiceClient.notifyGoalCompleted(updatedGoal);
-            } else {
-                insightServiceClient.notifyGoalUpdated(updatedGoal);
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to notify Insight Service about goal update: " + e.getMessage());
-        }
+        // @PreUpdate only runs at flush; compute the new percentage now for the events below
+        updatedGoal.calculateCompletionPercentage();
+        milestoneTracker.record(updatedGoal, previousAmount, previousTarget);
+
+        // Check if goal is completed and publish accordingly
+        eventPublisher.publish(updatedGoal,
+                updatedGoal.getCompletionPercentage().compareTo(BigDecimal.valueOf(100)) >= 0
+                        ? EventType.GOAL_COMPLETED : EventType.GOAL_UPDATED);
+        // Goal row before version row, the lock order every writer uses
+        goalRepository.flush();
+        dataVersionService.bump(updatedGoal.getUserId());
 
         GoalResponse goalResponse = convertToGoalResponse(updatedGoal);
 
@@ -210,6 +408,57 @@ public class GoalService {
         return response;
     }
 
+    /**
+     * Add money to an active goal with one atomic UPDATE: the amount, percentage and ACTIVE -> COMPLETED
+     * transition are computed by the database, so concurrent contributions need no lock and none is lost.
+     * The row lock taken by the UPDATE is held until commit, so the goal read back in the same transaction
+     * is exactly this contribution's result.
+     */
+    @Transactional
+    public Map<String, Object> addContribution(Long goalId, GoalContributionRequest request) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (request == null || request.getAmount() == null || request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            response.put("success", false);
+            response.put("message", "Contribution amount must be greater than zero");
+            return response;
+        }
+
+        int updated = goalRepository.addContribution(goalId, request.getAmount(), LocalDateTime.now());
+        Optional<Goal> goalOpt = goalRepository.findById(goalId);
+        if (goalOpt.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Goal not found");
+            return response;
+        }
+        Goal goal = goalOpt.get();
+        if (updated == 0) {
+            response.put("success", false);
+            response.put("message", "Contributions are only accepted for active goals (goal is " + goal.getStatus() + ")");
+            return response;
+        }
+
+        // The UPDATE was atomic, so the amount before it is exactly the amount now minus this contribution
+        BigDecimal previousAmount = goal.getCurrentAmount().subtract(request.getAmount());
+        List<Integer> milestones = milestoneTracker.record(goal, previousAmount, goal.getTargetAmount());
+
+        boolean completed = goal.getStatus() == Goal.Status.COMPLETED;
+        // Only the contribution that crossed the target sees COMPLETED here; later ones are rejected above.
+        // Every other accepted contribution still publishes a (Kafka-only) event so consumers see the new amount
+        eventPublisher.publish(goal, completed ? EventType.GOAL_COMPLETED : EventType.GOAL_CONTRIBUTION);
+        dataVersionService.bump(goal.getUserId());
+
+        response.put("success", true);
+        response.put("message", completed ? "Contribution added, goal completed" : "Contribution added successfully");
+        response.put("contribution", request.getAmount());
+        response.put("completed", completed);
+        response.put("milestonesReached", milestones);
+        response.put("goal", convertToGoalResponse(goal));
+
+        return response;
+    }
+
+    @Transactional
     public Map<String, Object> deleteGoal(Long id) {
         Map<String, Object> response = new HashMap<>();
 
@@ -221,17 +470,14 @@ public class GoalService {
         }
 
         Goal goal = goalOpt.get();
-        String goalTitle = goal.getTitle();
-        Long userId = goal.getUserId();
 
+        milestoneRepository.deleteByGoalId(id);
         goalRepository.deleteById(id);
 
-        // Notify Insight Service about goal deletion
-        try {
-            insightServiceClient.notifyGoalDeleted(id, userId, goalTitle);
-        } catch (Exception e) {
-            System.err.println("Failed to notify Insight Service about goal deletion: " + e.getMessage());
-        }
+        eventPublisher.publish(goal, EventType.GOAL_DELETED);
+        // Goal row before version row, the lock order every writer uses
+        goalRepository.flush();
+        dataVersionService.bump(goal.getUserId());
 
         response.put("success", true);
         response.put("message", "Goal deleted successfully");
@@ -239,6 +485,33 @@ public class GoalService {
         return response;
     }
 
+    private GoalResponse convertToGoalResponse(GoalListView view) {
+        GoalResponse response = new GoalResponse();
+        response.setId(view.id());
+        response.setUserId(view.userId());
+        response.setTitle(view.title());
+        response.setDescription(view.description());
+        response.setTargetAmount(view.targetAmount());
+        response.setCurrentAmount(view.currentAmount());
+        response.setPriorityLevel(view.priorityLevel());
+        response.setTargetDate(view.targetDate());
+        response.setStartDate(view.startDate());
+        response.setStatus(view.status());
+        response.setCompletionPercentage(view.completionPercentage());
+        response.setCreatedAt(view.createdAt());
+        response.setUpdatedAt(view.updatedAt());
+
+        GoalCategoryResponse categoryResponse = new GoalCategoryResponse();
+        categoryResponse.setId(view.categoryId());
+        categoryResponse.setName(view.categoryName());
+        categoryResponse.setDescription(view.categoryDescription());
+        categoryResponse.setColorCode(view.categoryColorCode());
+        categoryResponse.setCreatedAt(view.categoryCreatedAt());
+        response.setCategory(categoryResponse);
+
+        return response;
+    }
+
     private GoalResponse convertToGoalResponse(Goal goal) {
         GoalResponse response = new GoalResponse();
         response.setId(goal.getId());
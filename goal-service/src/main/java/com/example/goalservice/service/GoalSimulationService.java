@@ -0,0 +1,179 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.client.UserFinanceServiceClient;
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.metrics.GoalMetrics;
+import com.example.goalservice.repository.GoalRepository;
+import com.example.goalservice.service.GoalForecaster.CashFlow;
+import com.example.goalservice.service.GoalSimulator.Simulation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * "What if" savings simulation for one goal: by when is it reached, and how likely by its deadline.
+ *
+ * The monthly net saving is drawn from the owner's aggregated cash flow history (mean and
+ * standard deviation of income minus expense over history-months); a requested monthly
+ * contribution replaces the mean but keeps the historical spread. Simulations run on a
+ * dedicated ForkJoinPool so they never compete with the common pool or request threads. At most
+ * max-concurrent simulations share that pool; a request beyond that is turned away at once with
+ * busy=true instead of queueing behind them.
+ */
+@Service
+public class GoalSimulationService {
+
+    private static final double[] PERCENTILES = {0.10, 0.25, 0.50, 0.75, 0.90};
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private UserFinanceServiceClient userFinanceServiceClient;
+
+    @Autowired
+    private GoalMetrics metrics;
+
+    @Value("${goal.simulation.default-paths:10000}")
+    private int defaultPaths;
+
+    @Value("${goal.simulation.max-paths:200000}")
+    private int maxPaths;
+
+    @Value("${goal.simulation.max-months:360}")
+    private int maxMonths;
+
+    @Value("${goal.simulation.history-months:12}")
+    private int historyMonths;
+
+    @Value("${goal.simulation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${goal.simulation.max-concurrent:2}")
+    private int maxConcurrent;
+
+    private ForkJoinPool pool;
+    private Semaphore permits;
+
+    @PostConstruct
+    public void start() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public Map<String, Object> simulate(Long goalId, BigDecimal monthlyContribution, Integer paths, Long seed) {
+        Map<String, Object> response = new HashMap<>();
+
+        int pathCount = paths != null ? paths : defaultPaths;
+        if (pathCount <= 0 || pathCount > maxPaths) {
+            response.put("success", false);
+            response.put("message", "paths must be between 1 and " + maxPaths);
+            return response;
+        }
+
+        Optional<Goal> goalOpt = goalRepository.findById(goalId);
+        if (goalOpt.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "Goal not found");
+            return response;
+        }
+        Goal goal = goalOpt.get();
+        double target = goal.getTargetAmount().doubleValue();
+        double current = goal.getCurrentAmount() != null ? goal.getCurrentAmount().doubleValue() : 0;
+        if (current >= target) {
+            response.put("success", false);
+            response.put("message", "Goal has already reached its target");
+            return response;
+        }
+
+        CashFlow history = fetchCashFlow(goal.getUserId());
+        if (history == null && monthlyContribution == null) {
+            response.put("success", false);
+            response.put("message", "Cash flow history is unavailable; pass monthlyContribution to simulate without it");
+            return response;
+        }
+        double mean = monthlyContribution != null ? monthlyContribution.doubleValue() : history.meanNet();
+        double sd = history != null ? history.sdNet() : 0;
+        long simulationSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+
+        if (!permits.tryAcquire()) {
+            metrics.recordSimulationRejected();
+            response.put("success", false);
+            response.put("busy", true);
+            response.put("message", "Too many simulations are running; try again shortly");
+            return response;
+        }
+        long start = System.nanoTime();
+        Simulation simulation;
+        try {
+            simulation = GoalSimulator.simulate(current, target, mean, sd, maxMonths, pathCount, simulationSeed, pool);
+        } finally {
+            permits.release();
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        metrics.recordSimulation(pathCount, elapsedMs);
+
+        LocalDate today = LocalDate.now();
+        Map<String, Object> completionDates = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            int month = simulation.percentileMonth(percentile);
+            completionDates.put("p" + Math.round(percentile * 100), month > 0 ? today.plusMonths(month) : null);
+        }
+
+        response.put("success", true);
+        response.put("message", "Goal simulation completed successfully");
+        response.put("goalId", goal.getId());
+        response.put("remainingAmount", money(target - current));
+        response.put("monthlyContribution", money(mean));
+        response.put("monthlyStdDev", money(sd));
+        response.put("historyAvailable", history != null);
+        response.put("paths", pathCount);
+        response.put("seed", simulationSeed);
+        response.put("horizonMonths", maxMonths);
+        response.put("completionDates", completionDates);
+        response.put("probabilityWithinHorizon", percent(simulation.probabilityWithin(maxMonths)));
+        if (goal.getTargetDate() != null) {
+            int monthsToDeadline = (int) ChronoUnit.MONTHS.between(today, goal.getTargetDate());
+            response.put("probabilityByTargetDate", percent(simulation.probabilityWithin(monthsToDeadline)));
+        }
+        response.put("elapsedMs", elapsedMs);
+        return response;
+    }
+
+    private CashFlow fetchCashFlow(Long userId) {
+        Map<String, Object> response = userFinanceServiceClient.getMonthlyCashFlowForUsers(List.of(userId), historyMonths);
+        if (response == null || !(response.get("cashFlowByUser") instanceof Map<?, ?> byUser)
+                || !(byUser.get(String.valueOf(userId)) instanceof Map<?, ?> cashFlow)) {
+            return null;
+        }
+        return CashFlow.of(cashFlow, historyMonths);
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal percent(double share) {
+        return BigDecimal.valueOf(share * 100).setScale(2, RoundingMode.HALF_UP);
+    }
+}
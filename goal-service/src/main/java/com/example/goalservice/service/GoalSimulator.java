@@ -0,0 +1,164 @@
+package com.example.goalservice.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo simulation of a goal's balance month by month.
+ *
+ * Every path starts at the current amount and adds one normally distributed monthly net saving
+ * (mean and standard deviation given by the caller) until it reaches the target or the horizon
+ * ends; the balance never drops below zero. Paths are split into ForkJoin tasks, each drawing
+ * from its own SplittableRandom split off its parent and counting outcomes into a primitive
+ * histogram of completion months, so no per-path object is allocated and the result for a given
+ * seed does not depend on thread scheduling. With no upward drift, a path that falls to zero late
+ * enough that it could only climb back to the target with negligible probability is stopped there
+ * instead of being walked to the end of the horizon.
+ */
+public final class GoalSimulator {
+
+    /**
+     * Paths per leaf task; below this forking costs more than it saves
+     */
+    private static final int LEAF_PATHS = 2048;
+
+    /**
+     * Chance of reaching the target below which a path at zero is given up
+     */
+    private static final double NEGLIGIBLE = 1e-6;
+
+    /**
+     * Outcome counts: reachedInMonth[m] paths first reached the target after m months (1..maxMonths)
+     */
+    public record Simulation(int paths, int maxMonths, int[] reachedInMonth, int neverReached) {
+
+        /**
+         * Months after which the given share (0..1) of paths has reached the target, or -1 if it never does
+         */
+        public int percentileMonth(double share) {
+            long rank = (long) Math.ceil(share * paths);
+            long reached = 0;
+            for (int month = 1; month <= maxMonths; month++) {
+                reached += reachedInMonth[month];
+                if (reached >= Math.max(rank, 1)) {
+                    return month;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Share of paths (0..1) that reached the target within the given number of months
+         */
+        public double probabilityWithin(int months) {
+            long reached = 0;
+            for (int month = 1; month <= Math.min(months, maxMonths); month++) {
+                reached += reachedInMonth[month];
+            }
+            return paths > 0 ? (double) reached / paths : 0;
+        }
+    }
+
+    private GoalSimulator() {
+    }
+
+    public static Simulation simulate(double currentAmount, double targetAmount, double monthlyMean, double monthlySd,
+                                      int maxMonths, int paths, long seed, ForkJoinPool pool) {
+        int[] histogram;
+        if (monthlyMean <= 0 && monthlySd == 0) {
+            // Nothing is ever saved, no path can get there
+            histogram = new int[maxMonths + 2];
+            histogram[maxMonths + 1] = paths;
+        } else {
+            histogram = pool.invoke(new PathTask(paths, currentAmount, targetAmount, monthlyMean, monthlySd,
+                    maxMonths, hopelessFromZeroWithin(targetAmount, monthlyMean, monthlySd, maxMonths),
+                    new SplittableRandom(seed)));
+        }
+        return new Simulation(paths, maxMonths, histogram, histogram[maxMonths + 1]);
+    }
+
+    /**
+     * Months left at or below which a path at zero can no longer plausibly reach the target; 0 with upward drift.
+     *
+     * From zero the balance climbs to the target only if some run of the remaining r months adds up to it, so
+     * the chance is at most r times the chance a walk of r months ever gets there: exp(-T^2 / (2 sd^2 r)) by the
+     * Gaussian tail, and for a negative mean also exp(-2 |mean| T / sd^2) (Lundberg). Both grow with r.
+     */
+    static int hopelessFromZeroWithin(double target, double mean, double sd, int maxMonths) {
+        if (mean > 0 || target <= 0 || sd <= 0) {
+            return 0;
+        }
+        double variance = sd * sd;
+        int months = 0;
+        for (int remaining = 1; remaining <= maxMonths; remaining++) {
+            double exponent = Math.max(target * target / (2 * variance * remaining), -2 * mean * target / variance);
+            if (Math.log(remaining) - exponent >= Math.log(NEGLIGIBLE)) {
+                break;
+            }
+            months = remaining;
+        }
+        return months;
+    }
+
+    /**
+     * Runs a block of paths; the histogram has one slot per month plus a last slot for paths that never got there
+     */
+    private static final class PathTask extends RecursiveTask<int[]> {
+
+        private final int paths;
+        private final double start;
+        private final double target;
+        private final double mean;
+        private final double sd;
+        private final int maxMonths;
+        private final int hopelessFromZero;
+        private final SplittableRandom random;
+
+        PathTask(int paths, double start, double target, double mean, double sd, int maxMonths, int hopelessFromZero,
+                 SplittableRandom random) {
+            this.paths = paths;
+            this.start = start;
+            this.target = target;
+            this.mean = mean;
+            this.sd = sd;
+            this.maxMonths = maxMonths;
+            this.hopelessFromZero = hopelessFromZero;
+            this.random = random;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (paths <= LEAF_PATHS) {
+                return runPaths();
+            }
+            int half = paths / 2;
+            PathTask left = new PathTask(half, start, target, mean, sd, maxMonths, hopelessFromZero, random.split());
+            left.fork();
+            int[] histogram = new PathTask(paths - half, start, target, mean, sd, maxMonths, hopelessFromZero, random)
+                    .compute();
+            int[] other = left.join();
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other[i];
+            }
+            return histogram;
+        }
+
+        private int[] runPaths() {
+            int[] histogram = new int[maxMonths + 2];
+            for (int path = 0; path < paths; path++) {
+                double balance = start;
+                int month = 0;
+                while (balance < target && month < maxMonths) {
+                    month++;
+                    balance = Math.max(0, balance + mean + sd * random.nextGaussian());
+                    if (balance == 0 && maxMonths - month <= hopelessFromZero) {
+                        break;
+                    }
+                }
+                histogram[balance >= target ? month : maxMonths + 1]++;
+            }
+            return histogram;
+        }
+    }
+}
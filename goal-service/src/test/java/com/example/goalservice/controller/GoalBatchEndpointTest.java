@@ -0,0 +1,119 @@
+package com.example.goalservice.controller;
+
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "goal.batch.max-rows=3")
+@AutoConfigureMockMvc
+class GoalBatchEndpointTest {
+
+    // Goals per user: 2, 2, 1, 5 (the last one alone is over the row budget)
+    private static final Map<Long, Integer> GOALS_PER_USER = Map.of(7_101L, 2, 7_102L, 2, 7_103L, 1, 7_104L, 5);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        GoalCategory category = categoryRepository.findAll().stream()
+                .filter(c -> "Batch Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Batch Test", "Batch test category", "#000000")));
+        goalRepository.deleteAll(goalRepository.findByUserIdIn(List.copyOf(GOALS_PER_USER.keySet())));
+        GOALS_PER_USER.forEach((userId, goals) -> {
+            for (int i = 0; i < goals; i++) {
+                Goal goal = new Goal();
+                goal.setUserId(userId);
+                goal.setTitle("Batch goal " + i);
+                goal.setTargetAmount(new BigDecimal("1000.00"));
+                goal.setCategory(category);
+                goalRepository.save(goal);
+            }
+        });
+    }
+
+    @Test
+    void postedIdsArePagedByRowsAndResumeAboveTheCursor() throws Exception {
+        // 7101 (2 rows) fits, 7102 would make 4 > 3: the page stops after 7101
+        mockMvc.perform(post("/goals/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\": [7103, 7102, 7101, 7999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.userCount").value(1))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.goalsByUser['7101'].length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value(7101));
+
+        // Resending the ids above the cursor: 7102 + 7103 is exactly 3 rows, and 7999 has none
+        mockMvc.perform(post("/goals/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\": [7102, 7103, 7999]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userCount").value(3))
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.goalsByUser['7999'].length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void userOverTheBudgetStillGetsAPageOfTheirOwn() throws Exception {
+        mockMvc.perform(post("/goals/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\": [7104, 7103]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userCount").value(1))
+                .andExpect(jsonPath("$.goalsByUser['7103'].length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(7103));
+
+        mockMvc.perform(post("/goals/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\": [7104]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(5))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void rangePagesStopAtTheRowBudget() throws Exception {
+        mockMvc.perform(get("/goals/batch/range").param("fromUserId", "7101").param("toUserId", "7104"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userCount").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(7101));
+
+        mockMvc.perform(get("/goals/batch/range").param("toUserId", "7104").param("after", "7101"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userCount").value(2))
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.nextCursor").value(7103));
+
+        mockMvc.perform(get("/goals/batch/range").param("toUserId", "7104").param("after", "7103"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(5))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.goalservice.controller;
+
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class GoalControllerConditionalGetTest {
+
+    private static final long USER_ID = 7_001L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        GoalCategory category = categoryRepository.findAll().stream()
+                .filter(c -> "ETag Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("ETag Test", "ETag test category", "#000000")));
+        goal = new Goal();
+        goal.setUserId(USER_ID);
+        goal.setTitle("ETag goal");
+        goal.setTargetAmount(new BigDecimal("1000.00"));
+        goal.setCategory(category);
+        goal = goalRepository.save(goal);
+    }
+
+    @Test
+    void unchangedGoalsAnswer304WithoutRunningTheListQuery() throws Exception {
+        String etag = fetchEtag();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/goals/user/{userId}", USER_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        // The ETag comes from one JDBC lookup of the version rows; the goal listing never runs
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void writeChangesTheTag() throws Exception {
+        String before = fetchEtag();
+
+        mockMvc.perform(post("/goals/{id}/contributions", goal.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 100.00}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        String after = mockMvc.perform(get("/goals/user/{userId}", USER_ID).header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void batchTagCoversEveryRequestedUser() throws Exception {
+        String etag = mockMvc.perform(get("/goals/batch").param("userIds", String.valueOf(USER_ID), "7002"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/goals/batch").param("userIds", "7002", String.valueOf(USER_ID))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/goals/{id}/contributions", goal.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1.00}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/goals/batch").param("userIds", String.valueOf(USER_ID), "7002")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private String fetchEtag() throws Exception {
+        String etag = mockMvc.perform(get("/goals/user/{userId}", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.goalservice.controller;
+
+import com.example.goalservice.client.UserFinanceServiceClient;
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalRepository;
+import com.example.goalservice.service.GoalSimulationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Semaphore;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "goal.simulation.max-concurrent=1")
+@AutoConfigureMockMvc
+class GoalSimulationAdmissionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GoalSimulationService simulationService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @MockitoBean
+    private UserFinanceServiceClient userFinanceServiceClient;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        GoalCategory category = categoryRepository.findAll().stream()
+                .filter(c -> "Simulation Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Simulation Test", "Simulation test category", "#000000")));
+        goal = new Goal();
+        goal.setUserId(7_501L);
+        goal.setTitle("Simulated goal");
+        goal.setTargetAmount(new BigDecimal("1000.00"));
+        goal.setCategory(category);
+        goal = goalRepository.save(goal);
+    }
+
+    @Test
+    void simulationBeyondTheLimitIsRejectedAtOnce() throws Exception {
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(simulationService, "permits");
+        // Stands in for a simulation that is still running
+        permits.acquire();
+        try {
+            mockMvc.perform(get("/goals/{id}/simulate", goal.getId())
+                            .param("monthlyContribution", "250")
+                            .param("paths", "100"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.busy").value(true));
+        } finally {
+            permits.release();
+        }
+
+        mockMvc.perform(get("/goals/{id}/simulate", goal.getId())
+                        .param("monthlyContribution", "250")
+                        .param("paths", "100")
+                        .param("seed", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.probabilityWithinHorizon").value(100.0));
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.client.InsightServiceClient;
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.entity.GoalDeadlineScan;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalDeadlineScanRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {"goal.deadlines.enabled=false", "goal.deadlines.chunk-size=2"})
+class GoalDeadlineScannerTest {
+
+    private static final long USER_ID = 6_001L;
+    // Far enough ahead that goals saved by other tests never fall into the scanned bands
+    private static final LocalDate TODAY = LocalDate.of(2090, 1, 1);
+    private static final int HORIZON = 7;
+
+    @Autowired
+    private GoalDeadlineScanner scanner;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @Autowired
+    private GoalDeadlineScanRepository scanRepository;
+
+    @MockitoBean
+    private InsightServiceClient insightServiceClient;
+
+    private final List<Long> reminded = new ArrayList<>();
+    private GoalCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.findAll().stream()
+                .filter(c -> "Deadline Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Deadline Test", "Deadline test category", "#000000")));
+        scanRepository.deleteAll();
+        goalRepository.deleteAll(goalRepository.findAll().stream().filter(g -> g.getUserId() == USER_ID).toList());
+        reminded.clear();
+    }
+
+    @Test
+    void scanRemindsEveryDueGoalOnceAndRerunIsANoOp() {
+        List<Long> due = List.of(goal(1), goal(3), goal(3), goal(5), goal(7));
+        goal(8);
+        Goal completed = goalEntity(2);
+        completed.setStatus(Goal.Status.COMPLETED);
+        goalRepository.save(completed);
+        accept(true);
+
+        assertEquals(5, scanner.scanHorizon(TODAY, HORIZON, TODAY));
+        assertEquals(due, reminded);
+
+        GoalDeadlineScan scan = scanRepository.findById(HORIZON).orElseThrow();
+        assertEquals(TODAY.plusDays(HORIZON), scan.getScannedThrough());
+        assertNull(scan.getCursorTargetDate());
+        assertNull(scan.getCursorGoalId());
+
+        assertEquals(0, scanner.scanHorizon(TODAY, HORIZON, TODAY));
+        assertEquals(due, reminded);
+    }
+
+    @Test
+    void failedChunkResumesAfterTheLastDeliveredOne() {
+        List<Long> due = List.of(goal(1), goal(2), goal(4), goal(6), goal(7));
+        accept(true, false);
+
+        assertEquals(2, scanner.scanHorizon(TODAY, HORIZON, TODAY));
+
+        GoalDeadlineScan scan = scanRepository.findById(HORIZON).orElseThrow();
+        assertNull(scan.getScannedThrough());
+        assertEquals(TODAY.plusDays(2), scan.getCursorTargetDate());
+        assertEquals(due.get(1), scan.getCursorGoalId());
+
+        reminded.clear();
+        accept(true);
+
+        assertEquals(3, scanner.scanHorizon(TODAY, HORIZON, TODAY));
+        assertEquals(due.subList(2, 5), reminded);
+        assertEquals(TODAY.plusDays(HORIZON), scanRepository.findById(HORIZON).orElseThrow().getScannedThrough());
+    }
+
+    @Test
+    void nextDayOnlyScansTheNewlyEnteredBand() {
+        goal(3);
+        long late = goal(8);
+        accept(true);
+        scanner.scanHorizon(TODAY, HORIZON, TODAY);
+
+        reminded.clear();
+        assertEquals(1, scanner.scanHorizon(TODAY.plusDays(1), HORIZON, TODAY.plusDays(1)));
+        assertEquals(List.of(late), reminded);
+    }
+
+    /**
+     * Delivery results for consecutive batches, the last one repeating; goals of accepted batches go to reminded
+     */
+    @SuppressWarnings("unchecked")
+    private void accept(Boolean first, Boolean... rest) {
+        Boolean[] results = new Boolean[rest.length + 1];
+        results[0] = first;
+        System.arraycopy(rest, 0, results, 1, rest.length);
+        int[] call = {0};
+        when(insightServiceClient.sendGoalDeadlineNotifications(anyList())).thenAnswer(invocation -> {
+            boolean accepted = results[Math.min(call[0]++, results.length - 1)];
+            if (accepted) {
+                for (Map<String, Object> notification : (List<Map<String, Object>>) invocation.getArgument(0)) {
+                    reminded.add(((Number) notification.get("goalId")).longValue());
+                }
+            }
+            return accepted;
+        });
+    }
+
+    private long goal(int daysFromToday) {
+        return goalRepository.save(goalEntity(daysFromToday)).getId();
+    }
+
+    private Goal goalEntity(int daysFromToday) {
+        Goal goal = new Goal();
+        goal.setUserId(USER_ID);
+        goal.setTitle("Deadline goal");
+        goal.setTargetAmount(new BigDecimal("100.00"));
+        goal.setTargetDate(TODAY.plusDays(daysFromToday));
+        goal.setCategory(category);
+        return goal;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.client.UserFinanceServiceClient;
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {"goal.forecast.enabled=false", "goal.forecast.history-months=3", "goal.events.relay.enabled=false",
+        "goal.forecast.delete-batch-size=2"})
+class GoalForecastJobTest {
+
+    private static final long USER_ID = 4_001L;
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private GoalForecastJob job;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private UserFinanceServiceClient userFinanceServiceClient;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        GoalCategory category = categoryRepository.findAll().stream()
+                .filter(c -> "Forecast Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Forecast Test", "Forecast test category", "#000000")));
+        jdbcTemplate.update("DELETE FROM goal_predictions WHERE user_id = ?", USER_ID);
+        goalRepository.deleteAll(goalRepository.findAll().stream().filter(g -> g.getUserId() == USER_ID).toList());
+
+        goal = new Goal();
+        goal.setUserId(USER_ID);
+        goal.setTitle("Forecast goal");
+        goal.setTargetAmount(new BigDecimal("3000.00"));
+        goal.setCurrentAmount(BigDecimal.ZERO);
+        goal.setCategory(category);
+        goal = goalRepository.save(goal);
+    }
+
+    @Test
+    void insertsThenUpdatesOnePredictionPerGoal() {
+        cashFlow(3000, 2000);
+        assertEquals(1, job.forecastPartition(List.of(USER_ID), TODAY));
+
+        Map<String, Object> first = prediction();
+        assertEquals(0, new BigDecimal("1000.00").compareTo((BigDecimal) first.get("current_monthly_average")));
+        assertEquals("ON_TRACK", first.get("recommended_action"));
+
+        cashFlow(3000, 2500);
+        assertEquals(1, job.forecastPartition(List.of(USER_ID), TODAY.plusDays(1)));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goal_predictions WHERE goal_id = ?",
+                Integer.class, goal.getId()));
+        Map<String, Object> second = prediction();
+        assertEquals(0, new BigDecimal("500.00").compareTo((BigDecimal) second.get("current_monthly_average")));
+        assertEquals(first.get("created_at"), second.get("created_at"));
+    }
+
+    @Test
+    void partitionWithoutCashFlowIsSkippedAndKeepsItsPrediction() {
+        cashFlow(3000, 2000);
+        job.forecastPartition(List.of(USER_ID), TODAY);
+        Map<String, Object> before = prediction();
+
+        when(userFinanceServiceClient.getMonthlyCashFlowForUsers(any(), anyInt())).thenReturn(null);
+
+        assertEquals(-1, job.forecastPartition(List.of(USER_ID), TODAY.plusDays(1)));
+        assertEquals(before, prediction());
+    }
+
+    @Test
+    void predictionsOfInactiveGoalsAreDeletedInBatches() {
+        List<Goal> goals = new ArrayList<>(List.of(goal));
+        for (int i = 0; i < 4; i++) {
+            Goal extra = new Goal();
+            extra.setUserId(USER_ID);
+            extra.setTitle("Forecast goal " + i);
+            extra.setTargetAmount(new BigDecimal("500.00"));
+            extra.setCurrentAmount(BigDecimal.ZERO);
+            extra.setCategory(goal.getCategory());
+            goals.add(goalRepository.save(extra));
+        }
+        cashFlow(3000, 2000);
+        assertEquals(5, job.forecastPartition(List.of(USER_ID), TODAY));
+
+        // Five stale rows against a batch size of 2 takes three statements
+        for (Goal stale : goals.subList(1, 5)) {
+            jdbcTemplate.update("UPDATE goals SET status = 'CANCELLED' WHERE id = ?", stale.getId());
+        }
+        job.deleteInactivePredictions();
+
+        assertEquals(List.of(goal.getId()), jdbcTemplate.queryForList(
+                "SELECT goal_id FROM goal_predictions WHERE user_id = ?", Long.class, USER_ID));
+    }
+
+    @Test
+    void onlyOneReplicaHoldsTheLeaseUntilItIsReleased() {
+        assertTrue(job.acquireLease("replica-a"));
+        try {
+            assertFalse(job.acquireLease("replica-b"));
+        } finally {
+            job.releaseLease("replica-a");
+        }
+
+        assertTrue(job.acquireLease("replica-b"));
+        job.releaseLease("replica-b");
+    }
+
+    private void cashFlow(double income, double expense) {
+        Map<String, Object> entry = Map.of("income", List.of(income, income, income), "expense", List.of(expense, expense, expense));
+        when(userFinanceServiceClient.getMonthlyCashFlowForUsers(any(), anyInt()))
+                .thenReturn(Map.of("success", true, "cashFlowByUser", Map.of(String.valueOf(USER_ID), entry)));
+    }
+
+    private Map<String, Object> prediction() {
+        return jdbcTemplate.queryForMap("SELECT current_monthly_average, recommended_action, created_at, last_updated " +
+                "FROM goal_predictions WHERE goal_id = ?", goal.getId());
+    }
+}
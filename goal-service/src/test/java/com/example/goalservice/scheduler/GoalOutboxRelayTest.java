@@ -0,0 +1,199 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.client.InsightServiceClient;
+import com.example.goalservice.entity.GoalOutboxEvent;
+import com.example.goalservice.event.GoalLifecycleEvent;
+import com.example.goalservice.event.GoalLifecycleEvent.EventType;
+import com.example.goalservice.repository.GoalOutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "goal.events.relay.enabled=false",
+        "goal.events.kafka.enabled=true",
+        "goal.events.relay.max-attempts=3",
+        "goal.events.relay.backoff-initial-ms=0"
+})
+class GoalOutboxRelayTest {
+
+    private static final long USER_ID = 5_001L;
+
+    @Autowired
+    private GoalOutboxRelay relay;
+
+    @Autowired
+    private GoalOutboxEventRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @MockitoBean
+    private InsightServiceClient insightServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliveredRowsAreDeleted() throws Exception {
+        kafkaAccepts();
+        when(insightServiceClient.sendGoalNotification(any())).thenReturn(true);
+        GoalOutboxEvent row = enqueue(EventType.GOAL_CREATED, 1L);
+
+        assertEquals(1, relay.relayBatch());
+
+        verify(kafkaTemplate).send(GoalOutboxRelay.TOPIC, String.valueOf(USER_ID), row.getPayload());
+        assertTrue(outboxRepository.findById(row.getId()).isEmpty());
+    }
+
+    @Test
+    void retryResendsOnlyTheMissingNotification() throws Exception {
+        kafkaAccepts();
+        when(insightServiceClient.sendGoalNotification(any())).thenReturn(false, true);
+        GoalOutboxEvent row = enqueue(EventType.GOAL_UPDATED, 1L);
+
+        relay.relayBatch();
+
+        GoalOutboxEvent afterFirst = outboxRepository.findById(row.getId()).orElseThrow();
+        assertEquals(GoalOutboxEvent.Status.PENDING, afterFirst.getStatus());
+        assertEquals(1, afterFirst.getAttempts());
+        assertTrue(afterFirst.getKafkaDelivered());
+        assertFalse(afterFirst.getNotificationDelivered());
+        assertNull(afterFirst.getClaimToken());
+        assertNotNull(afterFirst.getLastError());
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), anyString());
+        verify(insightServiceClient, times(2)).sendGoalNotification(any());
+        assertTrue(outboxRepository.findById(row.getId()).isEmpty());
+    }
+
+    @Test
+    void retryResendsOnlyTheMissingKafkaRecord() throws Exception {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(insightServiceClient.sendGoalNotification(any())).thenReturn(true);
+        GoalOutboxEvent row = enqueue(EventType.GOAL_COMPLETED, 1L);
+
+        relay.relayBatch();
+
+        GoalOutboxEvent afterFirst = outboxRepository.findById(row.getId()).orElseThrow();
+        assertFalse(afterFirst.getKafkaDelivered());
+        assertTrue(afterFirst.getNotificationDelivered());
+
+        relay.relayBatch();
+
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), anyString());
+        verify(insightServiceClient, times(1)).sendGoalNotification(any());
+        assertTrue(outboxRepository.findById(row.getId()).isEmpty());
+    }
+
+    @Test
+    void rowIsLeftFailedAfterMaxAttempts() throws Exception {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenThrow(new IllegalStateException("broker down"));
+        when(insightServiceClient.sendGoalNotification(any())).thenReturn(true);
+        GoalOutboxEvent row = enqueue(EventType.GOAL_DELETED, 1L);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, relay.relayBatch());
+        }
+
+        GoalOutboxEvent failed = outboxRepository.findById(row.getId()).orElseThrow();
+        assertEquals(GoalOutboxEvent.Status.FAILED, failed.getStatus());
+        assertEquals(3, failed.getAttempts());
+        assertTrue(failed.getLastError().startsWith("kafka:"));
+        assertEquals(0, relay.relayBatch());
+        verify(insightServiceClient, times(1)).sendGoalNotification(any());
+    }
+
+    @Test
+    void leasedRowsAreSkipped() throws Exception {
+        kafkaAccepts();
+        GoalOutboxEvent row = enqueue(EventType.GOAL_CREATED, 1L);
+        // Claimed by another instance whose lease has not expired yet
+        row.setClaimToken("other-instance");
+        row.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        outboxRepository.save(row);
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), anyString());
+        verify(insightServiceClient, never()).sendGoalNotification(any());
+    }
+
+    @Test
+    void contributionEventsOnlyGoToKafka() throws Exception {
+        kafkaAccepts();
+        GoalOutboxEvent row = enqueue(EventType.GOAL_CONTRIBUTION, 1L);
+
+        assertEquals(1, relay.relayBatch());
+
+        verify(kafkaTemplate).send(GoalOutboxRelay.TOPIC, String.valueOf(USER_ID), row.getPayload());
+        verify(insightServiceClient, never()).sendGoalNotification(any());
+        verify(insightServiceClient, never()).sendGoalMilestoneNotifications(anyList());
+        assertTrue(outboxRepository.findById(row.getId()).isEmpty());
+    }
+
+    @Test
+    void milestonesOfABatchAreCoalescedIntoOneCall() throws Exception {
+        kafkaAccepts();
+        when(insightServiceClient.sendGoalMilestoneNotifications(anyList())).thenReturn(true);
+        enqueue(EventType.GOAL_MILESTONE, 1L);
+        enqueue(EventType.GOAL_MILESTONE, 2L);
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(insightServiceClient, times(1)).sendGoalMilestoneNotifications(anyList());
+        verify(insightServiceClient, never()).sendGoalNotification(any());
+        verify(kafkaTemplate, times(2)).send(eq(GoalOutboxRelay.TOPIC), anyString(), anyString());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private void kafkaAccepts() {
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private GoalOutboxEvent enqueue(EventType eventType, long goalId) throws Exception {
+        GoalLifecycleEvent event = new GoalLifecycleEvent();
+        event.setEventType(eventType);
+        event.setGoalId(goalId);
+        event.setUserId(USER_ID);
+        event.setTitle("Goal " + goalId);
+        event.setOccurredAt(LocalDateTime.now());
+        if (eventType == EventType.GOAL_MILESTONE) {
+            event.setMilestonePercentage(50);
+        }
+        GoalOutboxEvent row = new GoalOutboxEvent(USER_ID, goalId, eventType.name(), objectMapper.writeValueAsString(event));
+        row.setNextAttemptAt(row.getNextAttemptAt().minusSeconds(1));
+        return outboxRepository.save(row);
+    }
+}
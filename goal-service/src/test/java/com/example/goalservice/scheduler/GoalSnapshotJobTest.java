@@ -0,0 +1,180 @@
+package com.example.goalservice.scheduler;
+
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.entity.GoalProgressSnapshot.SnapshotType;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"goal.snapshots.enabled=false", "goal.events.relay.enabled=false"})
+class GoalSnapshotJobTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private GoalSnapshotJob job;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GoalCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.findAll().stream()
+                .filter(c -> "Snapshot Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Snapshot Test", "Snapshot test category", "#000000")));
+    }
+
+    @Test
+    void rerunWritesEachDailySnapshotOnce() {
+        Goal goal = goal("250.00");
+        LocalDate date = LocalDate.of(2030, 3, 4);
+        insertSnapshot(goal.getId(), SnapshotType.DAILY, date.minusDays(1), "200.00", "0.00");
+
+        job.writeDailySnapshots(date);
+        assertEquals(0, job.writeDailySnapshots(date));
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT amount, amount_change FROM goal_progress_snapshots WHERE goal_id = ? AND snapshot_date = ?",
+                goal.getId(), Date.valueOf(date));
+        assertEquals(1, rows.size());
+        assertAmount("250.00", rows.get(0).get("amount"));
+        assertAmount("50.00", rows.get(0).get("amount_change"));
+    }
+
+    @Test
+    void overlappingRunsNeverDuplicateADay() throws Exception {
+        List<Long> goalIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            goalIds.add(goal("10.00").getId());
+        }
+        LocalDate date = LocalDate.of(2030, 5, 6);
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        CompletableFuture<?>[] runs = new CompletableFuture<?>[2];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    start.await(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                job.writeDailySnapshots(date);
+            });
+        }
+        CompletableFuture.allOf(runs).get(60, TimeUnit.SECONDS);
+
+        for (Long goalId : goalIds) {
+            assertEquals(1, countSnapshots(goalId, SnapshotType.DAILY));
+        }
+    }
+
+    @Test
+    void uniqueIndexRejectsASecondRowForTheSameDay() {
+        Goal goal = goal("100.00");
+        insertSnapshot(goal.getId(), SnapshotType.DAILY, MONDAY, "10.00", "10.00");
+
+        assertThrows(DuplicateKeyException.class,
+                () -> insertSnapshot(goal.getId(), SnapshotType.DAILY, MONDAY, "20.00", "10.00"));
+    }
+
+    @Test
+    void rollsWholeWeeksAndMonthsUpKeepingLastValueAndSummedChange() {
+        Goal goal = goal("1000.00");
+        // 2024-01-01 is a Monday: two whole weeks plus three days of the week that holds the cutoff
+        for (int day = 0; day < 17; day++) {
+            insertSnapshot(goal.getId(), SnapshotType.DAILY, MONDAY.plusDays(day), String.valueOf(10 * (day + 1)), "10");
+        }
+
+        int compacted = job.compact(SnapshotType.DAILY, SnapshotType.WEEKLY, LocalDate.of(2024, 1, 15), GoalSnapshotJob::weekStart);
+
+        assertEquals(14, compacted);
+        List<Map<String, Object>> weekly = snapshots(goal.getId(), SnapshotType.WEEKLY);
+        assertEquals(2, weekly.size());
+        assertEquals(Date.valueOf(LocalDate.of(2024, 1, 7)), weekly.get(0).get("snapshot_date"));
+        assertAmount("70", weekly.get(0).get("amount"));
+        assertAmount("70", weekly.get(0).get("amount_change"));
+        assertEquals(Date.valueOf(LocalDate.of(2024, 1, 14)), weekly.get(1).get("snapshot_date"));
+        assertAmount("140", weekly.get(1).get("amount"));
+        assertAmount("70", weekly.get(1).get("amount_change"));
+        assertEquals(3, countSnapshots(goal.getId(), SnapshotType.DAILY));
+
+        // Nothing before the cutoff is left, so a rerun changes nothing
+        assertEquals(0, job.compact(SnapshotType.DAILY, SnapshotType.WEEKLY, LocalDate.of(2024, 1, 15), GoalSnapshotJob::weekStart));
+
+        job.compact(SnapshotType.WEEKLY, SnapshotType.MONTHLY, LocalDate.of(2024, 2, 1), GoalSnapshotJob::monthStart);
+
+        List<Map<String, Object>> monthly = snapshots(goal.getId(), SnapshotType.MONTHLY);
+        assertEquals(1, monthly.size());
+        assertAmount("140", monthly.get(0).get("amount"));
+        assertAmount("140", monthly.get(0).get("amount_change"));
+        assertEquals(0, countSnapshots(goal.getId(), SnapshotType.WEEKLY));
+    }
+
+    @Test
+    void cutoffsFallOnPeriodStarts() {
+        // 2024-04-17 minus 90 days is Thursday 2024-01-18; its week started on Monday the 15th
+        assertEquals(LocalDate.of(2024, 1, 15), job.weeklyCutoff(LocalDate.of(2024, 4, 17)));
+        assertEquals(LocalDate.of(2024, 6, 1), job.monthlyCutoff(LocalDate.of(2026, 6, 15)));
+        assertEquals(MONDAY, GoalSnapshotJob.weekStart(LocalDate.of(2024, 1, 7)));
+        assertEquals(MONDAY, GoalSnapshotJob.monthStart(LocalDate.of(2024, 1, 31)));
+    }
+
+    private void insertSnapshot(Long goalId, SnapshotType type, LocalDate date, String amount, String change) {
+        jdbcTemplate.update("INSERT INTO goal_progress_snapshots " +
+                        "(goal_id, amount, progress_percentage, snapshot_date, snapshot_type, amount_change, created_at) " +
+                        "VALUES (?, ?, 0, ?, ?, ?, CURRENT_TIMESTAMP)",
+                goalId, new BigDecimal(amount), Date.valueOf(date), type.name(), new BigDecimal(change));
+    }
+
+    private List<Map<String, Object>> snapshots(Long goalId, SnapshotType type) {
+        return jdbcTemplate.queryForList("SELECT snapshot_date, amount, amount_change FROM goal_progress_snapshots " +
+                "WHERE goal_id = ? AND snapshot_type = ? ORDER BY snapshot_date", goalId, type.name());
+    }
+
+    private int countSnapshots(Long goalId, SnapshotType type) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM goal_progress_snapshots WHERE goal_id = ? AND snapshot_type = ?",
+                Integer.class, goalId, type.name());
+    }
+
+    private Goal goal(String currentAmount) {
+        Goal goal = new Goal();
+        goal.setUserId(6_001L);
+        goal.setTitle("Snapshot goal");
+        goal.setTargetAmount(new BigDecimal("1000.00"));
+        goal.setCurrentAmount(new BigDecimal(currentAmount));
+        goal.setCategory(category);
+        return goalRepository.save(goal);
+    }
+
+    private static void assertAmount(String expected, Object actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo((BigDecimal) actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.dto.request.GoalContributionRequest;
+import com.example.goalservice.dto.request.GoalRequest;
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "goal.events.relay.enabled=false")
+class GoalContributionConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GoalCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.findAll().stream()
+                .filter(c -> "Contribution Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Contribution Test", "Contribution test category", "#000000")));
+    }
+
+    @Test
+    void concurrentContributionsAreNeverLost() throws Exception {
+        Goal goal = goalRepository.save(goal(new BigDecimal("1000000.00")));
+        int perThread = 50;
+
+        AtomicInteger accepted = contributeConcurrently(goal.getId(), perThread, new BigDecimal("1.25"));
+
+        Goal result = goalRepository.findById(goal.getId()).orElseThrow();
+        assertEquals(THREADS * perThread, accepted.get());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(result.getCurrentAmount()));
+        assertEquals(0, new BigDecimal("0.10").compareTo(result.getCompletionPercentage()));
+        assertEquals(Goal.Status.ACTIVE, result.getStatus());
+    }
+
+    @Test
+    void exactlyOneContributionCompletesTheGoal() throws Exception {
+        Goal goal = goalRepository.save(goal(new BigDecimal("100.00")));
+        int perThread = 10;
+
+        AtomicInteger accepted = contributeConcurrently(goal.getId(), perThread, BigDecimal.ONE);
+
+        Goal result = goalRepository.findById(goal.getId()).orElseThrow();
+        assertEquals(100, accepted.get());
+        assertEquals(0, new BigDecimal("100.00").compareTo(result.getCurrentAmount()));
+        assertEquals(0, new BigDecimal("100").compareTo(result.getCompletionPercentage()));
+        assertEquals(Goal.Status.COMPLETED, result.getStatus());
+        assertNotNull(result.getCompletedAt());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM goal_outbox_events WHERE goal_id = ? AND event_type = 'GOAL_COMPLETED'",
+                Integer.class, goal.getId()));
+        // Every other accepted contribution is announced on Kafka
+        assertEquals(99, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM goal_outbox_events WHERE goal_id = ? AND event_type = 'GOAL_CONTRIBUTION'",
+                Integer.class, goal.getId()));
+        // Each contribution sees its own before/after, so every threshold is crossed exactly once
+        assertEquals(List.of(25, 50, 75, 100), jdbcTemplate.queryForList(
+                "SELECT target_percentage FROM goal_milestones WHERE goal_id = ? ORDER BY target_percentage",
+                BigDecimal.class, goal.getId()).stream().map(BigDecimal::intValue).toList());
+        assertEquals(4, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM goal_outbox_events WHERE goal_id = ? AND event_type = 'GOAL_MILESTONE'",
+                Integer.class, goal.getId()));
+    }
+
+    @Test
+    void contributionLandingJustBelowAThresholdLeavesItToTheNextOne() {
+        Goal goal = goalRepository.save(goal(new BigDecimal("300.00")));
+
+        // 74.99 of 300 rounds to 25.00%, but only 75.00 reaches the 25% milestone
+        goalService.addContribution(goal.getId(), new GoalContributionRequest(new BigDecimal("74.99")));
+        goalService.addContribution(goal.getId(), new GoalContributionRequest(new BigDecimal("0.01")));
+
+        assertEquals(List.of(25), jdbcTemplate.queryForList(
+                "SELECT target_percentage FROM goal_milestones WHERE goal_id = ?",
+                BigDecimal.class, goal.getId()).stream().map(BigDecimal::intValue).toList());
+    }
+
+    @Test
+    void editsRunningAlongsideContributionsNeverOverwriteTheAmount() throws Exception {
+        Goal goal = goalRepository.save(goal(new BigDecimal("1000000.00")));
+        ExecutorService editor = Executors.newSingleThreadExecutor();
+        Future<?> edits = editor.submit(() -> {
+            for (int i = 0; i < 100; i++) {
+                GoalRequest request = new GoalRequest();
+                request.setTitle("Edited " + i);
+                request.setTargetAmount(new BigDecimal(i % 2 == 0 ? "1000000.00" : "2000000.00"));
+                assertEquals(true, goalService.updateGoal(goal.getId(), request).get("success"));
+            }
+            return null;
+        });
+        try {
+            contributeConcurrently(goal.getId(), 50, new BigDecimal("1.25"));
+            edits.get(60, TimeUnit.SECONDS);
+        } finally {
+            editor.shutdownNow();
+        }
+
+        Goal result = goalRepository.findById(goal.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(result.getCurrentAmount()));
+        assertEquals("Edited 99", result.getTitle());
+        assertTrue(result.getUpdatedAt().isAfter(goal.getUpdatedAt()));
+        // Progress always matches the stored amount and the last target
+        assertEquals(0, new BigDecimal("0.05").compareTo(result.getCompletionPercentage()));
+    }
+
+    @Test
+    void rejectsNonPositiveAmountsAndMissingGoals() {
+        Goal goal = goalRepository.save(goal(new BigDecimal("100.00")));
+
+        assertEquals(false, goalService.addContribution(goal.getId(), new GoalContributionRequest(BigDecimal.ZERO)).get("success"));
+        assertEquals(false, goalService.addContribution(-1L, new GoalContributionRequest(BigDecimal.ONE)).get("success"));
+        assertEquals(0, BigDecimal.ZERO.compareTo(goalRepository.findById(goal.getId()).orElseThrow().getCurrentAmount()));
+    }
+
+    private AtomicInteger contributeConcurrently(Long goalId, int perThread, BigDecimal amount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        Map<String, Object> response = goalService.addContribution(goalId, new GoalContributionRequest(amount));
+                        if (Boolean.TRUE.equals(response.get("success"))) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        return accepted;
+    }
+
+    private Goal goal(BigDecimal targetAmount) {
+        Goal goal = new Goal();
+        goal.setUserId(7_001L);
+        goal.setTitle("Shared goal");
+        goal.setTargetAmount(targetAmount);
+        goal.setCategory(category);
+        return goal;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.entity.GoalContribution;
+import com.example.goalservice.event.TransactionEvent;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalContributionRepository;
+import com.example.goalservice.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "goal.events.relay.enabled=false")
+class GoalContributionLedgerTest {
+
+    private static final long USER_ID = 8_001L;
+    private static final AtomicLong TRANSACTION_IDS = new AtomicLong(80_000);
+
+    @Autowired
+    private GoalContributionLedger ledger;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @Autowired
+    private GoalContributionRepository contributionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GoalCategory category;
+    private long transactionId;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.findAll().stream()
+                .filter(c -> "Ledger Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Ledger Test", "Ledger test category", "#000000")));
+        transactionId = TRANSACTION_IDS.incrementAndGet();
+    }
+
+    @Test
+    void replayedEventsAreAppliedOnce() {
+        Goal goal = goal(USER_ID, "200.00");
+        TransactionEvent created = event("CREATED", goal.getId(), "100.00", 0L);
+
+        ledger.apply(created);
+        ledger.apply(created);
+
+        Goal result = reload(goal);
+        assertAmount("100.00", result.getCurrentAmount());
+        // Percentage is derived from the old amount plus the delta, not the already-updated amount
+        assertAmount("50.00", result.getCompletionPercentage());
+        assertEquals(Goal.Status.ACTIVE, result.getStatus());
+    }
+
+    @Test
+    void movingATransactionTakesItsAmountToTheNewGoal() {
+        Goal first = goal(USER_ID, "1000.00");
+        Goal second = goal(USER_ID, "1000.00");
+
+        ledger.apply(event("CREATED", first.getId(), "100.00", 0L));
+        ledger.apply(event("UPDATED", second.getId(), "150.00", 1L));
+
+        assertAmount("0.00", reload(first).getCurrentAmount());
+        assertAmount("150.00", reload(second).getCurrentAmount());
+    }
+
+    @Test
+    void deleteLeavesATombstoneThatIgnoresLateReplays() {
+        Goal goal = goal(USER_ID, "1000.00");
+
+        ledger.apply(event("CREATED", goal.getId(), "100.00", 0L));
+        ledger.apply(event("DELETED", goal.getId(), "100.00", 1L));
+        ledger.apply(event("CREATED", goal.getId(), "100.00", 0L));
+        ledger.apply(event("UPDATED", goal.getId(), "300.00", null));
+
+        assertAmount("0.00", reload(goal).getCurrentAmount());
+        GoalContribution entry = contributionRepository.findById(transactionId).orElseThrow();
+        assertTrue(entry.getDeleted());
+        assertNull(entry.getGoalId());
+    }
+
+    @Test
+    void olderEventsArrivingLateAreDropped() {
+        Goal goal = goal(USER_ID, "1000.00");
+
+        ledger.apply(event("UPDATED", goal.getId(), "200.00", 1L));
+        ledger.apply(event("CREATED", goal.getId(), "100.00", 0L));
+
+        assertAmount("200.00", reload(goal).getCurrentAmount());
+    }
+
+    @Test
+    void unlinkingUpdateOvertakingItsCreateKeepsTheGoalUntouched() {
+        Goal goal = goal(USER_ID, "1000.00");
+
+        ledger.apply(event("UPDATED", null, "100.00", 1L));
+        ledger.apply(event("CREATED", goal.getId(), "100.00", 0L));
+
+        assertAmount("0.00", reload(goal).getCurrentAmount());
+    }
+
+    @Test
+    void goalsOfOtherUsersAreNeverCredited() {
+        Goal foreign = goal(USER_ID + 1, "100.00");
+
+        ledger.apply(event("CREATED", foreign.getId(), "100.00", 0L));
+
+        Goal result = reload(foreign);
+        assertAmount("0.00", result.getCurrentAmount());
+        assertEquals(Goal.Status.ACTIVE, result.getStatus());
+        GoalContribution entry = contributionRepository.findById(transactionId).orElseThrow();
+        assertNull(entry.getGoalId());
+        assertAmount("0.00", entry.getAmount());
+    }
+
+    @Test
+    void creditedAmountsRecordMilestonesOnce() {
+        Goal goal = goal(USER_ID, "200.00");
+
+        ledger.apply(event("CREATED", goal.getId(), "100.00", 0L));
+        ledger.apply(event("CREATED", goal.getId(), "100.00", 0L));
+        assertEquals(List.of(25, 50), milestones(goal));
+
+        ledger.apply(event("UPDATED", goal.getId(), "150.00", 1L));
+        ledger.apply(event("UPDATED", goal.getId(), "50.00", 2L));
+        ledger.apply(event("UPDATED", goal.getId(), "150.00", 3L));
+
+        // Falling back to 25% and climbing to 75% again records 50% and 75% again
+        assertEquals(List.of(25, 50, 50, 75, 75), milestones(goal));
+        assertEquals(5, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM goal_outbox_events WHERE goal_id = ? AND event_type = 'GOAL_MILESTONE'",
+                Integer.class, goal.getId()));
+    }
+
+    private List<Integer> milestones(Goal goal) {
+        return jdbcTemplate.queryForList(
+                "SELECT target_percentage FROM goal_milestones WHERE goal_id = ? ORDER BY target_percentage",
+                BigDecimal.class, goal.getId()).stream().map(BigDecimal::intValue).toList();
+    }
+
+    private TransactionEvent event(String eventType, Long goalId, String amount, Long version) {
+        TransactionEvent event = new TransactionEvent();
+        event.setTransactionId(transactionId);
+        event.setUserId(USER_ID);
+        event.setGoalId(goalId);
+        event.setType("INCOME");
+        event.setAmount(new BigDecimal(amount));
+        event.setEventType(eventType);
+        event.setVersion(version);
+        return event;
+    }
+
+    private Goal goal(long userId, String targetAmount) {
+        Goal goal = new Goal();
+        goal.setUserId(userId);
+        goal.setTitle("Ledger goal");
+        goal.setTargetAmount(new BigDecimal(targetAmount));
+        goal.setCategory(category);
+        return goalRepository.save(goal);
+    }
+
+    private Goal reload(Goal goal) {
+        return goalRepository.findById(goal.getId()).orElseThrow();
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual == null ? BigDecimal.ZERO : actual),
+                () -> "expected " + expected + " but was " + actual);
+    }
+}
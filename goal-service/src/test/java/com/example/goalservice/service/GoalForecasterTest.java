@@ -0,0 +1,141 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.entity.GoalPrediction.RecommendedAction;
+import com.example.goalservice.service.GoalForecaster.CashFlow;
+import com.example.goalservice.service.GoalForecaster.Forecast;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GoalForecasterTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    void noHistoryGivesNoCompletionDateAndAdjustSpending() {
+        Forecast forecast = GoalForecaster.forecast(1000, 0, TODAY.plusMonths(6), steady(6, 0, 0), 1, TODAY);
+
+        assertEquals(List.of("NO_CASH_FLOW_HISTORY"), forecast.riskFactors());
+        assertNull(forecast.predictedCompletionDate());
+        assertNull(forecast.daysToCompletion());
+        assertEquals(0, forecast.probabilityOfSuccess());
+        assertEquals(0, forecast.confidenceScore());
+        assertEquals(0, forecast.currentMonthlyAverage());
+        assertEquals(RecommendedAction.ADJUST_SPENDING, forecast.recommendedAction());
+    }
+
+    @Test
+    void negativeCashFlowNeverCompletes() {
+        Forecast forecast = GoalForecaster.forecast(1000, 200, null, steady(6, 1000, 1500), 1, TODAY);
+
+        assertEquals(List.of("NEGATIVE_CASH_FLOW"), forecast.riskFactors());
+        assertEquals(0, forecast.currentMonthlyAverage());
+        assertNull(forecast.predictedCompletionDate());
+        assertEquals(200, forecast.predictedFinalAmount());
+        assertEquals(RecommendedAction.ADJUST_SPENDING, forecast.recommendedAction());
+    }
+
+    @Test
+    void passedDeadlineHasNoChanceAndSuggestsExtendingIt() {
+        Forecast forecast = GoalForecaster.forecast(1000, 0, TODAY.minusDays(10), steady(6, 3000, 2000), 1, TODAY);
+
+        assertTrue(forecast.riskFactors().contains("DEADLINE_PASSED"));
+        assertEquals(0, forecast.probabilityOfSuccess());
+        // No months left, so the whole remainder is due in one month
+        assertEquals(1000, forecast.requiredMonthlySavings(), 1e-9);
+        assertEquals(RecommendedAction.EXTEND_DEADLINE, forecast.recommendedAction());
+    }
+
+    @Test
+    void passedDeadlineWithARemainderAboveHalfTheIncomeSuggestsReducingTheTarget() {
+        Forecast forecast = GoalForecaster.forecast(5000, 0, TODAY.minusDays(1), steady(6, 3000, 2000), 1, TODAY);
+
+        assertEquals(RecommendedAction.REDUCE_TARGET, forecast.recommendedAction());
+    }
+
+    @Test
+    void reachedTargetIsCompleteToday() {
+        Forecast forecast = GoalForecaster.forecast(1000, 1200, TODAY.minusDays(30), steady(6, 0, 0), 1, TODAY);
+
+        assertEquals(TODAY, forecast.predictedCompletionDate());
+        assertEquals(0, forecast.daysToCompletion());
+        assertEquals(100, forecast.probabilityOfSuccess());
+        assertEquals(0, forecast.requiredMonthlySavings());
+        assertEquals(RecommendedAction.ON_TRACK, forecast.recommendedAction());
+        assertFalse(forecast.riskFactors().contains("DEADLINE_PASSED"));
+    }
+
+    @Test
+    void steadySavingsExtrapolateLinearly() {
+        Forecast forecast = GoalForecaster.forecast(4000, 1000, TODAY.plusDays(183), steady(6, 3000, 2000), 1, TODAY);
+
+        assertTrue(forecast.riskFactors().isEmpty());
+        assertEquals(1000, forecast.currentMonthlyAverage(), 1e-9);
+        long days = (long) Math.ceil(3 * GoalForecaster.DAYS_PER_MONTH);
+        assertEquals((int) days, forecast.daysToCompletion());
+        assertEquals(TODAY.plusDays(days), forecast.predictedCompletionDate());
+        // No spread: the expected savings by the deadline either cover the remainder or they don't
+        assertEquals(100, forecast.probabilityOfSuccess());
+        assertEquals(4000, forecast.predictedFinalAmount(), 1e-9);
+        assertEquals(1, forecast.confidenceScore(), 1e-9);
+        assertEquals(RecommendedAction.ON_TRACK, forecast.recommendedAction());
+    }
+
+    @Test
+    void competingGoalsShareTheVelocity() {
+        Forecast forecast = GoalForecaster.forecast(4000, 1000, null, steady(6, 3000, 2000), 0.5, TODAY);
+
+        assertEquals(List.of("COMPETING_GOALS"), forecast.riskFactors());
+        assertEquals(500, forecast.currentMonthlyAverage(), 1e-9);
+        assertEquals((int) Math.ceil(6 * GoalForecaster.DAYS_PER_MONTH), forecast.daysToCompletion());
+    }
+
+    @Test
+    void volatileSavingsUseTheNormalApproximation() {
+        CashFlow history = new CashFlow(new double[] {4000, 0, 4000, 0}, new double[] {1000, 1000, 1000, 1000});
+        LocalDate deadline = TODAY.plusDays(Math.round(2 * GoalForecaster.DAYS_PER_MONTH));
+
+        Forecast forecast = GoalForecaster.forecast(2000, 0, deadline, history, 1, TODAY);
+
+        assertEquals(List.of("VOLATILE_SAVINGS"), forecast.riskFactors());
+        // Mean 1000 a month over two months exactly covers the remainder: an even chance
+        assertEquals(50, forecast.probabilityOfSuccess(), 0.5);
+        assertTrue(forecast.confidenceScore() < 0.5);
+    }
+
+    @Test
+    void normalCdfMatchesKnownValues() {
+        assertEquals(0.5, GoalForecaster.normalCdf(0), 1e-7);
+        assertEquals(0.975, GoalForecaster.normalCdf(1.959964), 1e-6);
+        assertEquals(0.025, GoalForecaster.normalCdf(-1.959964), 1e-6);
+        assertEquals(0.841345, GoalForecaster.normalCdf(1), 1e-6);
+        assertEquals(1, GoalForecaster.normalCdf(1) + GoalForecaster.normalCdf(-1), 1e-12);
+        assertEquals(1, GoalForecaster.normalCdf(10), 1e-12);
+    }
+
+    @Test
+    void cashFlowParsingPadsMissingMonthsAndSkipsNonNumbers() {
+        CashFlow history = CashFlow.of(Map.of("income", List.of(100, 200.5, "x"), "expense", List.of(50)), 4);
+
+        assertTrue(Arrays.equals(new double[] {100, 200.5, 0, 0}, history.income()));
+        assertTrue(Arrays.equals(new double[] {50, 0, 0, 0}, history.expense()));
+        assertEquals((50 + 200.5) / 4, history.meanNet(), 1e-9);
+        assertEquals(0, new CashFlow(new double[] {10}, new double[] {0}).sdNet());
+    }
+
+    private static CashFlow steady(int months, double income, double expense) {
+        double[] incomes = new double[months];
+        double[] expenses = new double[months];
+        Arrays.fill(incomes, income);
+        Arrays.fill(expenses, expense);
+        return new CashFlow(incomes, expenses);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.goalservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GoalMilestoneTrackerTest {
+
+    @Test
+    void amountJustBelowAThresholdDoesNotCrossIt() {
+        // 74.99 of 300 is stored as 25.00%, but the 25% amount is 75.00
+        assertEquals(List.of(), crossed("0", "300", "74.99", "300"));
+        assertEquals(List.of(25), crossed("74.99", "300", "75.00", "300"));
+    }
+
+    @Test
+    void oneChangeCanCrossSeveralThresholds() {
+        assertEquals(List.of(25, 50, 75, 100), crossed("0", "100", "120", "100"));
+        assertEquals(List.of(50, 75), crossed("49.99", "100", "75", "100"));
+    }
+
+    @Test
+    void onlyUpwardChangesCount() {
+        assertEquals(List.of(), crossed("80", "100", "40", "100"));
+        assertEquals(List.of(), crossed("50", "100", "50", "100"));
+    }
+
+    @Test
+    void targetChangesCompareEachSideAgainstItsOwnTarget() {
+        // 40 of 200 (20%) becomes 40 of 80 (50%)
+        assertEquals(List.of(25, 50), crossed("40", "200", "40", "80"));
+        // 60 of 100 (60%) becomes 60 of 200 (30%): progress went down
+        assertEquals(List.of(), crossed("60", "100", "60", "200"));
+    }
+
+    @Test
+    void missingTargetsCountAsNoProgress() {
+        assertEquals(List.of(), crossed("0", "100", "50", "0"));
+        assertEquals(List.of(25), crossed("10", "0", "30", "100"));
+        assertEquals(List.of(25), GoalMilestoneTracker.crossed(null, null, new BigDecimal("30"), new BigDecimal("100")));
+    }
+
+    private static List<Integer> crossed(String previousAmount, String previousTarget, String currentAmount, String currentTarget) {
+        return GoalMilestoneTracker.crossed(new BigDecimal(previousAmount), new BigDecimal(previousTarget),
+                new BigDecimal(currentAmount), new BigDecimal(currentTarget));
+    }
+}
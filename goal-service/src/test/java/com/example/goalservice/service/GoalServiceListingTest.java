@@ -0,0 +1,144 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.dto.response.GoalResponse;
+import com.example.goalservice.entity.Goal;
+import com.example.goalservice.entity.GoalCategory;
+import com.example.goalservice.repository.GoalCategoryRepository;
+import com.example.goalservice.repository.GoalRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class GoalServiceListingTest {
+
+    private static final long USER_ID = 9_001L;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalCategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        goalRepository.deleteAll();
+        GoalCategory category = categoryRepository.findAll().stream()
+                .filter(c -> "Listing Test".equals(c.getName()))
+                .findFirst()
+                .orElseGet(() -> categoryRepository.save(new GoalCategory("Listing Test", "Listing test category", "#000000")));
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Goal> goals = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            goals.add(goal(USER_ID, category, base.plusDays(i), i == 2 ? Goal.Status.PAUSED : Goal.Status.ACTIVE));
+        }
+        // Same timestamp as the newest goal, so the id tie-breaker is exercised
+        goals.add(goal(USER_ID, category, base.plusDays(4), Goal.Status.ACTIVE));
+        goals.add(goal(USER_ID + 1, category, base, Goal.Status.ACTIVE));
+        goalRepository.saveAll(goals);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listsGoalsWithOneQueryAndNoEntityLoads() {
+        Map<String, Object> response = goalService.getGoalsByUserId(USER_ID, null, null, null);
+
+        assertEquals(6, response.get("count"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+
+        GoalResponse first = goals(response).get(0);
+        assertEquals(USER_ID, first.getUserId());
+        assertNotNull(first.getCategory());
+        assertEquals("Listing Test", first.getCategory().getName());
+    }
+
+    @Test
+    void pagesByKeysetCursorWithoutGapsOrDuplicates() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Map<String, Object> response = goalService.getGoalsByUserId(USER_ID, null, cursor, 4);
+            goals(response).forEach(goal -> seen.add(goal.getId()));
+            cursor = (String) response.get("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(2, pages);
+        assertEquals(6, seen.size());
+        assertEquals(6, seen.stream().distinct().count());
+        assertEquals(pages, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        List<LocalDateTime> createdAt = goalRepository.findAllById(seen).stream()
+                .sorted((a, b) -> Integer.compare(seen.indexOf(a.getId()), seen.indexOf(b.getId())))
+                .map(Goal::getCreatedAt)
+                .toList();
+        for (int i = 1; i < createdAt.size(); i++) {
+            assertFalse(createdAt.get(i).isAfter(createdAt.get(i - 1)));
+        }
+    }
+
+    @Test
+    void filtersByStatus() {
+        Map<String, Object> response = goalService.getGoalsByUserId(USER_ID, Goal.Status.PAUSED, null, null);
+
+        assertEquals(1, response.get("count"));
+        assertEquals(Goal.Status.PAUSED, goals(response).get(0).getStatus());
+        assertFalse((Boolean) response.get("hasMore"));
+        assertNull(response.get("nextCursor"));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        Map<String, Object> response = goalService.getGoalsByUserId(USER_ID, null, "not-a-cursor", null);
+
+        assertTrue(Boolean.FALSE.equals(response.get("success")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GoalResponse> goals(Map<String, Object> response) {
+        return (List<GoalResponse>) response.get("goals");
+    }
+
+    private static Goal goal(Long userId, GoalCategory category, LocalDateTime createdAt, Goal.Status status) {
+        Goal goal = new Goal();
+        goal.setUserId(userId);
+        goal.setTitle("Goal " + createdAt);
+        goal.setTargetAmount(new BigDecimal("1000.00"));
+        goal.setCategory(category);
+        goal.setStatus(status);
+        goal.setCreatedAt(createdAt);
+        goal.setUpdatedAt(createdAt);
+        return goal;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.goalservice.service;
+
+import com.example.goalservice.service.GoalSimulator.Simulation;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GoalSimulatorTest {
+
+    private static ForkJoinPool single;
+    private static ForkJoinPool wide;
+
+    @BeforeAll
+    static void startPools() {
+        single = new ForkJoinPool(1);
+        wide = new ForkJoinPool(8);
+    }
+
+    @AfterAll
+    static void stopPools() {
+        single.shutdownNow();
+        wide.shutdownNow();
+    }
+
+    @Test
+    void sameSeedGivesTheSameHistogramWhateverThePool() {
+        Simulation one = GoalSimulator.simulate(1000, 10000, 500, 400, 120, 20_000, 42L, single);
+        Simulation eight = GoalSimulator.simulate(1000, 10000, 500, 400, 120, 20_000, 42L, wide);
+        Simulation again = GoalSimulator.simulate(1000, 10000, 500, 400, 120, 20_000, 42L, wide);
+
+        assertArrayEquals(one.reachedInMonth(), eight.reachedInMonth());
+        assertArrayEquals(eight.reachedInMonth(), again.reachedInMonth());
+        assertEquals(one.neverReached(), eight.neverReached());
+
+        Simulation otherSeed = GoalSimulator.simulate(1000, 10000, 500, 400, 120, 20_000, 43L, wide);
+        assertFalse(Arrays.equals(one.reachedInMonth(), otherSeed.reachedInMonth()));
+    }
+
+    @Test
+    void everyPathIsCountedOnce() {
+        Simulation simulation = GoalSimulator.simulate(0, 5000, 100, 300, 24, 10_000, 7L, wide);
+
+        int total = simulation.neverReached();
+        for (int month = 1; month <= 24; month++) {
+            total += simulation.reachedInMonth()[month];
+        }
+        assertEquals(10_000, total);
+        assertEquals(0, simulation.reachedInMonth()[0]);
+        assertEquals(1 - (double) simulation.neverReached() / 10_000, simulation.probabilityWithin(24), 1e-12);
+    }
+
+    @Test
+    void zeroSpreadIsDeterministic() {
+        // 250 a month from 0 reaches 1000 after exactly 4 months
+        Simulation simulation = GoalSimulator.simulate(0, 1000, 250, 0, 12, 5_000, 1L, single);
+
+        assertEquals(5_000, simulation.reachedInMonth()[4]);
+        assertEquals(4, simulation.percentileMonth(0.0));
+        assertEquals(4, simulation.percentileMonth(0.5));
+        assertEquals(4, simulation.percentileMonth(1.0));
+        assertEquals(0, simulation.probabilityWithin(3));
+        assertEquals(1, simulation.probabilityWithin(4));
+    }
+
+    @Test
+    void nothingSavedNeverReachesTheTarget() {
+        Simulation zero = GoalSimulator.simulate(100, 1000, 0, 0, 60, 1_000, 1L, wide);
+        Simulation negative = GoalSimulator.simulate(100, 1000, -50, 0, 60, 1_000, 1L, wide);
+
+        for (Simulation simulation : new Simulation[] {zero, negative}) {
+            assertEquals(1_000, simulation.neverReached());
+            assertEquals(-1, simulation.percentileMonth(0.1));
+            assertEquals(0, simulation.probabilityWithin(60));
+        }
+    }
+
+    @Test
+    void hopelessInputsFinishWellWithinTheLatencyBudget() {
+        // Drifting down from 1000 towards a 50000 target over 30 years: no path can get there
+        GoalSimulator.simulate(1000, 50_000, -50, 200, 360, 100_000, 1L, wide);
+
+        long best = Long.MAX_VALUE;
+        Simulation simulation = null;
+        for (int run = 0; run < 3; run++) {
+            long started = System.nanoTime();
+            simulation = GoalSimulator.simulate(1000, 50_000, -50, 200, 360, 100_000, 2L, wide);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+
+        assertEquals(100_000, simulation.neverReached());
+        assertTrue(best < 200_000_000L, "took " + best / 1_000_000 + " ms");
+    }
+
+    @Test
+    void pathsAtZeroAreOnlyGivenUpWhenTheyCannotRecover() {
+        assertEquals(0, GoalSimulator.hopelessFromZeroWithin(50_000, 10, 200, 360));
+        assertEquals(360, GoalSimulator.hopelessFromZeroWithin(50_000, -50, 200, 360));
+        // No drift, but 360 months of spread easily covers 3000
+        assertEquals(3, GoalSimulator.hopelessFromZeroWithin(3_000, 0, 300, 360));
+    }
+
+    @Test
+    void percentileAndProbabilityEdges() {
+        // Two paths reach the target after 1 and 3 months, two never do
+        int[] histogram = new int[6 + 2];
+        histogram[1] = 1;
+        histogram[3] = 1;
+        histogram[7] = 2;
+        Simulation simulation = new Simulation(4, 6, histogram, 2);
+
+        assertEquals(1, simulation.percentileMonth(0.0));
+        assertEquals(1, simulation.percentileMonth(0.25));
+        assertEquals(3, simulation.percentileMonth(0.5));
+        assertEquals(-1, simulation.percentileMonth(0.75));
+        assertEquals(0, simulation.probabilityWithin(0));
+        assertEquals(0, simulation.probabilityWithin(-5));
+        assertEquals(0.25, simulation.probabilityWithin(2));
+        assertEquals(0.5, simulation.probabilityWithin(3));
+        // Months past the horizon are capped at it
+        assertEquals(0.5, simulation.probabilityWithin(1_000));
+        assertEquals(0, new Simulation(0, 6, new int[8], 0).probabilityWithin(6));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.insightservice.client;
+
+import com.example.insightservice.dto.external.TransactionDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a user-finance transaction list: Map tree + per-field toString() (the previous
+ * client code) against the streaming decoder, both into a list and aggregating on the fly,
+ * and the same list encoded as Smile. Payload sizes are printed at setup; run with -prof gc
+ * to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExternalDtoDecoderBenchmark {
+
+    @Param({"100", "10000"})
+    private int transactions;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SmileFactory smileFactory = new SmileFactory();
+    private byte[] payload;
+    private byte[] smilePayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"transactions\":[");
+        for (int i = 0; i < transactions; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                .append(",\"userId\":42,\"amount\":").append(10 + i % 500).append(".25")
+                .append(",\"description\":\"Transaction ").append(i).append('"')
+                .append(",\"category\":{\"id\":").append(i % 12).append(",\"name\":\"Category\",\"type\":\"EXPENSE\"}")
+                .append(",\"type\":\"").append(i % 5 == 0 ? "INCOME" : "EXPENSE").append('"')
+                .append(",\"transactionDate\":\"2025-03-14\",\"notes\":null")
+                .append(",\"createdAt\":\"2025-03-14T10:15:30\"}");
+        }
+        json.append("],\"count\":").append(transactions).append('}');
+        payload = json.toString().getBytes();
+        smilePayload = new ObjectMapper(smileFactory).writeValueAsBytes(objectMapper.readTree(payload));
+        System.out.printf("%d transactions: JSON %d bytes, Smile %d bytes%n", transactions, payload.length, smilePayload.length);
+    }
+
+    @Benchmark
+    public List<TransactionDto> mapTree() throws IOException {
+        Map<String, Object> body = objectMapper.readValue(payload, new TypeReference<Map<String, Object>>() {});
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> maps = (List<Map<String, Object>>) body.get("transactions");
+        List<TransactionDto> result = new ArrayList<>(maps.size());
+        for (Map<String, Object> map : maps) {
+            TransactionDto dto = new TransactionDto();
+            if (map.get("id") != null) {
+                dto.setId(Long.valueOf(map.get("id").toString()));
+            }
+            if (map.get("userId") != null) {
+                dto.setUserId(Long.valueOf(map.get("userId").toString()));
+            }
+            if (map.get("amount") != null) {
+                dto.setAmount(new BigDecimal(map.get("amount").toString()));
+            }
+            if (map.get("type") != null) {
+                dto.setType(map.get("type").toString());
+            }
+            if (map.get("description") != null) {
+                dto.setDescription(map.get("description").toString());
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TransactionDto> streamingList() throws IOException {
+        List<TransactionDto> result = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            ExternalDtoDecoder.forEachElement(parser, "transactions",
+                element -> result.add(ExternalDtoDecoder.readTransaction(element)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TransactionDto> streamingSmileList() throws IOException {
+        List<TransactionDto> result = new ArrayList<>();
+        try (JsonParser parser = smileFactory.createParser(smilePayload)) {
+            ExternalDtoDecoder.forEachElement(parser, "transactions",
+                element -> result.add(ExternalDtoDecoder.readTransaction(element)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BigDecimal streamingAggregate() throws IOException {
+        BigDecimal[] total = {BigDecimal.ZERO};
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            ExternalDtoDecoder.forEachElement(parser, "transactions", element -> {
+                TransactionDto dto = ExternalDtoDecoder.readTransaction(element);
+                if ("EXPENSE".equals(dto.getType())) {
+                    total[0] = total[0].add(dto.getAmount());
+                }
+            });
+        }
+        return total[0];
+    }
+}
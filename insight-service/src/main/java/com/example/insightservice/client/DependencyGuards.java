@@ -0,0 +1,79 @@
+package com.example.insightservice.client;
+
+import com.example.insightservice.metrics.InsightMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link DependencyGuard} per downstream service, shared by every client that calls it
+ */
+@Component
+public class DependencyGuards {
+
+    @Autowired
+    private InsightMetrics metrics;
+
+    @Value("${insight.clients.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${insight.clients.breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${insight.clients.breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${insight.clients.breaker.open-duration-ms:10000}")
+    private long openDurationMs;
+
+    @Value("${insight.clients.bulkhead.max-concurrent-calls:32}")
+    private int maxConcurrentCalls;
+
+    @Value("${insight.clients.bulkhead.max-wait-ms:100}")
+    private long maxWaitMs;
+
+    @Value("${insight.clients.stale-cache.max-entries:10000}")
+    private int staleCacheMaxEntries;
+
+    private final ConcurrentHashMap<String, DependencyGuard> guards = new ConcurrentHashMap<>();
+
+    public DependencyGuard forDependency(String dependency) {
+        return guards.computeIfAbsent(dependency, name -> {
+            DependencyGuard guard = new DependencyGuard(name, new DependencyGuard.Settings(
+                    windowSize, minimumCalls, failureRateThreshold, openDurationMs, maxConcurrentCalls, maxWaitMs));
+            metrics.registerDependencyGuard(guard);
+            return guard;
+        });
+    }
+
+    public <K, V> StaleCache<K, V> newStaleCache() {
+        return new StaleCache<>(staleCacheMaxEntries);
+    }
+
+    /**
+     * Fail a rejected or failed call, attaching the last known good value when there is one. Never returns normally;
+     * callers such as {@code FanOutExecutor} serve the stale value but still report the dependency as degraded.
+     */
+    public <K, V> V unavailable(DependencyGuard guard, StaleCache<K, V> staleCache, K key,
+                                DependencyGuard.Rejection rejection, RuntimeException cause) {
+        if (cause != null) {
+            System.err.println("Error calling " + guard.getName() + ": " + cause.getMessage());
+        }
+        V stale = staleCache.get(key);
+        metrics.recordClientFallback(guard.getName(), rejection, stale != null);
+        throw new DependencyUnavailableException(guard.getName(), rejection, stale, cause);
+    }
+
+    /**
+     * Answer a rejected or failed call with the default, for calls that have no last known good value
+     */
+    public <V> V fallback(DependencyGuard guard, V defaultValue, DependencyGuard.Rejection rejection, RuntimeException cause) {
+        if (cause != null) {
+            System.err.println("Error calling " + guard.getName() + ": " + cause.getMessage());
+        }
+        metrics.recordClientFallback(guard.getName(), rejection, false);
+        return defaultValue;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.insightservice.client;
+
+/**
+ * Thrown when a guarded call was rejected or failed. Carries the last known good value, if any,
+ * so callers that can live with stale data may still use it while reporting the dependency as degraded.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    private final String dependency;
+    private final DependencyGuard.Rejection rejection;
+    private final transient Object staleValue;
+
+    public DependencyUnavailableException(String dependency, DependencyGuard.Rejection rejection,
+                                          Object staleValue, Throwable cause) {
+        super(dependency + " unavailable (" + rejection.name().toLowerCase()
+                + (staleValue != null ? ", last known good value available" : "") + ")", cause);
+        this.dependency = dependency;
+        this.rejection = rejection;
+        this.staleValue = staleValue;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public DependencyGuard.Rejection getRejection() {
+        return rejection;
+    }
+
+    /**
+     * Last known good value for the failed call, or null when there is none
+     */
+    public Object getStaleValue() {
+        return staleValue;
+    }
+}
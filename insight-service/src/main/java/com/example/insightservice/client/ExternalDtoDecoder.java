@@ -0,0 +1,263 @@
+package com.example.insightservice.client;
+
+import com.example.insightservice.dto.external.GoalDto;
+import com.example.insightservice.dto.external.TransactionDto;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-level decoding of upstream list responses straight into DTOs.
+ *
+ * Walks the response envelope with a streaming parser, skips everything except the
+ * requested array and decodes each element field by field, so no intermediate
+ * Map/List tree or per-field toString() round trip is ever built. Nested category objects
+ * are reduced to their id. Smile (binary JSON) bodies produce the same token stream, so
+ * both encodings share one decoder. A value that cannot be converted (a bad date or number)
+ * is reported as a JsonParseException naming the field, like any other malformed body.
+ */
+final class ExternalDtoDecoder {
+
+    @FunctionalInterface
+    interface ElementHandler {
+        void handle(JsonParser parser) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface ElementReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Elements of a batch response grouped by userId, plus the cursor for the next page (null when done)
+     */
+    record GroupedPage<T>(Map<Long, List<T>> groups, Long nextCursor) {
+    }
+
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+
+    private ExternalDtoDecoder() {
+    }
+
+    /**
+     * Parser for the response body in whatever encoding the upstream chose
+     */
+    static JsonParser createParser(ObjectMapper objectMapper, ClientHttpResponse response) throws IOException {
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null && SMILE.isCompatibleWith(contentType)) {
+            return SMILE_FACTORY.createParser(response.getBody());
+        }
+        return objectMapper.getFactory().createParser(response.getBody());
+    }
+
+    /**
+     * Position the parser on each object in the named top-level array and hand it to the handler.
+     * Returns the envelope's nextCursor for paginated responses, or null.
+     */
+    static String forEachElement(JsonParser parser, String arrayField, ElementHandler handler) throws IOException {
+        String nextCursor = null;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("nextCursor".equals(field)) {
+                nextCursor = readText(parser);
+                continue;
+            }
+            if (!arrayField.equals(field) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                handler.handle(parser);
+            }
+        }
+        return nextCursor;
+    }
+
+    /**
+     * Decode a batch envelope whose named field maps userId to an array of elements
+     */
+    static <T> GroupedPage<T> readGroupedPage(JsonParser parser, String groupField, ElementReader<T> reader) throws IOException {
+        Map<Long, List<T>> groups = new LinkedHashMap<>();
+        Long nextCursor = null;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return new GroupedPage<>(groups, null);
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("nextCursor".equals(field)) {
+                try {
+                    nextCursor = readLong(parser);
+                } catch (NumberFormatException e) {
+                    throw malformed(parser, field, e);
+                }
+            } else if (groupField.equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    Long userId;
+                    try {
+                        userId = Long.valueOf(parser.currentName());
+                    } catch (NumberFormatException e) {
+                        throw malformed(parser, field, e);
+                    }
+                    List<T> elements = new ArrayList<>();
+                    if (parser.nextToken() == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            elements.add(reader.read(parser));
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                    groups.put(userId, elements);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new GroupedPage<>(groups, nextCursor);
+    }
+
+    static TransactionDto readTransaction(JsonParser parser) throws IOException {
+        TransactionDto dto = new TransactionDto();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            try {
+                switch (field) {
+                    case "id" -> dto.setId(readLong(parser));
+                    case "userId" -> dto.setUserId(readLong(parser));
+                    case "categoryId" -> dto.setCategoryId(readLong(parser));
+                    case "category" -> {
+                        Long categoryId = readNestedId(parser);
+                        if (dto.getCategoryId() == null) {
+                            dto.setCategoryId(categoryId);
+                        }
+                    }
+                    case "goalId" -> dto.setGoalId(readLong(parser));
+                    case "amount" -> dto.setAmount(readDecimal(parser));
+                    case "type" -> dto.setType(readText(parser));
+                    case "description" -> dto.setDescription(readText(parser));
+                    case "transactionDate" -> dto.setTransactionDate(readDateTime(parser));
+                    case "createdAt" -> dto.setCreatedAt(readDateTime(parser));
+                    default -> parser.skipChildren();
+                }
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw malformed(parser, field, e);
+            }
+        }
+        return dto;
+    }
+
+    static GoalDto readGoal(JsonParser parser) throws IOException {
+        GoalDto dto = new GoalDto();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            try {
+                switch (field) {
+                    case "id" -> dto.setId(readLong(parser));
+                    case "userId" -> dto.setUserId(readLong(parser));
+                    case "categoryId" -> dto.setCategoryId(readLong(parser));
+                    case "category" -> {
+                        Long categoryId = readNestedId(parser);
+                        if (dto.getCategoryId() == null) {
+                            dto.setCategoryId(categoryId);
+                        }
+                    }
+                    // Goal Service calls the name "title"
+                    case "title" -> dto.setName(readText(parser));
+                    case "description" -> dto.setDescription(readText(parser));
+                    case "targetAmount" -> dto.setTargetAmount(readDecimal(parser));
+                    case "currentAmount" -> dto.setCurrentAmount(readDecimal(parser));
+                    case "targetDate" -> {
+                        String text = readText(parser);
+                        dto.setTargetDate(text != null ? LocalDate.parse(text) : null);
+                    }
+                    case "status" -> dto.setStatus(readText(parser));
+                    case "priority", "priorityLevel" -> dto.setPriority(readText(parser));
+                    case "createdAt" -> dto.setCreatedAt(readDateTime(parser));
+                    default -> parser.skipChildren();
+                }
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw malformed(parser, field, e);
+            }
+        }
+        return dto;
+    }
+
+    private static Long readLong(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_STRING -> Long.valueOf(parser.getText());
+            default -> null;
+        };
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDecimalValue();
+            case VALUE_STRING -> new BigDecimal(parser.getText());
+            default -> null;
+        };
+    }
+
+    private static String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static LocalDateTime readDateTime(JsonParser parser) throws IOException {
+        String text = readText(parser);
+        if (text == null) {
+            return null;
+        }
+        return text.indexOf('T') >= 0 ? LocalDateTime.parse(text) : LocalDate.parse(text).atStartOfDay();
+    }
+
+    private static JsonParseException malformed(JsonParser parser, String field, RuntimeException cause) {
+        return new JsonParseException(parser, "Malformed value for \"" + field + "\": " + cause.getMessage(), cause);
+    }
+
+    private static Long readNestedId(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Long id = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("id".equals(field)) {
+                id = readLong(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return id;
+    }
+}
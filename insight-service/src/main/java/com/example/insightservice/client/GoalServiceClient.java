@@ -1,19 +1,32 @@
 package com.example.insightservice.client;
 
 import com.example.insightservice.dto.external.GoalDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Service
 public class GoalServiceClient {
@@ -21,64 +34,190 @@ public class GoalServiceClient {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Value("${services.goal-service.url:http://localhost:8083}")
     private String goalServiceUrl;
 
+    @Value("${insight.clients.binary-transport.enabled:true}")
+    private boolean binaryTransport;
+
+    @Value("${insight.clients.batch-size:500}")
+    private int batchSize;
+
+    @Value("${insight.clients.single-flight-ttl-ms:2000}")
+    private long singleFlightTtlMs;
+
+    @Autowired
+    private DependencyGuards guards;
+
+    private SingleFlight<Long, List<GoalDto>> goalsFlight;
+    private DependencyGuard guard;
+    private StaleCache<Long, List<GoalDto>> staleGoals;
+    private StaleCache<Long, GoalDto> staleGoalsById;
+    private StaleCache<String, List<Map<String, Object>>> staleCategories;
+
+    @PostConstruct
+    void initSingleFlight() {
+        goalsFlight = new SingleFlight<>(singleFlightTtlMs);
+        guard = guards.forDependency("goal-service");
+        staleGoals = guards.newStaleCache();
+        staleGoalsById = guards.newStaleCache();
+        staleCategories = guards.newStaleCache();
+    }
+
+    /**
+     * Concurrent calls for the same user share one request, and the result is reused for a short TTL.
+     * While Goal Service is failing or saturated a {@link DependencyUnavailableException} carrying the
+     * last good list is thrown, so callers can serve it while flagging the answer as degraded.
+     */
     public List<GoalDto> getUserGoals(Long userId) {
-        try {
-            String url = goalServiceUrl + "/goals/user/" + userId;
+        return goalsFlight.get(userId, () -> guard.call(() -> {
+            List<GoalDto> goals = fetchUserGoals(userId);
+            staleGoals.put(userId, goals);
+            return goals;
+        }, (rejection, cause) -> guards.unavailable(guard, staleGoals, userId, rejection, cause)));
+    }
 
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
+    /**
+     * Stream a user's goals to the consumer one at a time, without holding the full list.
+     * Follows Goal Service's keyset pages until the last one.
+     */
+    public void forEachUserGoal(Long userId, Consumer<GoalDto> consumer) {
+        String cursor = null;
+        do {
+            UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(goalServiceUrl + "/goals/user/" + userId)
+                .queryParam("limit", batchSize);
+            if (cursor != null) {
+                uri.queryParam("cursor", cursor);
+            }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
+            cursor = restTemplate.execute(uri.toUriString(), HttpMethod.GET, acceptCompact(), response -> {
+                try (JsonParser parser = ExternalDtoDecoder.createParser(objectMapper, response)) {
+                    return ExternalDtoDecoder.forEachElement(parser, "goals",
+                        element -> consumer.accept(ExternalDtoDecoder.readGoal(element)));
+                }
+            });
+        } while (cursor != null);
+    }
 
-                if (responseBody.get("goals") instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> goalMaps = (List<Map<String, Object>>) responseBody.get("goals");
+    private List<GoalDto> fetchUserGoals(Long userId) {
+        List<GoalDto> goals = new ArrayList<>();
+        forEachUserGoal(userId, goals::add);
+        return Collections.unmodifiableList(goals);
+    }
 
-                    return goalMaps.stream()
-                        .map(this::mapToGoalDto)
-                        .toList();
+    /**
+     * Goals for many users, posted {@code insight.clients.batch-size} users per call, plus follow-up calls
+     * when Goal Service cuts a response short at its row budget. Users whose chunk could not be fetched are
+     * absent from the result; users without goals map to an empty list.
+     */
+    public Map<Long, List<GoalDto>> getGoalsForUsers(Collection<Long> userIds) {
+        Map<Long, List<GoalDto>> result = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(new TreeSet<>(userIds));
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            // Ids go in the body: a few hundred of them would push the URL past the server's header limit
+            List<Long> remaining = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            while (!remaining.isEmpty()) {
+                ExternalDtoDecoder.GroupedPage<GoalDto> page =
+                    fetchGroupedPage(goalServiceUrl + "/goals/batch", HttpMethod.POST, postUserIds(remaining));
+                if (page == null) {
+                    break;
                 }
+                result.putAll(page.groups());
+                // The page stopped at the row budget: ask again for the ids after the last user it covered
+                Long cursor = page.nextCursor();
+                remaining = cursor == null ? List.of() : remaining.stream().filter(id -> id > cursor).toList();
             }
-
-            return List.of();
-        } catch (RestClientException e) {
-            System.err.println("Error calling Goal Service: " + e.getMessage());
-            return List.of();
         }
+        return result;
+    }
+
+    /**
+     * Page through every user with goals in [fromUserId, toUserId] (nulls are open ends), handing each
+     * user's goals to the consumer. Returns false if Goal Service failed before the range was finished.
+     */
+    public boolean forEachUserGoalsInRange(Long fromUserId, Long toUserId, BiConsumer<Long, List<GoalDto>> consumer) {
+        Long after = null;
+        do {
+            UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(goalServiceUrl + "/goals/batch/range")
+                .queryParam("limit", batchSize);
+            if (fromUserId != null) {
+                uri.queryParam("fromUserId", fromUserId);
+            }
+            if (toUserId != null) {
+                uri.queryParam("toUserId", toUserId);
+            }
+            if (after != null) {
+                uri.queryParam("after", after);
+            }
+            ExternalDtoDecoder.GroupedPage<GoalDto> page = fetchGroupedPage(uri.toUriString(), HttpMethod.GET, acceptCompact());
+            if (page == null) {
+                return false;
+            }
+            page.groups().forEach(consumer);
+            after = page.nextCursor();
+        } while (after != null);
+        return true;
+    }
+
+    private ExternalDtoDecoder.GroupedPage<GoalDto> fetchGroupedPage(String url, HttpMethod method, RequestCallback callback) {
+        return guard.call(() -> restTemplate.execute(url, method, callback, response -> {
+            try (JsonParser parser = ExternalDtoDecoder.createParser(objectMapper, response)) {
+                return ExternalDtoDecoder.readGroupedPage(parser, "goalsByUser", ExternalDtoDecoder::readGoal);
+            }
+        }), (rejection, cause) -> guards.fallback(guard, null, rejection, cause));
+    }
+
+    /**
+     * List endpoints are asked for Smile first; JSON stays acceptable for upstreams that don't offer it
+     */
+    private RequestCallback acceptCompact() {
+        return request -> request.getHeaders().setAccept(acceptedTypes());
+    }
+
+    private RequestCallback postUserIds(List<Long> userIds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(acceptedTypes());
+        return restTemplate.httpEntityCallback(new HttpEntity<>(Map.of("userIds", userIds), headers));
+    }
+
+    private List<MediaType> acceptedTypes() {
+        return binaryTransport
+            ? List.of(ExternalDtoDecoder.SMILE, MediaType.APPLICATION_JSON)
+            : List.of(MediaType.APPLICATION_JSON);
     }
 
     public GoalDto getGoalById(Long goalId) {
-        try {
+        return guard.call(() -> {
             String url = goalServiceUrl + "/goals/" + goalId;
 
-            ResponseEntity<GoalDto> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                GoalDto.class
-            );
+            ResponseEntity<GoalDto> response;
+            try {
+                response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    GoalDto.class
+                );
+            } catch (HttpClientErrorException.NotFound e) {
+                // An unknown goal is a valid answer, not a failure of Goal Service
+                return null;
+            }
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                staleGoalsById.put(goalId, response.getBody());
                 return response.getBody();
             }
 
             return null;
-        } catch (RestClientException e) {
-            System.err.println("Error calling Goal Service for goal " + goalId + ": " + e.getMessage());
-            return null;
-        }
+        }, (rejection, cause) -> guards.unavailable(guard, staleGoalsById, goalId, rejection, cause));
     }
 
     public List<Map<String, Object>> getAllGoalCategories() {
-        try {
+        return guard.call(() -> {
             String url = goalServiceUrl + "/api/goal-categories";
 
             ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
@@ -94,55 +233,12 @@ public class GoalServiceClient {
                 if (responseBody.get("categories") instanceof List) {
                     @SuppressWarnings("unchecked")
                     List<Map<String, Object>> categories = (List<Map<String, Object>>) responseBody.get("categories");
+                    staleCategories.put("all", categories);
                     return categories;
                 }
             }
 
-            return List.of();
-        } catch (RestClientException e) {
-            System.err.println("Error calling Goal Service for categories: " + e.getMessage());
-            return List.of();
-        }
-    }
-
-    private GoalDto mapToGoalDto(Map<String, Object> goalMap) {
-        GoalDto dto = new GoalDto();
-
-        if (goalMap.get("id") != null) {
-            dto.setId(Long.valueOf(goalMap.get("id").toString()));
-        }
-        if (goalMap.get("userId") != null) {
-            dto.setUserId(Long.valueOf(goalMap.get("userId").toString()));
-        }
-        if (goalMap.get("categoryId") != null) {
-            dto.setCategoryId(Long.valueOf(goalMap.get("categoryId").toString()));
-        }
-        // Fixed: Changed from "name" to "title" to match Goal Service response
-        if (goalMap.get("title") != null) {
-            dto.setName(goalMap.get("title").toString());
-        }
-        if (goalMap.get("description") != null) {
-            dto.setDescription(goalMap.get("description").toString());
-        }
-        if (goalMap.get("targetAmount") != null) {
-            dto.setTargetAmount(new java.math.BigDecimal(goalMap.get("targetAmount").toString()));
-        }
-        if (goalMap.get("currentAmount") != null) {
-            dto.setCurrentAmount(new java.math.BigDecimal(goalMap.get("currentAmount").toString()));
-        }
-        if (goalMap.get("targetDate") != null) {
-            dto.setTargetDate(LocalDate.parse(goalMap.get("targetDate").toString()));
-        }
-        if (goalMap.get("status") != null) {
-            dto.setStatus(goalMap.get("status").toString());
-        }
-        if (goalMap.get("priority") != null) {
-            dto.setPriority(goalMap.get("priority").toString());
-        }
-        if (goalMap.get("createdAt") != null) {
-            dto.setCreatedAt(LocalDateTime.parse(goalMap.get("createdAt").toString()));
-        }
-
-        return dto;
+            return List.<Map<String, Object>>of();
+        }, (rejection, cause) -> guards.unavailable(guard, staleCategories, "all", rejection, cause));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.example.insightservice.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical fetches.
+ *
+ * The first caller for a key runs the loader; callers arriving while it is in flight wait on
+ * the same future instead of issuing their own request. A successful result is then reused
+ * for a short TTL. Failures are handed to every waiter but never retained, so the next
+ * caller retries.
+ */
+public class SingleFlight<K, V> {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight(long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = System.nanoTime();
+        Flight<V> flight = flights.get(key);
+        if (flight == null || flight.isExpired(now)) {
+            Flight<V> created = new Flight<>();
+            flight = flights.compute(key, (k, existing) ->
+                    existing == null || existing.isExpired(now) ? created : existing);
+            if (flight == created) {
+                load(key, created, loader);
+            }
+        }
+        return await(flight.future);
+    }
+
+    public void invalidate(K key) {
+        flights.remove(key);
+    }
+
+    private void load(K key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.expiresAtNanos = System.nanoTime() + ttlNanos;
+            flight.future.complete(value);
+        } catch (Throwable e) {
+            // Errors too, or waiters would block on a future that never completes
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(e);
+        }
+        if (flights.size() > PRUNE_THRESHOLD) {
+            long now = System.nanoTime();
+            flights.values().removeIf(f -> f.isExpired(now));
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Flight<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        boolean isExpired(long nowNanos) {
+            return future.isDone() && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
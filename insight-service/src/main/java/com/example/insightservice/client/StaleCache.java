@@ -0,0 +1,30 @@
+package com.example.insightservice.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded last-known-good store for downstream responses, served while a dependency is
+ * unavailable. Least recently used keys are dropped once the bound is reached.
+ */
+public class StaleCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    public StaleCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+}
@@ -1,17 +1,33 @@
 package com.example.insightservice.client;
 
 import com.example.insightservice.dto.external.TransactionDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 @Service
 public class UserFinanceServiceClient {
@@ -19,42 +35,159 @@ public class UserFinanceServiceClient {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Value("${services.user-finance.url:http://localhost:8082}")
     private String userFinanceServiceUrl;
 
+    @Value("${insight.clients.binary-transport.enabled:true}")
+    private boolean binaryTransport;
+
+    @Value("${insight.clients.batch-size:500}")
+    private int batchSize;
+
+    @Value("${insight.clients.single-flight-ttl-ms:2000}")
+    private long singleFlightTtlMs;
+
+    @Autowired
+    private DependencyGuards guards;
+
+    private SingleFlight<Long, List<TransactionDto>> transactionsFlight;
+    private DependencyGuard guard;
+    private StaleCache<Long, List<TransactionDto>> staleTransactions;
+    private StaleCache<Long, Map<String, Object>> staleSummaries;
+    private StaleCache<Long, Map<Long, BigDecimal>> staleCategoryTotals;
+    private StaleCache<String, List<Map<String, Object>>> staleCategories;
+
+    @PostConstruct
+    void initSingleFlight() {
+        transactionsFlight = new SingleFlight<>(singleFlightTtlMs);
+        guard = guards.forDependency("user-finance");
+        staleTransactions = guards.newStaleCache();
+        staleSummaries = guards.newStaleCache();
+        staleCategoryTotals = guards.newStaleCache();
+        staleCategories = guards.newStaleCache();
+    }
+
+    /**
+     * Concurrent calls for the same user share one request, and the result is reused for a short TTL.
+     * While User Finance Service is failing or saturated a {@link DependencyUnavailableException} carrying the
+     * last good list is thrown, so callers can serve it while flagging the answer as degraded.
+     */
     public List<TransactionDto> getUserTransactions(Long userId) {
-        try {
-            String url = userFinanceServiceUrl + "/finance/transactions/user/" + userId;
+        return transactionsFlight.get(userId, () -> guard.call(() -> {
+            List<TransactionDto> transactions = fetchUserTransactions(userId);
+            staleTransactions.put(userId, transactions);
+            return transactions;
+        }, (rejection, cause) -> guards.unavailable(guard, staleTransactions, userId, rejection, cause)));
+    }
 
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
+    /**
+     * Stream a user's transactions to the consumer one at a time, without holding the full list
+     */
+    public void forEachUserTransaction(Long userId, Consumer<TransactionDto> consumer) {
+        String url = userFinanceServiceUrl + "/finance/transactions/user/" + userId;
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
+        restTemplate.execute(url, HttpMethod.GET, acceptCompact(), response -> {
+            try (JsonParser parser = ExternalDtoDecoder.createParser(objectMapper, response)) {
+                ExternalDtoDecoder.forEachElement(parser, "transactions",
+                    element -> consumer.accept(ExternalDtoDecoder.readTransaction(element)));
+            }
+            return null;
+        });
+    }
 
-                if (responseBody.get("transactions") instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> transactionMaps = (List<Map<String, Object>>) responseBody.get("transactions");
+    private List<TransactionDto> fetchUserTransactions(Long userId) {
+        List<TransactionDto> transactions = new ArrayList<>();
+        forEachUserTransaction(userId, transactions::add);
+        return Collections.unmodifiableList(transactions);
+    }
 
-                    return transactionMaps.stream()
-                        .map(this::mapToTransactionDto)
-                        .toList();
+    /**
+     * Transactions for many users, posted {@code insight.clients.batch-size} users per call, plus follow-up calls
+     * when User Finance Service cuts a response short at its row budget. Users whose chunk could not be fetched are
+     * absent from the result; users without transactions map to an empty list.
+     */
+    public Map<Long, List<TransactionDto>> getTransactionsForUsers(Collection<Long> userIds) {
+        Map<Long, List<TransactionDto>> result = new LinkedHashMap<>();
+        List<Long> ids = new ArrayList<>(new TreeSet<>(userIds));
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            // Ids go in the body: a few hundred of them would push the URL past the server's header limit
+            List<Long> remaining = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            while (!remaining.isEmpty()) {
+                ExternalDtoDecoder.GroupedPage<TransactionDto> page =
+                    fetchGroupedPage(userFinanceServiceUrl + "/finance/transactions/batch", HttpMethod.POST, postUserIds(remaining));
+                if (page == null) {
+                    break;
                 }
+                result.putAll(page.groups());
+                // The page stopped at the row budget: ask again for the ids after the last user it covered
+                Long cursor = page.nextCursor();
+                remaining = cursor == null ? List.of() : remaining.stream().filter(id -> id > cursor).toList();
             }
-
-            return List.of();
-        } catch (RestClientException e) {
-            System.err.println("Error calling User Finance Service: " + e.getMessage());
-            return List.of();
         }
+        return result;
+    }
+
+    /**
+     * Page through every user with transactions in [fromUserId, toUserId] (nulls are open ends), handing each
+     * user's transactions to the consumer. Returns false if User Finance Service failed before the range was finished.
+     */
+    public boolean forEachUserTransactionsInRange(Long fromUserId, Long toUserId, BiConsumer<Long, List<TransactionDto>> consumer) {
+        Long after = null;
+        do {
+            UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(userFinanceServiceUrl + "/finance/transactions/batch/range")
+                .queryParam("limit", batchSize);
+            if (fromUserId != null) {
+                uri.queryParam("fromUserId", fromUserId);
+            }
+            if (toUserId != null) {
+                uri.queryParam("toUserId", toUserId);
+            }
+            if (after != null) {
+                uri.queryParam("after", after);
+            }
+            ExternalDtoDecoder.GroupedPage<TransactionDto> page = fetchGroupedPage(uri.toUriString(), HttpMethod.GET, acceptCompact());
+            if (page == null) {
+                return false;
+            }
+            page.groups().forEach(consumer);
+            after = page.nextCursor();
+        } while (after != null);
+        return true;
+    }
+
+    private ExternalDtoDecoder.GroupedPage<TransactionDto> fetchGroupedPage(String url, HttpMethod method, RequestCallback callback) {
+        return guard.call(() -> restTemplate.execute(url, method, callback, response -> {
+            try (JsonParser parser = ExternalDtoDecoder.createParser(objectMapper, response)) {
+                return ExternalDtoDecoder.readGroupedPage(parser, "transactionsByUser", ExternalDtoDecoder::readTransaction);
+            }
+        }), (rejection, cause) -> guards.fallback(guard, null, rejection, cause));
+    }
+
+    /**
+     * List endpoints are asked for Smile first; JSON stays acceptable for upstreams that don't offer it
+     */
+    private RequestCallback acceptCompact() {
+        return request -> request.getHeaders().setAccept(acceptedTypes());
+    }
+
+    private RequestCallback postUserIds(List<Long> userIds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(acceptedTypes());
+        return restTemplate.httpEntityCallback(new HttpEntity<>(Map.of("userIds", userIds), headers));
+    }
+
+    private List<MediaType> acceptedTypes() {
+        return binaryTransport
+            ? List.of(ExternalDtoDecoder.SMILE, MediaType.APPLICATION_JSON)
+            : List.of(MediaType.APPLICATION_JSON);
     }
 
     public Map<String, Object> getUserTransactionSummary(Long userId) {
-        try {
+        return guard.call(() -> {
             String url = userFinanceServiceUrl + "/finance/transactions/user/" + userId + "/summary";
 
             ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
@@ -65,18 +198,47 @@ public class UserFinanceServiceClient {
             );
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                staleSummaries.put(userId, response.getBody());
                 return response.getBody();
             }
 
-            return Map.of("success", false, "message", "Failed to fetch transaction summary");
-        } catch (RestClientException e) {
-            System.err.println("Error calling User Finance Service for summary: " + e.getMessage());
-            return Map.of("success", false, "message", "Service unavailable", "error", e.getMessage());
-        }
+            return Map.<String, Object>of("success", false, "message", "Failed to fetch transaction summary");
+        }, (rejection, cause) -> guards.unavailable(guard, staleSummaries, userId, rejection, cause));
+    }
+
+    /**
+     * Expense totals per categoryId, aggregated by User Finance Service instead of shipping every transaction
+     */
+    public Map<Long, BigDecimal> getUserExpenseTotalsByCategory(Long userId) {
+        return guard.call(() -> {
+            String url = userFinanceServiceUrl + "/finance/transactions/user/" + userId + "/category-totals?type=EXPENSE";
+
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<Map<String, Object>>() {}
+            );
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null
+                    && response.getBody().get("categoryTotals") instanceof List<?> rows) {
+                Map<Long, BigDecimal> totals = new HashMap<>();
+                for (Object row : rows) {
+                    if (row instanceof Map<?, ?> total && total.get("categoryId") != null && total.get("totalAmount") != null) {
+                        totals.merge(Long.valueOf(total.get("categoryId").toString()),
+                            new BigDecimal(total.get("totalAmount").toString()), BigDecimal::add);
+                    }
+                }
+                staleCategoryTotals.put(userId, totals);
+                return totals;
+            }
+
+            return Map.<Long, BigDecimal>of();
+        }, (rejection, cause) -> guards.unavailable(guard, staleCategoryTotals, userId, rejection, cause));
     }
 
     public List<Map<String, Object>> getAllCategories() {
-        try {
+        return guard.call(() -> {
             String url = userFinanceServiceUrl + "/finance/categories";
 
             ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
@@ -92,42 +254,12 @@ public class UserFinanceServiceClient {
                 if (responseBody.get("categories") instanceof List) {
                     @SuppressWarnings("unchecked")
                     List<Map<String, Object>> categories = (List<Map<String, Object>>) responseBody.get("categories");
+                    staleCategories.put("all", categories);
                     return categories;
                 }
             }
 
-            return List.of();
-        } catch (RestClientException e) {
-            System.err.println("Error calling User Finance Service for categories: " + e.getMessage());
-            return List.of();
-        }
-    }
-
-    private TransactionDto mapToTransactionDto(Map<String, Object> transactionMap) {
-        TransactionDto dto = new TransactionDto();
-
-        if (transactionMap.get("id") != null) {
-            dto.setId(Long.valueOf(transactionMap.get("id").toString()));
-        }
-        if (transactionMap.get("userId") != null) {
-            dto.setUserId(Long.valueOf(transactionMap.get("userId").toString()));
-        }
-        if (transactionMap.get("categoryId") != null) {
-            dto.setCategoryId(Long.valueOf(transactionMap.get("categoryId").toString()));
-        }
-        if (transactionMap.get("goalId") != null) {
-            dto.setGoalId(Long.valueOf(transactionMap.get("goalId").toString()));
-        }
-        if (transactionMap.get("amount") != null) {
-            dto.setAmount(new java.math.BigDecimal(transactionMap.get("amount").toString()));
-        }
-        if (transactionMap.get("type") != null) {
-            dto.setType(transactionMap.get("type").toString());
-        }
-        if (transactionMap.get("description") != null) {
-            dto.setDescription(transactionMap.get("description").toString());
-        }
-
-        return dto;
+            return List.<Map<String, Object>>of();
+        }, (rejection, cause) -> guards.unavailable(guard, staleCategories, "all", rejection, cause));
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,136 @@
 package com.example.insightservice.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Outbound HTTP client for calls to other services.
+ *
+ * Connections are pooled and kept alive across requests, every target has its own connect
+ * and read timeouts (falling back to the defaults), and a lease from an exhausted pool
+ * fails fast instead of queueing forever. Pool usage is exported as
+ * httpcomponents.httpclient.pool.* and request latency as http.client.requests.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.max-total:200}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.pool-acquire-timeout-ms:1000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${http.client.idle-evict-ms:30000}")
+    private long idleEvictMs;
+
+    @Value("${http.client.time-to-live-ms:300000}")
+    private long timeToLiveMs;
+
+    @Value("${services.user-finance.url:http://localhost:8082}")
+    private String userFinanceServiceUrl;
+
+    @Value("${http.client.user-finance.connect-timeout-ms:${http.client.connect-timeout-ms:2000}}")
+    private long userFinanceConnectTimeoutMs;
+
+    @Value("${http.client.user-finance.read-timeout-ms:${http.client.read-timeout-ms:5000}}")
+    private long userFinanceReadTimeoutMs;
+
+    @Value("${services.goal-service.url:http://localhost:8083}")
+    private String goalServiceUrl;
+
+    @Value("${http.client.goal-service.connect-timeout-ms:${http.client.connect-timeout-ms:2000}}")
+    private long goalServiceConnectTimeoutMs;
+
+    @Value("${http.client.goal-service.read-timeout-ms:${http.client.read-timeout-ms:5000}}")
+    private long goalServiceReadTimeoutMs;
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager httpConnectionManager(MeterRegistry meterRegistry) {
+        Map<String, ConnectionConfig> targets = new HashMap<>();
+        putTarget(targets, userFinanceServiceUrl, connectionConfig(userFinanceConnectTimeoutMs, userFinanceReadTimeoutMs));
+        putTarget(targets, goalServiceUrl, connectionConfig(goalServiceConnectTimeoutMs, goalServiceReadTimeoutMs));
+        ConnectionConfig defaults = connectionConfig(connectTimeoutMs, readTimeoutMs);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setConnectionConfigResolver(route ->
+                        targets.getOrDefault(route.getTargetHost().toHostString(), defaults))
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "insight-service").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    private ConnectionConfig connectionConfig(long connectTimeout, long readTimeout) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                .build();
+    }
+
+    /**
+     * Settings are looked up by host:port, so two services behind the same address would silently
+     * share the last one registered; refuse to start instead
+     */
+    private static void putTarget(Map<String, ConnectionConfig> targets, String url, ConnectionConfig config) {
+        String authority = authority(url);
+        if (targets.putIfAbsent(authority, config) != null) {
+            throw new IllegalStateException("Two services are configured at " + authority
+                    + "; per-service HTTP client settings need a distinct host:port for each service");
+        }
+    }
+
+    private static String authority(String url) {
+        URI uri = URI.create(url);
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        return uri.getHost() + ":" + port;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,8 @@ import com.example.insightservice.client.GoalServiceClient;
 import com.example.insightservice.client.UserFinanceServiceClient;
 import com.example.insightservice.dto.external.GoalDto;
 import com.example.insightservice.dto.external.TransactionDto;
+import com.example.insightservice.service.FanOutExecutor;
+import com.example.insightservice.service.IntegratedResponseCache;
 import com.example.insightservice.service.SpendingAnalyticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -13,11 +15,14 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/integrated")
 public class IntegratedInsightController {
 
+    private static final String CACHE_HEADER = "X-Insight-Cache";
+
     @Autowired
     private UserFinanceServiceClient userFinanceClient;
 
@@ -27,22 +32,37 @@ public class IntegratedInsightController {
     @Autowired
     private SpendingAnalyticsService analyticsService;
 
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+
+    @Autowired
+    private IntegratedResponseCache responseCache;
+
     @GetMapping("/user/{userId}/complete-overview")
     public ResponseEntity<Map<String, Object>> getCompleteUserOverview(@PathVariable Long userId) {
+        return cachedResponse("complete-overview", userId, () -> buildCompleteUserOverview(userId));
+    }
+
+    private Map<String, Object> buildCompleteUserOverview(Long userId) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            // Fetch transactions from User Finance Service
-            List<TransactionDto> transactions = userFinanceClient.getUserTransactions(userId);
-
-            // Fetch goals from Goal Service
-            List<GoalDto> goals = goalServiceClient.getUserGoals(userId);
-
-            // Fetch transaction summary
-            Map<String, Object> transactionSummary = userFinanceClient.getUserTransactionSummary(userId);
-
-            // Fetch analytics
-            Map<String, Object> analyticsSummary = analyticsService.generateSpendingSummary(userId, "MONTHLY");
+            // Fetch transactions, goals, transaction summary and analytics concurrently
+            FanOutExecutor.Scope scope = fanOutExecutor.scope();
+            FanOutExecutor.Call<List<TransactionDto>> transactionsCall = scope.fork(
+                "user-finance.transactions", () -> userFinanceClient.getUserTransactions(userId), List.of());
+            FanOutExecutor.Call<List<GoalDto>> goalsCall = scope.fork(
+                "goal-service.goals", () -> goalServiceClient.getUserGoals(userId), List.of());
+            FanOutExecutor.Call<Map<String, Object>> summaryCall = scope.fork(
+                "user-finance.summary", () -> userFinanceClient.getUserTransactionSummary(userId), Map.of());
+            FanOutExecutor.Call<Map<String, Object>> analyticsCall = scope.fork(
+                "analytics.summary", () -> analyticsService.generateSpendingSummary(userId, "MONTHLY"), Map.of());
+            scope.join();
+
+            List<TransactionDto> transactions = transactionsCall.get();
+            List<GoalDto> goals = goalsCall.get();
+            Map<String, Object> transactionSummary = summaryCall.get();
+            Map<String, Object> analyticsSummary = analyticsCall.get();
 
             // Calculate combined insights
             Map<String, Object> insights = generateCombinedInsights(transactions, goals);
@@ -54,6 +74,7 @@ public class IntegratedInsightController {
             response.put("transactionSummary", transactionSummary);
             response.put("analyticsSummary", analyticsSummary);
             response.put("combinedInsights", insights);
+            putPartialStatus(response, scope);
 
         } catch (Exception e) {
             response.put("success", false);
@@ -61,19 +82,28 @@ public class IntegratedInsightController {
             response.put("error", e.getMessage());
         }
 
-        return ResponseEntity.ok(response);
+        return response;
     }
 
     @GetMapping("/user/{userId}/goal-progress-analysis")
     public ResponseEntity<Map<String, Object>> getGoalProgressAnalysis(@PathVariable Long userId) {
+        return cachedResponse("goal-progress-analysis", userId, () -> buildGoalProgressAnalysis(userId));
+    }
+
+    private Map<String, Object> buildGoalProgressAnalysis(Long userId) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            // Fetch goals
-            List<GoalDto> goals = goalServiceClient.getUserGoals(userId);
+            // Fetch goals and transactions concurrently
+            FanOutExecutor.Scope scope = fanOutExecutor.scope();
+            FanOutExecutor.Call<List<GoalDto>> goalsCall = scope.fork(
+                "goal-service.goals", () -> goalServiceClient.getUserGoals(userId), List.of());
+            FanOutExecutor.Call<List<TransactionDto>> transactionsCall = scope.fork(
+                "user-finance.transactions", () -> userFinanceClient.getUserTransactions(userId), List.of());
+            scope.join();
 
-            // Fetch transactions
-            List<TransactionDto> transactions = userFinanceClient.getUserTransactions(userId);
+            List<GoalDto> goals = goalsCall.get();
+            List<TransactionDto> transactions = transactionsCall.get();
 
             // Calculate goal-related insights
             Map<String, Object> goalAnalysis = analyzeGoalProgress(goals, transactions);
@@ -81,6 +111,7 @@ public class IntegratedInsightController {
             response.put("success", true);
             response.put("userId", userId);
             response.put("goalAnalysis", goalAnalysis);
+            putPartialStatus(response, scope);
 
         } catch (Exception e) {
             response.put("success", false);
@@ -88,29 +119,39 @@ public class IntegratedInsightController {
             response.put("error", e.getMessage());
         }
 
-        return ResponseEntity.ok(response);
+        return response;
     }
 
     @GetMapping("/user/{userId}/spending-vs-goals")
     public ResponseEntity<Map<String, Object>> getSpendingVsGoals(@PathVariable Long userId) {
+        return cachedResponse("spending-vs-goals", userId, () -> buildSpendingVsGoals(userId));
+    }
+
+    private Map<String, Object> buildSpendingVsGoals(Long userId) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            // Fetch transactions
-            List<TransactionDto> transactions = userFinanceClient.getUserTransactions(userId);
-
-            // Fetch goals
-            List<GoalDto> goals = goalServiceClient.getUserGoals(userId);
-
-            // Fetch categories
-            List<Map<String, Object>> categories = userFinanceClient.getAllCategories();
+            // Fetch category spending totals, goals and categories concurrently
+            FanOutExecutor.Scope scope = fanOutExecutor.scope();
+            FanOutExecutor.Call<Map<Long, BigDecimal>> spendingCall = scope.fork(
+                "user-finance.category-totals", () -> userFinanceClient.getUserExpenseTotalsByCategory(userId), Map.of());
+            FanOutExecutor.Call<List<GoalDto>> goalsCall = scope.fork(
+                "goal-service.goals", () -> goalServiceClient.getUserGoals(userId), List.of());
+            FanOutExecutor.Call<List<Map<String, Object>>> categoriesCall = scope.fork(
+                "user-finance.categories", () -> userFinanceClient.getAllCategories(), List.of());
+            scope.join();
+
+            Map<Long, BigDecimal> spendingByCategory = spendingCall.get();
+            List<GoalDto> goals = goalsCall.get();
+            List<Map<String, Object>> categories = categoriesCall.get();
 
             // Calculate spending vs goals analysis
-            Map<String, Object> analysis = analyzeSpendingVsGoals(transactions, goals, categories);
+            Map<String, Object> analysis = analyzeSpendingVsGoals(spendingByCategory, goals, categories);
 
             response.put("success", true);
             response.put("userId", userId);
             response.put("spendingVsGoalsAnalysis", analysis);
+            putPartialStatus(response, scope);
 
         } catch (Exception e) {
             response.put("success", false);
@@ -118,26 +159,40 @@ public class IntegratedInsightController {
             response.put("error", e.getMessage());
         }
 
-        return ResponseEntity.ok(response);
+        return response;
     }
 
     @GetMapping("/user/{userId}/recommendations")
     public ResponseEntity<Map<String, Object>> getPersonalizedRecommendations(@PathVariable Long userId) {
+        return cachedResponse("recommendations", userId, () -> buildPersonalizedRecommendations(userId));
+    }
+
+    private Map<String, Object> buildPersonalizedRecommendations(Long userId) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            // Fetch all user data
-            List<TransactionDto> transactions = userFinanceClient.getUserTransactions(userId);
-            List<GoalDto> goals = goalServiceClient.getUserGoals(userId);
-            Map<String, Object> transactionSummary = userFinanceClient.getUserTransactionSummary(userId);
+            // Fetch category spending totals, goals and the income/expense summary concurrently
+            FanOutExecutor.Scope scope = fanOutExecutor.scope();
+            FanOutExecutor.Call<Map<Long, BigDecimal>> spendingCall = scope.fork(
+                "user-finance.category-totals", () -> userFinanceClient.getUserExpenseTotalsByCategory(userId), Map.of());
+            FanOutExecutor.Call<List<GoalDto>> goalsCall = scope.fork(
+                "goal-service.goals", () -> goalServiceClient.getUserGoals(userId), List.of());
+            FanOutExecutor.Call<Map<String, Object>> summaryCall = scope.fork(
+                "user-finance.summary", () -> userFinanceClient.getUserTransactionSummary(userId), Map.of());
+            scope.join();
+
+            Map<Long, BigDecimal> spendingByCategory = spendingCall.get();
+            List<GoalDto> goals = goalsCall.get();
+            Map<String, Object> transactionSummary = summaryCall.get();
 
             // Generate personalized recommendations
             List<Map<String, Object>> recommendations = generatePersonalizedRecommendations(
-                transactions, goals, transactionSummary);
+                spendingByCategory, goals, transactionSummary);
 
             response.put("success", true);
             response.put("userId", userId);
             response.put("recommendations", recommendations);
+            putPartialStatus(response, scope);
 
         } catch (Exception e) {
             response.put("success", false);
@@ -145,7 +200,25 @@ public class IntegratedInsightController {
             response.put("error", e.getMessage());
         }
 
-        return ResponseEntity.ok(response);
+        return response;
+    }
+
+    private ResponseEntity<Map<String, Object>> cachedResponse(String endpoint, Long userId,
+                                                               Supplier<Map<String, Object>> builder) {
+        IntegratedResponseCache.Lookup lookup = responseCache.get(endpoint, userId, builder);
+        return ResponseEntity.ok()
+            .header(CACHE_HEADER, lookup.hit() ? "HIT" : "MISS")
+            .body(lookup.body());
+    }
+
+    /**
+     * Flag responses built without one or more dependencies that failed or missed their deadline
+     */
+    private void putPartialStatus(Map<String, Object> response, FanOutExecutor.Scope scope) {
+        response.put("partial", scope.isPartial());
+        if (scope.isPartial()) {
+            response.put("degradedDependencies", scope.degradedDependencies());
+        }
     }
 
     private Map<String, Object> generateCombinedInsights(List<TransactionDto> transactions, List<GoalDto> goals) {
@@ -207,23 +280,11 @@ public class IntegratedInsightController {
         return analysis;
     }
 
-    private Map<String, Object> analyzeSpendingVsGoals(List<TransactionDto> transactions,
+    private Map<String, Object> analyzeSpendingVsGoals(Map<Long, BigDecimal> spendingByCategory,
                                                        List<GoalDto> goals,
                                                        List<Map<String, Object>> categories) {
         Map<String, Object> analysis = new HashMap<>();
 
-        // Group expenses by category
-        Map<Long, BigDecimal> spendingByCategory = transactions.stream()
-            .filter(t -> "EXPENSE".equals(t.getType()) && t.getCategoryId() != null)
-            .collect(java.util.stream.Collectors.groupingBy(
-                TransactionDto::getCategoryId,
-                java.util.stream.Collectors.reducing(
-                    BigDecimal.ZERO,
-                    TransactionDto::getAmount,
-                    BigDecimal::add
-                )
-            ));
-
         // Group goals by category
         Map<Long, List<GoalDto>> goalsByCategory = goals.stream()
             .filter(g -> g.getCategoryId() != null)
@@ -236,23 +297,12 @@ public class IntegratedInsightController {
         return analysis;
     }
 
-    private List<Map<String, Object>> generatePersonalizedRecommendations(List<TransactionDto> transactions,
+    private List<Map<String, Object>> generatePersonalizedRecommendations(Map<Long, BigDecimal> spendingByCategory,
                                                                          List<GoalDto> goals,
                                                                          Map<String, Object> transactionSummary) {
         List<Map<String, Object>> recommendations = new java.util.ArrayList<>();
 
         // Recommendation 1: High spending categories
-        Map<Long, BigDecimal> spendingByCategory = transactions.stream()
-            .filter(t -> "EXPENSE".equals(t.getType()) && t.getCategoryId() != null)
-            .collect(java.util.stream.Collectors.groupingBy(
-                TransactionDto::getCategoryId,
-                java.util.stream.Collectors.reducing(
-                    BigDecimal.ZERO,
-                    TransactionDto::getAmount,
-                    BigDecimal::add
-                )
-            ));
-
         if (!spendingByCategory.isEmpty()) {
             Long highestSpendingCategory = spendingByCategory.entrySet().stream()
                 .max(Map.Entry.comparingByValue())
@@ -284,16 +334,9 @@ public class IntegratedInsightController {
             recommendations.add(recommendation);
         }
 
-        // Recommendation 3: Savings potential
-        BigDecimal totalIncome = transactions.stream()
-            .filter(t -> "INCOME".equals(t.getType()))
-            .map(TransactionDto::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalExpenses = transactions.stream()
-            .filter(t -> "EXPENSE".equals(t.getType()))
-            .map(TransactionDto::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Recommendation 3: Savings potential, from the server-side income/expense totals
+        BigDecimal totalIncome = toBigDecimal(transactionSummary.get("totalIncome"));
+        BigDecimal totalExpenses = toBigDecimal(transactionSummary.get("totalExpense"));
 
         if (totalIncome.compareTo(BigDecimal.ZERO) > 0 && totalExpenses.compareTo(BigDecimal.ZERO) > 0) {
             BigDecimal savingsRate = totalIncome.subtract(totalExpenses).divide(totalIncome, 4, BigDecimal.ROUND_HALF_UP);
@@ -312,6 +355,10 @@ public class IntegratedInsightController {
         return recommendations;
     }
 
+    private BigDecimal toBigDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Integrated Insight Controller is running!");
@@ -3,12 +3,15 @@ package com.example.insightservice.controller;
 import com.example.insightservice.entity.UserNotification;
 import com.example.insightservice.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/notifications")
@@ -145,6 +148,11 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable Long userId) {
+        return notificationService.subscribe(userId);
+    }
+
     @PostMapping
     public ResponseEntity<Map<String, Object>> createNotification(@RequestBody UserNotification notification) {
         UserNotification created = notificationService.createNotification(notification);
@@ -172,6 +180,13 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/goal-deadline/batch")
+    public ResponseEntity<Map<String, Object>> createGoalDeadlineNotifications(
+            @RequestBody Map<String, List<Map<String, Object>>> request) {
+
+        return createBatch(request, notificationService::createGoalDeadlineNotifications);
+    }
+
     @PostMapping("/budget-exceeded")
     public ResponseEntity<Map<String, Object>> createBudgetExceededNotification(
             @RequestBody Map<String, Object> request) {
@@ -217,6 +232,13 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/goal-milestone/batch")
+    public ResponseEntity<Map<String, Object>> createGoalMilestoneNotifications(
+            @RequestBody Map<String, List<Map<String, Object>>> request) {
+
+        return createBatch(request, notificationService::createGoalMilestoneNotifications);
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<Map<String, Object>> markAsRead(@PathVariable Long id) {
         Map<String, Object> response = notificationService.markAsRead(id);
@@ -277,4 +299,12 @@ public class NotificationController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Insight Service - Notifications Controller is running!");
     }
-}
\ No newline at end of file
+
+    /**
+     * Batch endpoints post {"notifications": [...]} and answer with the service's created/skipped summary
+     */
+    private ResponseEntity<Map<String, Object>> createBatch(Map<String, List<Map<String, Object>>> request,
+                                                            Function<List<Map<String, Object>>, Map<String, Object>> creator) {
+        return ResponseEntity.ok(creator.apply(request.getOrDefault("notifications", List.of())));
+    }
+}
@@ -249,11 +249,12 @@ public class RecommendationController {
 
     @PostMapping("/cleanup-expired")
     public ResponseEntity<Map<String, Object>> cleanupExpiredRecommendations() {
-        recommendationService.cleanupExpiredRecommendations();
+        int dismissedCount = recommendationService.cleanupExpiredRecommendations();
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "Expired recommendations cleaned up successfully");
+        response.put("dismissedCount", dismissedCount);
         
         return ResponseEntity.ok(response);
     }
@@ -1,10 +1,15 @@
 package com.example.insightservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_notifications")
+@Table(name = "user_notifications", indexes = {
+        @Index(name = "idx_user_notifications_user_read", columnList = "user_id, is_read"),
+        @Index(name = "idx_user_notifications_read_created", columnList = "is_read, created_at"),
+        @Index(name = "idx_user_notifications_sent_scheduled", columnList = "sent_at, scheduled_for")
+})
 public class UserNotification {
 
     @Id
@@ -45,6 +50,17 @@ public class UserNotification {
     @Column(name = "sent_at")
     private LocalDateTime sentAt;
 
+    @Column(name = "occurrence_count")
+    private Integer occurrenceCount = 1;
+
+    @JsonIgnore
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @JsonIgnore
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -168,6 +184,30 @@ public class UserNotification {
         this.sentAt = sentAt;
     }
 
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(Integer occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public LocalDateTime getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+
+    public void setClaimExpiresAt(LocalDateTime claimExpiresAt) {
+        this.claimExpiresAt = claimExpiresAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_recommendations")
+@Table(name = "user_recommendations", indexes = {
+        @Index(name = "idx_user_recommendations_dismissed_expires", columnList = "is_dismissed, expires_at")
+})
 public class UserRecommendation {
 
     @Id
@@ -0,0 +1,46 @@
+package com.example.insightservice.event;
+
+import com.example.insightservice.metrics.InsightMetrics;
+import com.example.insightservice.service.IntegratedResponseCache;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached integrated responses when a user's transactions or goals change.
+ *
+ * Producers key every event by userId, so only the record key is read. The cache is local
+ * to each instance, so every replica consumes with its own group id and starts from the
+ * latest offset; older events cannot affect responses that are not cached yet.
+ */
+@Component
+public class IntegratedCacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(IntegratedCacheInvalidationListener.class);
+
+    @Autowired
+    private IntegratedResponseCache responseCache;
+
+    @Autowired
+    private InsightMetrics metrics;
+
+    @KafkaListener(
+            topics = {"transactions.created", "transactions.updated", "transactions.deleted", "goals.lifecycle"},
+            groupId = "insight-cache-${random.uuid}",
+            properties = {"auto.offset.reset=latest"},
+            autoStartup = "${insight.integrated-cache.kafka-invalidation.enabled:true}")
+    public void onChangeEvent(ConsumerRecord<String, String> record) {
+        if (record.key() == null) {
+            return;
+        }
+        try {
+            responseCache.invalidateUser(Long.valueOf(record.key()));
+            metrics.recordIntegratedCacheInvalidation(record.topic());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring {} event with non-numeric key {}", record.topic(), record.key());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.insightservice.metrics;
+
+import com.example.insightservice.client.DependencyGuard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Custom operational metrics for Insight Service
+ */
+@Component
+public class InsightMetrics {
+
+    private final AtomicInteger streamConnections = new AtomicInteger();
+    private final Counter streamEventsSent;
+    private final Counter streamSendFailures;
+    private final AtomicInteger dispatchPending = new AtomicInteger();
+    private final Counter notificationsClaimed;
+    private final Counter notificationsDispatched;
+    private final Timer dispatchLag;
+    private final Counter notificationsCollapsed;
+    private final Counter integratedCacheEvictions;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public InsightMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("insight.notifications.stream.connections", streamConnections, AtomicInteger::get)
+                .description("Number of open notification SSE connections")
+                .register(meterRegistry);
+
+        this.streamEventsSent = Counter.builder("insight.notifications.stream.events.sent")
+                .description("Total number of events pushed to notification SSE subscribers")
+                .register(meterRegistry);
+
+        this.streamSendFailures = Counter.builder("insight.notifications.stream.send.failures")
+                .description("Total number of failed pushes to notification SSE subscribers")
+                .register(meterRegistry);
+
+        Gauge.builder("insight.notifications.dispatch.pending", dispatchPending, AtomicInteger::get)
+                .description("Claimed scheduled notifications waiting in the timing wheel")
+                .register(meterRegistry);
+
+        this.notificationsClaimed = Counter.builder("insight.notifications.dispatch.claimed")
+                .description("Total number of scheduled notifications claimed by this instance")
+                .register(meterRegistry);
+
+        this.notificationsDispatched = Counter.builder("insight.notifications.dispatch.sent")
+                .description("Total number of scheduled notifications dispatched by this instance")
+                .register(meterRegistry);
+
+        this.dispatchLag = Timer.builder("insight.notifications.dispatch.lag")
+                .description("Delay between a notification's scheduled time and its dispatch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        this.notificationsCollapsed = Counter.builder("insight.notifications.collapsed")
+                .description("Total number of duplicate notifications folded into an existing row")
+                .register(meterRegistry);
+
+        this.integratedCacheEvictions = Counter.builder("insight.integrated.cache.evictions")
+                .description("Users evicted from the integrated response cache to stay within its bound")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Track an opened notification stream connection
+     */
+    public void recordStreamOpened() {
+        streamConnections.incrementAndGet();
+    }
+
+    /**
+     * Track a closed notification stream connection
+     */
+    public void recordStreamClosed() {
+        streamConnections.decrementAndGet();
+    }
+
+    /**
+     * Increment events pushed counter
+     */
+    public void recordStreamEventSent() {
+        streamEventsSent.increment();
+    }
+
+    /**
+     * Increment failed pushes counter
+     */
+    public void recordStreamSendFailure() {
+        streamSendFailures.increment();
+    }
+
+    /**
+     * Record scheduled notifications claimed from the database
+     */
+    public void recordNotificationsClaimed(int count) {
+        notificationsClaimed.increment(count);
+    }
+
+    /**
+     * Record a dispatched scheduled notification and how late it went out
+     */
+    public void recordNotificationDispatched(Duration lag) {
+        notificationsDispatched.increment();
+        dispatchLag.record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    /**
+     * Update the number of claimed notifications waiting for their slot
+     */
+    public void setDispatchPending(int pending) {
+        dispatchPending.set(pending);
+    }
+
+    /**
+     * Increment collapsed duplicate notifications counter
+     */
+    public void recordNotificationCollapsed() {
+        notificationsCollapsed.increment();
+    }
+
+    /**
+     * Record the latency and outcome of one upstream call made by a fan-out
+     */
+    public void recordDependencyCall(String dependency, String outcome, long durationNanos) {
+        Timer.builder("insight.fanout.dependency.latency")
+                .description("Latency of upstream calls made concurrently by aggregated endpoints")
+                .tag("dependency", dependency)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record an integrated response cache lookup
+     */
+    public void recordIntegratedCacheLookup(String endpoint, boolean hit) {
+        Counter.builder("insight.integrated.cache.requests")
+                .description("Integrated endpoint response cache lookups")
+                .tag("endpoint", endpoint)
+                .tag("result", hit ? "hit" : "miss")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Increment users evicted from the integrated response cache counter
+     */
+    public void recordIntegratedCacheEviction() {
+        integratedCacheEvictions.increment();
+    }
+
+    /**
+     * Increment integrated response cache invalidations counter
+     */
+    public void recordIntegratedCacheInvalidation(String source) {
+        Counter.builder("insight.integrated.cache.invalidations")
+                .description("Per-user integrated response cache invalidations")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Expose a dependency's circuit state (0 closed, 1 half-open, 2 open) and free bulkhead permits
+     */
+    public void registerDependencyGuard(DependencyGuard guard) {
+        Gauge.builder("insight.client.circuit.state", guard, g -> g.getState().ordinal())
+                .description("Circuit breaker state per dependency: 0 closed, 1 half-open, 2 open")
+                .tag("dependency", guard.getName())
+                .register(meterRegistry);
+
+        Gauge.builder("insight.client.bulkhead.available", guard, DependencyGuard::getAvailablePermits)
+                .description("Free concurrent call permits per dependency")
+                .tag("dependency", guard.getName())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a fallback answer for a rejected or failed dependency call
+     */
+    public void recordClientFallback(String dependency, DependencyGuard.Rejection reason, boolean stale) {
+        Counter.builder("insight.client.fallbacks")
+                .description("Dependency calls answered by a fallback instead of the dependency")
+                .tag("dependency", dependency)
+                .tag("reason", reason.name().toLowerCase())
+                .tag("served", stale ? "stale" : "empty")
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.insightservice.repository;
 
 import com.example.insightservice.entity.UserNotification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,4 +41,55 @@ public interface UserNotificationRepository extends JpaRepository<UserNotificati
 
     @Query("SELECT un FROM UserNotification un WHERE un.userId = :userId AND un.createdAt >= :fromDate ORDER BY un.createdAt DESC")
     List<UserNotification> findRecentNotifications(@Param("userId") Long userId, @Param("fromDate") LocalDateTime fromDate);
-}
\ No newline at end of file
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserNotification un SET un.isRead = true, un.updatedAt = :now WHERE un.userId = :userId AND un.isRead = false")
+    int markAllAsReadForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT un.id FROM UserNotification un WHERE un.isRead = true AND un.createdAt < :cutoff ORDER BY un.id")
+    List<Long> findReadNotificationIdsOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM UserNotification un WHERE un.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT un.userId, COUNT(un) FROM UserNotification un WHERE un.isRead = false AND un.userId IN :userIds GROUP BY un.userId")
+    List<Object[]> countUnreadNotificationsByUserIds(@Param("userIds") List<Long> userIds);
+
+    @Query("SELECT COUNT(un), " +
+           "SUM(CASE WHEN un.isRead = false THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN un.isUrgent = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN un.createdAt >= :fromDate THEN 1 ELSE 0 END) " +
+           "FROM UserNotification un WHERE un.userId = :userId")
+    List<Object[]> aggregateNotificationSummary(@Param("userId") Long userId, @Param("fromDate") LocalDateTime fromDate);
+
+    @Query(value = "SELECT id FROM user_notifications WHERE sent_at IS NULL AND scheduled_for <= :horizon " +
+                   "AND (claim_expires_at IS NULL OR claim_expires_at < :now) " +
+                   "ORDER BY scheduled_for LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockClaimableNotificationIds(@Param("horizon") LocalDateTime horizon,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserNotification un SET un.claimedBy = :owner, un.claimExpiresAt = :leaseUntil WHERE un.id IN :ids")
+    int claimByIdIn(@Param("ids") List<Long> ids, @Param("owner") String owner, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserNotification un SET un.sentAt = :now, un.claimedBy = null, un.claimExpiresAt = null WHERE un.id IN :ids AND un.sentAt IS NULL")
+    int markSentByIdIn(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserNotification un SET un.claimedBy = null, un.claimExpiresAt = null WHERE un.claimedBy = :owner AND un.sentAt IS NULL")
+    int releaseClaims(@Param("owner") String owner);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserNotification un SET un.occurrenceCount = COALESCE(un.occurrenceCount, 1) + 1, " +
+           "un.title = :title, un.message = :message, un.updatedAt = :now " +
+           "WHERE un.id = :id AND un.isRead = false")
+    int collapseInto(@Param("id") Long id, @Param("title") String title, @Param("message") String message, @Param("now") LocalDateTime now);
+}
@@ -1,10 +1,13 @@
 package com.example.insightservice.repository;
 
 import com.example.insightservice.entity.UserRecommendation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,4 +35,20 @@ public interface UserRecommendationRepository extends JpaRepository<UserRecommen
 
     @Query("SELECT ur FROM UserRecommendation ur WHERE ur.expiresAt <= :now AND ur.isDismissed = false")
     List<UserRecommendation> findExpiredRecommendations(@Param("now") LocalDateTime now);
-}
\ No newline at end of file
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserRecommendation ur SET ur.isDismissed = true, ur.updatedAt = :now WHERE ur.expiresAt <= :now AND ur.isDismissed = false")
+    int dismissExpiredRecommendations(@Param("now") LocalDateTime now);
+
+    @Query("SELECT ur.id FROM UserRecommendation ur WHERE ur.expiresAt <= :now AND ur.isDismissed = false ORDER BY ur.id")
+    List<Long> findExpiredRecommendationIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserRecommendation ur SET ur.isDismissed = true, ur.updatedAt = :now WHERE ur.id IN :ids")
+    int dismissByIdIn(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT ur.userId, COUNT(ur) FROM UserRecommendation ur WHERE ur.isRead = false AND ur.isDismissed = false AND ur.userId IN :userIds GROUP BY ur.userId")
+    List<Object[]> countUnreadRecommendationsByUserIds(@Param("userIds") List<Long> userIds);
+}
@@ -0,0 +1,92 @@
+package com.example.insightservice.scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Minimal hashed timing wheel.
+ *
+ * Items are hashed into a fixed ring of buckets by their deadline tick. Each call to
+ * {@link #advance(long)} walks only the buckets between the last processed tick and now,
+ * so scheduling and expiry are O(1) per item regardless of how many items are pending.
+ * Deadlines further out than one revolution simply stay in their bucket until the wheel
+ * comes round to the matching tick.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry<T>>[] buckets;
+    private long lastTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule an item; past deadlines fire on the next advance. The deadline is rounded up to
+     * a tick boundary so an item never fires before its time.
+     */
+    public synchronized void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), lastTick + 1);
+        buckets[(int) (tick & mask)].add(new Entry<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Move the wheel forward to the given time and return every item that has come due
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        // Walking more than one revolution would revisit the same buckets
+        long from = Math.max(lastTick + 1, nowTick - mask);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Iterator<Entry<T>> iterator = buckets[(int) (tick & mask)].iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.deadlineTick <= nowTick) {
+                    due.add(entry.item);
+                    iterator.remove();
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, nowTick);
+        size -= due.size();
+        return due;
+    }
+
+    /**
+     * Remove and return everything still pending
+     */
+    public synchronized List<T> drain() {
+        List<T> pending = new ArrayList<>(size);
+        for (List<Entry<T>> bucket : buckets) {
+            for (Entry<T> entry : bucket) {
+                pending.add(entry.item);
+            }
+            bucket.clear();
+        }
+        size = 0;
+        return pending;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
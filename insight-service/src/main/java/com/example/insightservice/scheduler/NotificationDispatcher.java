@@ -0,0 +1,165 @@
+package com.example.insightservice.scheduler;
+
+import com.example.insightservice.entity.UserNotification;
+import com.example.insightservice.metrics.InsightMetrics;
+import com.example.insightservice.repository.UserNotificationRepository;
+import com.example.insightservice.service.NotificationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers scheduled notifications without an outside poller.
+ *
+ * Each poll claims due and near-future rows in batches with SELECT ... FOR UPDATE SKIP LOCKED
+ * and stamps them with a lease, so concurrent replicas never pick the same rows. Claimed rows
+ * sit in a hashed timing wheel until their slot, then each expired slot is delivered and
+ * marked sent with one bulk update. Rows whose lease lapses (e.g. the owner died) become
+ * claimable again; claims still held at shutdown are released.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    @Autowired
+    private UserNotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InsightMetrics metrics;
+
+    @Value("${insight.dispatcher.enabled:true}")
+    private boolean enabled;
+
+    @Value("${insight.dispatcher.batch-size:500}")
+    private int batchSize;
+
+    @Value("${insight.dispatcher.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${insight.dispatcher.horizon-ms:60000}")
+    private long horizonMs;
+
+    @Value("${insight.dispatcher.tick-ms:100}")
+    private long tickMs;
+
+    private final String owner = "insight-" + UUID.randomUUID();
+    private HashedTimingWheel<UserNotification> wheel;
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        wheel = new HashedTimingWheel<>(tickMs, 1024, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.shutdownNow();
+        wheel.drain();
+        try {
+            notificationRepository.releaseClaims(owner);
+        } catch (Exception e) {
+            logger.warn("Failed to release notification claims on shutdown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim due and near-future notifications into the timing wheel
+     */
+    @Scheduled(fixedDelayString = "${insight.dispatcher.poll-interval-ms:5000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                List<UserNotification> claimed = claimBatch();
+                for (UserNotification notification : claimed) {
+                    wheel.schedule(notification, toEpochMillis(notification.getScheduledFor()));
+                }
+                metrics.recordNotificationsClaimed(claimed.size());
+                if (claimed.size() < batchSize) {
+                    break;
+                }
+            }
+            metrics.setDispatchPending(wheel.size());
+        } catch (Exception e) {
+            logger.warn("Failed to claim scheduled notifications: {}", e.getMessage());
+        }
+    }
+
+    private List<UserNotification> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plus(Duration.ofMillis(horizonMs));
+        // Lease outlives the horizon so the row stays ours until its slot comes round
+        LocalDateTime leaseUntil = horizon.plus(Duration.ofMillis(horizonMs));
+
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = notificationRepository.lockClaimableNotificationIds(horizon, now, batchSize);
+            if (ids.isEmpty()) {
+                return List.<UserNotification>of();
+            }
+            notificationRepository.claimByIdIn(ids, owner, leaseUntil);
+            return notificationRepository.findAllById(ids);
+        });
+    }
+
+    private void tick() {
+        try {
+            List<UserNotification> due = wheel.advance(System.currentTimeMillis());
+            if (due.isEmpty()) {
+                return;
+            }
+            notificationService.dispatchScheduledNotifications(due);
+
+            LocalDateTime now = LocalDateTime.now();
+            for (UserNotification notification : due) {
+                metrics.recordNotificationDispatched(Duration.between(notification.getScheduledFor(), now));
+            }
+            metrics.setDispatchPending(wheel.size());
+        } catch (Exception e) {
+            // Leases expire, so undelivered rows are picked up again by a later poll
+            logger.warn("Failed to dispatch scheduled notifications: {}", e.getMessage());
+        }
+    }
+
+    // Rounded up, so a sub-millisecond remainder cannot make a notification go out early
+    private long toEpochMillis(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getNano() % 1_000_000 == 0 ? instant.toEpochMilli() : instant.toEpochMilli() + 1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.insightservice.scheduler;
+
+import com.example.insightservice.repository.UserNotificationRepository;
+import com.example.insightservice.repository.UserRecommendationRepository;
+import com.example.insightservice.service.UnreadCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically dismisses expired recommendations and purges old read notifications.
+ * Rows are processed in bounded id chunks, each chunk in its own short transaction,
+ * so a large backlog never holds row locks or undo log for the whole sweep.
+ */
+@Component
+public class RetentionSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionSweeper.class);
+
+    @Autowired
+    private UserNotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRecommendationRepository recommendationRepository;
+
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Value("${insight.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${insight.retention.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${insight.retention.read-notification-days:90}")
+    private int readNotificationDays;
+
+    @Scheduled(cron = "${insight.retention.cron:0 30 3 * * *}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        int dismissed = dismissExpiredRecommendations();
+        int deleted = purgeReadNotifications();
+        logger.info("Retention sweep finished: {} recommendations dismissed, {} notifications deleted", dismissed, deleted);
+    }
+
+    /**
+     * Dismiss expired recommendations chunk by chunk
+     */
+    public int dismissExpiredRecommendations() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = recommendationRepository.findExpiredRecommendationIds(now, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                total += recommendationRepository.dismissByIdIn(ids, now);
+            }
+        } while (ids.size() == chunkSize);
+        if (total > 0) {
+            unreadCounterService.invalidateRecommendationCounts();
+        }
+        return total;
+    }
+
+    /**
+     * Delete read notifications older than the retention window chunk by chunk
+     */
+    public int purgeReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(readNotificationDays);
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = notificationRepository.findReadNotificationIdsOlderThan(cutoff, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                total += notificationRepository.deleteByIdIn(ids);
+            }
+        } while (ids.size() == chunkSize);
+        return total;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.insightservice.service;
+
+import com.example.insightservice.client.DependencyUnavailableException;
+import com.example.insightservice.metrics.InsightMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent upstream calls behind an aggregated endpoint concurrently.
+ *
+ * Each call is forked onto its own virtual thread with a per-call deadline, and the whole
+ * scope shares one overall deadline, so an endpoint's latency is bounded by its slowest
+ * dependency (or the deadline) rather than the sum of all of them. A call that fails or
+ * misses a deadline yields its fallback value (or the last known good value carried by a
+ * {@link DependencyUnavailableException}) and is reported as degraded, letting the caller
+ * return a partial result instead of an error.
+ */
+@Component
+public class FanOutExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FanOutExecutor.class);
+
+    @Autowired
+    private InsightMetrics metrics;
+
+    @Value("${insight.fan-out.call-timeout-ms:2000}")
+    private long callTimeoutMs;
+
+    @Value("${insight.fan-out.request-timeout-ms:3000}")
+    private long requestTimeoutMs;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public Scope scope() {
+        return new Scope(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeoutMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A group of calls sharing one overall deadline
+     */
+    public class Scope {
+
+        private final long deadlineNanos;
+        private final List<Call<?>> calls = new ArrayList<>();
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Start a call right away; its result is available from the returned handle after {@link #join()}
+         */
+        public <T> Call<T> fork(String dependency, Supplier<T> task, T fallback) {
+            long start = System.nanoTime();
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(task, executor)
+                    .orTimeout(callTimeoutMs, TimeUnit.MILLISECONDS);
+            future.whenComplete((value, error) ->
+                    metrics.recordDependencyCall(dependency, outcomeOf(error), System.nanoTime() - start));
+
+            Call<T> call = new Call<>(dependency, future, fallback);
+            calls.add(call);
+            return call;
+        }
+
+        /**
+         * Wait for every forked call until the overall deadline, settling each one to its value or fallback
+         */
+        public Scope join() {
+            for (Call<?> call : calls) {
+                call.settle(deadlineNanos - System.nanoTime());
+            }
+            return this;
+        }
+
+        public boolean isPartial() {
+            return calls.stream().anyMatch(Call::isDegraded);
+        }
+
+        public List<String> degradedDependencies() {
+            return calls.stream().filter(Call::isDegraded).map(Call::getDependency).toList();
+        }
+    }
+
+    /**
+     * Handle to one forked call
+     */
+    public static class Call<T> {
+
+        private final String dependency;
+        private final CompletableFuture<T> future;
+        private final T fallback;
+        private T result;
+        private boolean degraded;
+
+        private Call(String dependency, CompletableFuture<T> future, T fallback) {
+            this.dependency = dependency;
+            this.future = future;
+            this.fallback = fallback;
+        }
+
+        private void settle(long remainingNanos) {
+            try {
+                result = future.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Overall deadline reached; the call keeps running but its answer is no longer waited for
+                degrade("request deadline exceeded");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof DependencyUnavailableException unavailable && unavailable.getStaleValue() != null) {
+                    // The dependency is down but its last known good answer beats the empty fallback
+                    degrade(unavailable.getMessage());
+                    result = staleValue(unavailable);
+                    return;
+                }
+                degrade(e.getCause() instanceof TimeoutException ? "call deadline exceeded" : String.valueOf(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                degrade("interrupted");
+            }
+        }
+
+        private void degrade(String reason) {
+            logger.warn("Fan-out call {} degraded: {}", dependency, reason);
+            result = fallback;
+            degraded = true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T staleValue(DependencyUnavailableException unavailable) {
+            return (T) unavailable.getStaleValue();
+        }
+
+        public T get() {
+            return result;
+        }
+
+        public boolean isDegraded() {
+            return degraded;
+        }
+
+        public String getDependency() {
+            return dependency;
+        }
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TimeoutException ? "timeout" : "error";
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.insightservice.service;
+
+import com.example.insightservice.metrics.InsightMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-user cache of /integrated responses, keyed by endpoint and userId.
+ *
+ * Entries are dropped as soon as a transaction, goal or analytics change for the user is
+ * observed. Every user carries a generation number that invalidation bumps; a response is
+ * only served while its generation is current, so a computation that was already running
+ * when the data changed can never be cached as fresh. Concurrent misses for the same key
+ * share one computation. Size is bounded by entry count with least-recently-used users
+ * evicted first, and a TTL caps staleness if an event is ever missed.
+ */
+@Component
+public class IntegratedResponseCache {
+
+    @Autowired
+    private InsightMetrics metrics;
+
+    @Value("${insight.integrated-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${insight.integrated-cache.ttl-ms:120000}")
+    private long ttlMs;
+
+    @Value("${insight.integrated-cache.max-entries:50000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<Long, UserEntries> users = new ConcurrentHashMap<>();
+    private final AtomicInteger entryCount = new AtomicInteger();
+
+    public record Lookup(Map<String, Object> body, boolean hit) {
+    }
+
+    /**
+     * Serve the cached response or compute it once; responses rejected by isCacheable are returned but not kept
+     */
+    public Lookup get(String endpoint, Long userId, Supplier<Map<String, Object>> loader) {
+        if (!enabled) {
+            return new Lookup(loader.get(), false);
+        }
+
+        UserEntries userEntries = users.computeIfAbsent(userId, id -> new UserEntries());
+        userEntries.lastAccessMillis = System.currentTimeMillis();
+        long generation = userEntries.generation.get();
+
+        Entry entry = userEntries.entries.get(endpoint);
+        if (entry != null && entry.isFresh(generation)) {
+            metrics.recordIntegratedCacheLookup(endpoint, true);
+            return new Lookup(await(entry.future), true);
+        }
+
+        Entry created = new Entry(generation);
+        Entry winner = userEntries.entries.compute(endpoint, (key, existing) -> {
+            if (existing != null && existing.isFresh(generation)) {
+                return existing;
+            }
+            if (existing == null) {
+                entryCount.incrementAndGet();
+            }
+            return created;
+        });
+        if (winner != created) {
+            // Another request is already computing (or just computed) this response
+            metrics.recordIntegratedCacheLookup(endpoint, true);
+            return new Lookup(await(winner.future), true);
+        }
+        metrics.recordIntegratedCacheLookup(endpoint, false);
+
+        try {
+            Map<String, Object> body = loader.get();
+            created.expiresAtMillis = System.currentTimeMillis() + ttlMs;
+            created.future.complete(body);
+            boolean invalidated = userEntries.generation.get() != generation || users.get(userId) != userEntries;
+            if (invalidated || !isCacheable(body)) {
+                remove(userEntries, endpoint, created);
+            }
+            evictIfFull();
+            return new Lookup(body, false);
+        } catch (RuntimeException e) {
+            remove(userEntries, endpoint, created);
+            created.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop every cached response for a user
+     */
+    public void invalidateUser(Long userId) {
+        UserEntries userEntries = users.get(userId);
+        if (userEntries != null) {
+            drop(userId, userEntries);
+        }
+    }
+
+    public int size() {
+        return Math.max(entryCount.get(), 0);
+    }
+
+    private boolean isCacheable(Map<String, Object> body) {
+        return Boolean.TRUE.equals(body.get("success")) && !Boolean.TRUE.equals(body.get("partial"));
+    }
+
+    private void remove(UserEntries userEntries, String endpoint, Entry entry) {
+        if (userEntries.entries.remove(endpoint, entry)) {
+            entryCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Detach a user's entries; loads still in flight for them see the new generation and are not kept
+     */
+    private void drop(Long userId, UserEntries userEntries) {
+        users.remove(userId, userEntries);
+        userEntries.generation.incrementAndGet();
+        for (String endpoint : userEntries.entries.keySet()) {
+            if (userEntries.entries.remove(endpoint) != null) {
+                entryCount.decrementAndGet();
+            }
+        }
+    }
+
+    private void evictIfFull() {
+        if (entryCount.get() <= maxEntries) {
+            return;
+        }
+        synchronized (this) {
+            if (entryCount.get() <= maxEntries) {
+                return;
+            }
+            // Free a tenth of the capacity at once so eviction runs rarely
+            List<Map.Entry<Long, UserEntries>> byAge = new ArrayList<>(users.entrySet());
+            byAge.sort(Comparator.comparingLong(e -> e.getValue().lastAccessMillis));
+            int target = maxEntries - maxEntries / 10;
+            for (Map.Entry<Long, UserEntries> candidate : byAge) {
+                if (entryCount.get() <= target) {
+                    break;
+                }
+                drop(candidate.getKey(), candidate.getValue());
+                metrics.recordIntegratedCacheEviction();
+            }
+        }
+    }
+
+    private Map<String, Object> await(CompletableFuture<Map<String, Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class UserEntries {
+        private final AtomicLong generation = new AtomicLong();
+        private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+        private volatile long lastAccessMillis = System.currentTimeMillis();
+    }
+
+    private static class Entry {
+        private final long generation;
+        private final CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+
+        private Entry(long generation) {
+            this.generation = generation;
+        }
+
+        boolean isFresh(long currentGeneration) {
+            return generation == currentGeneration && System.currentTimeMillis() < expiresAtMillis;
+        }
+    }
+}
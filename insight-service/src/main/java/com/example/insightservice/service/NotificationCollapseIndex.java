@@ -0,0 +1,82 @@
+package com.example.insightservice.service;
+
+import com.example.insightservice.entity.UserNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of recently created notifications used to collapse bursts of near-identical
+ * alerts into one row. Entries are keyed by (userId, type, relatedCategoryId, relatedGoalId)
+ * and live for the configured window. The index is per instance, so a burst spread over
+ * several replicas collapses into at most one row per replica.
+ */
+@Component
+public class NotificationCollapseIndex {
+
+    private final Set<UserNotification.NotificationType> collapsibleTypes;
+    private final long windowMillis;
+    private final int maxEntries;
+    private final ConcurrentHashMap<CollapseKey, Entry> recent = new ConcurrentHashMap<>();
+
+    public NotificationCollapseIndex(
+            @Value("${insight.notifications.collapse.types:SPENDING_ALERT,BUDGET_EXCEEDED}") List<UserNotification.NotificationType> types,
+            @Value("${insight.notifications.collapse.window-seconds:300}") long windowSeconds,
+            @Value("${insight.notifications.collapse.max-entries:100000}") int maxEntries) {
+        this.collapsibleTypes = types.isEmpty()
+                ? EnumSet.noneOf(UserNotification.NotificationType.class)
+                : EnumSet.copyOf(types);
+        this.windowMillis = windowSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public boolean isCollapsible(UserNotification notification) {
+        return windowMillis > 0 && notification.getUserId() != null
+                && collapsibleTypes.contains(notification.getNotificationType());
+    }
+
+    /**
+     * Id of a notification created for the same key within the window, or null
+     */
+    public Long findRecent(UserNotification notification) {
+        CollapseKey key = CollapseKey.of(notification);
+        Entry entry = recent.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis < System.currentTimeMillis()) {
+            recent.remove(key, entry);
+            return null;
+        }
+        return entry.notificationId;
+    }
+
+    public void remember(UserNotification notification) {
+        if (recent.size() >= maxEntries) {
+            return;
+        }
+        recent.put(CollapseKey.of(notification),
+                new Entry(notification.getId(), System.currentTimeMillis() + windowMillis));
+    }
+
+    @Scheduled(fixedDelayString = "${insight.notifications.collapse.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        recent.values().removeIf(entry -> entry.expiresAtMillis < now);
+    }
+
+    private record CollapseKey(Long userId, UserNotification.NotificationType type, Long categoryId, Long goalId) {
+        static CollapseKey of(UserNotification notification) {
+            return new CollapseKey(notification.getUserId(), notification.getNotificationType(),
+                    notification.getRelatedCategoryId(), notification.getRelatedGoalId());
+        }
+    }
+
+    private record Entry(Long notificationId, long expiresAtMillis) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.insightservice.service;
 
 import com.example.insightservice.entity.UserNotification;
+import com.example.insightservice.metrics.InsightMetrics;
 import com.example.insightservice.repository.UserNotificationRepository;
+import com.example.insightservice.stream.NotificationStreamRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -17,6 +20,18 @@ public class NotificationService {
     @Autowired
     private UserNotificationRepository notificationRepository;
 
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
+    @Autowired
+    private NotificationStreamRegistry streamRegistry;
+
+    @Autowired
+    private NotificationCollapseIndex collapseIndex;
+
+    @Autowired
+    private InsightMetrics metrics;
+
     public List<UserNotification> getUserNotifications(Long userId) {
         return notificationRepository.findNotificationsForUserOrderedByPriority(userId);
     }
@@ -47,10 +62,61 @@ public class NotificationService {
     }
 
     public UserNotification createNotification(UserNotification notification) {
+        LocalDateTime now = LocalDateTime.now();
         if (notification.getScheduledFor() == null) {
-            notification.setScheduledFor(LocalDateTime.now());
+            notification.setScheduledFor(now);
+        }
+        if (notification.getIsRead() == null) {
+            notification.setIsRead(false);
+        }
+        // Due notifications are delivered in-app right away; future ones are left to NotificationDispatcher
+        boolean deliverNow = !notification.getScheduledFor().isAfter(now);
+        if (deliverNow && notification.getSentAt() == null) {
+            notification.setSentAt(now);
+        }
+        boolean collapsible = deliverNow && !notification.getIsRead() && collapseIndex.isCollapsible(notification);
+        if (collapsible) {
+            UserNotification collapsed = collapseIntoRecent(notification, now);
+            if (collapsed != null) {
+                return collapsed;
+            }
+        }
+        UserNotification saved = notificationRepository.save(notification);
+        if (!saved.getIsRead()) {
+            unreadCounterService.adjustNotificationCount(saved.getUserId(), 1);
+        }
+        if (collapsible) {
+            collapseIndex.remember(saved);
+        }
+        if (deliverNow) {
+            pushNotification(saved);
         }
-        return notificationRepository.save(notification);
+        return saved;
+    }
+
+    /**
+     * Fold a duplicate alert into the unread notification created for the same key within the
+     * collapse window. Returns null when there is nothing to fold into (no recent row, or it
+     * has been read or deleted since), in which case the caller inserts a new row.
+     */
+    private UserNotification collapseIntoRecent(UserNotification notification, LocalDateTime now) {
+        Long recentId = collapseIndex.findRecent(notification);
+        if (recentId == null) {
+            return null;
+        }
+        if (notificationRepository.collapseInto(recentId, notification.getTitle(), notification.getMessage(), now) == 0) {
+            return null;
+        }
+        metrics.recordNotificationCollapsed();
+        Optional<UserNotification> collapsed = notificationRepository.findById(recentId);
+        collapsed.ifPresent(this::pushNotification);
+        return collapsed.orElse(null);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = streamRegistry.subscribe(userId);
+        pushUnreadCount(userId);
+        return emitter;
     }
 
     public Map<String, Object> createGoalDeadlineNotification(Long userId, Long goalId, String title, String message) {
@@ -63,7 +129,7 @@ public class NotificationService {
         notification.setIsUrgent(true);
         notification.setScheduledFor(LocalDateTime.now());
 
-        UserNotification saved = notificationRepository.save(notification);
+        UserNotification saved = createNotification(notification);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -72,6 +138,14 @@ public class NotificationService {
         return response;
     }
 
+    /**
+     * Create many goal deadline notifications from one request; entries missing userId or goalId are skipped
+     */
+    public Map<String, Object> createGoalDeadlineNotifications(List<Map<String, Object>> requests) {
+        return createGoalNotifications(requests, "Goal Deadline Approaching",
+                "Goal deadline notifications created successfully", this::createGoalDeadlineNotification);
+    }
+
     public Map<String, Object> createBudgetExceededNotification(Long userId, Long categoryId, String title, String message) {
         UserNotification notification = new UserNotification();
         notification.setUserId(userId);
@@ -82,7 +156,7 @@ public class NotificationService {
         notification.setIsUrgent(true);
         notification.setScheduledFor(LocalDateTime.now());
 
-        UserNotification saved = notificationRepository.save(notification);
+        UserNotification saved = createNotification(notification);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -101,7 +175,7 @@ public class NotificationService {
         notification.setIsUrgent(false);
         notification.setScheduledFor(LocalDateTime.now());
 
-        UserNotification saved = notificationRepository.save(notification);
+        UserNotification saved = createNotification(notification);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -120,7 +194,7 @@ public class NotificationService {
         notification.setIsUrgent(false);
         notification.setScheduledFor(LocalDateTime.now());
 
-        UserNotification saved = notificationRepository.save(notification);
+        UserNotification saved = createNotification(notification);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -129,14 +203,56 @@ public class NotificationService {
         return response;
     }
 
+    /**
+     * Create many goal milestone notifications from one request; entries missing userId or goalId are skipped
+     */
+    public Map<String, Object> createGoalMilestoneNotifications(List<Map<String, Object>> requests) {
+        return createGoalNotifications(requests, "Goal Milestone Reached",
+                "Goal milestone notifications created successfully", this::createGoalMilestoneNotification);
+    }
+
+    private Map<String, Object> createGoalNotifications(List<Map<String, Object>> requests, String defaultTitle,
+                                                        String successMessage, GoalNotificationCreator creator) {
+        int created = 0;
+        int skipped = 0;
+        for (Map<String, Object> request : requests) {
+            if (request.get("userId") == null || request.get("goalId") == null) {
+                skipped++;
+                continue;
+            }
+            creator.create(
+                    Long.valueOf(request.get("userId").toString()),
+                    Long.valueOf(request.get("goalId").toString()),
+                    String.valueOf(request.getOrDefault("title", defaultTitle)),
+                    String.valueOf(request.getOrDefault("message", "")));
+            created++;
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", successMessage);
+        response.put("created", created);
+        response.put("skipped", skipped);
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface GoalNotificationCreator {
+        void create(Long userId, Long goalId, String title, String message);
+    }
+
     public Map<String, Object> markAsRead(Long notificationId) {
         Optional<UserNotification> optionalNotification = notificationRepository.findById(notificationId);
         Map<String, Object> response = new HashMap<>();
         
         if (optionalNotification.isPresent()) {
             UserNotification notification = optionalNotification.get();
-            notification.setIsRead(true);
-            notificationRepository.save(notification);
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                notification.setIsRead(true);
+                notificationRepository.save(notification);
+                unreadCounterService.adjustNotificationCount(notification.getUserId(), -1);
+                pushUnreadCount(notification.getUserId());
+            }
             
             response.put("success", true);
             response.put("message", "Notification marked as read");
@@ -149,52 +265,77 @@ public class NotificationService {
     }
 
     public Map<String, Object> markAllAsRead(Long userId) {
-        List<UserNotification> unreadNotifications = getUnreadNotifications(userId);
-        
-        for (UserNotification notification : unreadNotifications) {
-            notification.setIsRead(true);
-            notificationRepository.save(notification);
+        int markedCount = notificationRepository.markAllAsReadForUser(userId, LocalDateTime.now());
+        unreadCounterService.adjustNotificationCount(userId, -markedCount);
+        if (markedCount > 0) {
+            pushUnreadCount(userId);
         }
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "All notifications marked as read");
-        response.put("markedCount", unreadNotifications.size());
+        response.put("markedCount", markedCount);
         return response;
     }
 
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countUnreadNotifications(userId);
+        return unreadCounterService.getUnreadNotificationCount(userId);
     }
 
     public Map<String, Object> getNotificationSummary(Long userId) {
-        List<UserNotification> allNotifications = getUserNotifications(userId);
-        List<UserNotification> unreadNotifications = getUnreadNotifications(userId);
-        List<UserNotification> urgentNotifications = getUrgentNotifications(userId);
-        Long unreadCount = getUnreadCount(userId);
+        List<Object[]> rows = notificationRepository.aggregateNotificationSummary(userId, LocalDateTime.now().minusDays(7));
+        Object[] row = rows.isEmpty() ? new Object[4] : rows.get(0);
+
+        long totalCount = toLong(row[0]);
+        long unreadCount = toLong(row[1]);
+        unreadCounterService.primeNotificationCount(userId, unreadCount);
         
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalNotifications", allNotifications.size());
+        summary.put("totalNotifications", totalCount);
         summary.put("unreadCount", unreadCount);
-        summary.put("urgentCount", urgentNotifications.size());
-        summary.put("recentNotifications", getRecentNotifications(userId, 7));
-        summary.put("unreadNotifications", unreadNotifications);
+        summary.put("urgentCount", toLong(row[2]));
+        summary.put("recentCount", toLong(row[3]));
         
         return summary;
     }
 
     public boolean deleteNotification(Long notificationId) {
-        if (notificationRepository.existsById(notificationId)) {
-            notificationRepository.deleteById(notificationId);
+        Optional<UserNotification> optionalNotification = notificationRepository.findById(notificationId);
+        if (optionalNotification.isPresent()) {
+            UserNotification notification = optionalNotification.get();
+            notificationRepository.delete(notification);
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadCounterService.adjustNotificationCount(notification.getUserId(), -1);
+                pushUnreadCount(notification.getUserId());
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * Due notifications not yet marked sent. Notifications created already due are stamped sent on
+     * insert, and NotificationDispatcher stamps the others when it delivers them, so with the
+     * dispatcher running this only lists rows it has not reached yet.
+     */
     public List<UserNotification> getScheduledNotificationsToSend() {
         return notificationRepository.findScheduledNotificationsToSend(LocalDateTime.now());
     }
 
+    /**
+     * Deliver a batch of claimed scheduled notifications and mark them sent with one update
+     */
+    public int dispatchScheduledNotifications(List<UserNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        for (UserNotification notification : notifications) {
+            pushNotification(notification);
+        }
+        List<Long> ids = notifications.stream().map(UserNotification::getId).toList();
+        return notificationRepository.markSentByIdIn(ids, LocalDateTime.now());
+    }
+
     public void markAsSent(Long notificationId) {
         Optional<UserNotification> optionalNotification = notificationRepository.findById(notificationId);
         if (optionalNotification.isPresent()) {
@@ -203,4 +344,27 @@ public class NotificationService {
             notificationRepository.save(notification);
         }
     }
-}
\ No newline at end of file
+
+    private void pushNotification(UserNotification notification) {
+        Long userId = notification.getUserId();
+        if (!streamRegistry.hasSubscribers(userId)) {
+            return;
+        }
+        Map<String, Object> event = new HashMap<>();
+        event.put("notification", notification);
+        event.put("unreadCount", unreadCounterService.getUnreadNotificationCount(userId));
+        streamRegistry.publish(userId, "notification", event);
+    }
+
+    private void pushUnreadCount(Long userId) {
+        if (!streamRegistry.hasSubscribers(userId)) {
+            return;
+        }
+        streamRegistry.publish(userId, "unread-count",
+                Map.of("unreadCount", unreadCounterService.getUnreadNotificationCount(userId)));
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
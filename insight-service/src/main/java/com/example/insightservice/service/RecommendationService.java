@@ -17,6 +17,9 @@ public class RecommendationService {
     @Autowired
     private UserRecommendationRepository recommendationRepository;
 
+    @Autowired
+    private UnreadCounterService unreadCounterService;
+
     public List<UserRecommendation> getActiveRecommendations(Long userId) {
         return recommendationRepository.findActiveRecommendationsForUser(userId, LocalDateTime.now());
     }
@@ -38,7 +41,11 @@ public class RecommendationService {
     }
 
     public UserRecommendation createRecommendation(UserRecommendation recommendation) {
-        return recommendationRepository.save(recommendation);
+        UserRecommendation saved = recommendationRepository.save(recommendation);
+        if (isUnread(saved)) {
+            unreadCounterService.adjustRecommendationCount(saved.getUserId(), 1);
+        }
+        return saved;
     }
 
     public Map<String, Object> createBudgetOptimizationRecommendation(Long userId, Long categoryId, String title, String description) {
@@ -51,7 +58,7 @@ public class RecommendationService {
         recommendation.setPriorityLevel(UserRecommendation.PriorityLevel.MEDIUM);
         recommendation.setExpiresAt(LocalDateTime.now().plusDays(30)); // Expires in 30 days
 
-        UserRecommendation saved = recommendationRepository.save(recommendation);
+        UserRecommendation saved = createRecommendation(recommendation);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -70,7 +77,7 @@ public class RecommendationService {
         recommendation.setPriorityLevel(UserRecommendation.PriorityLevel.HIGH);
         recommendation.setExpiresAt(LocalDateTime.now().plusDays(15)); // Expires in 15 days
 
-        UserRecommendation saved = recommendationRepository.save(recommendation);
+        UserRecommendation saved = createRecommendation(recommendation);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -89,7 +96,7 @@ public class RecommendationService {
         recommendation.setPriorityLevel(UserRecommendation.PriorityLevel.HIGH);
         recommendation.setExpiresAt(LocalDateTime.now().plusDays(7)); // Expires in 7 days
 
-        UserRecommendation saved = recommendationRepository.save(recommendation);
+        UserRecommendation saved = createRecommendation(recommendation);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -104,8 +111,12 @@ public class RecommendationService {
         
         if (optionalRec.isPresent()) {
             UserRecommendation recommendation = optionalRec.get();
+            boolean wasUnread = isUnread(recommendation);
             recommendation.setIsRead(true);
             recommendationRepository.save(recommendation);
+            if (wasUnread) {
+                unreadCounterService.adjustRecommendationCount(recommendation.getUserId(), -1);
+            }
             
             response.put("success", true);
             response.put("message", "Recommendation marked as read");
@@ -123,8 +134,12 @@ public class RecommendationService {
         
         if (optionalRec.isPresent()) {
             UserRecommendation recommendation = optionalRec.get();
+            boolean wasUnread = isUnread(recommendation);
             recommendation.setIsDismissed(true);
             recommendationRepository.save(recommendation);
+            if (wasUnread) {
+                unreadCounterService.adjustRecommendationCount(recommendation.getUserId(), -1);
+            }
             
             response.put("success", true);
             response.put("message", "Recommendation dismissed");
@@ -142,9 +157,13 @@ public class RecommendationService {
         
         if (optionalRec.isPresent()) {
             UserRecommendation recommendation = optionalRec.get();
+            boolean wasUnread = isUnread(recommendation);
             recommendation.setActionTaken(true);
             recommendation.setIsRead(true);
             recommendationRepository.save(recommendation);
+            if (wasUnread) {
+                unreadCounterService.adjustRecommendationCount(recommendation.getUserId(), -1);
+            }
             
             response.put("success", true);
             response.put("message", "Recommendation marked as action taken");
@@ -157,7 +176,7 @@ public class RecommendationService {
     }
 
     public Long getUnreadCount(Long userId) {
-        return recommendationRepository.countUnreadRecommendations(userId);
+        return unreadCounterService.getUnreadRecommendationCount(userId);
     }
 
     public Map<String, Object> getRecommendationSummary(Long userId) {
@@ -179,18 +198,27 @@ public class RecommendationService {
     }
 
     public boolean deleteRecommendation(Long recommendationId) {
-        if (recommendationRepository.existsById(recommendationId)) {
-            recommendationRepository.deleteById(recommendationId);
+        Optional<UserRecommendation> optionalRec = recommendationRepository.findById(recommendationId);
+        if (optionalRec.isPresent()) {
+            UserRecommendation recommendation = optionalRec.get();
+            recommendationRepository.delete(recommendation);
+            if (isUnread(recommendation)) {
+                unreadCounterService.adjustRecommendationCount(recommendation.getUserId(), -1);
+            }
             return true;
         }
         return false;
     }
 
-    public void cleanupExpiredRecommendations() {
-        List<UserRecommendation> expired = recommendationRepository.findExpiredRecommendations(LocalDateTime.now());
-        for (UserRecommendation rec : expired) {
-            rec.setIsDismissed(true);
-            recommendationRepository.save(rec);
+    public int cleanupExpiredRecommendations() {
+        int dismissed = recommendationRepository.dismissExpiredRecommendations(LocalDateTime.now());
+        if (dismissed > 0) {
+            unreadCounterService.invalidateRecommendationCounts();
         }
+        return dismissed;
+    }
+
+    private boolean isUnread(UserRecommendation recommendation) {
+        return !Boolean.TRUE.equals(recommendation.getIsRead()) && !Boolean.TRUE.equals(recommendation.getIsDismissed());
     }
 }
\ No newline at end of file
@@ -18,6 +18,9 @@ public class SpendingAnalyticsService {
     @Autowired
     private SpendingAnalyticsRepository spendingAnalyticsRepository;
 
+    @Autowired
+    private IntegratedResponseCache responseCache;
+
     public List<SpendingAnalytics> getUserSpendingAnalytics(Long userId, String period) {
         return spendingAnalyticsRepository.findByUserIdAndAnalysisPeriod(userId, period);
     }
@@ -47,7 +50,9 @@ public class SpendingAnalyticsService {
     public SpendingAnalytics createOrUpdateAnalytics(SpendingAnalytics analytics) {
         // Calculate derived fields
         calculateDerivedFields(analytics);
-        return spendingAnalyticsRepository.save(analytics);
+        SpendingAnalytics saved = spendingAnalyticsRepository.save(analytics);
+        responseCache.invalidateUser(saved.getUserId());
+        return saved;
     }
 
     public Map<String, Object> generateSpendingSummary(Long userId, String period) {
@@ -129,11 +134,13 @@ public class SpendingAnalyticsService {
     }
 
     public boolean deleteAnalytics(Long id) {
-        if (spendingAnalyticsRepository.existsById(id)) {
-            spendingAnalyticsRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return spendingAnalyticsRepository.findById(id)
+                .map(analytics -> {
+                    spendingAnalyticsRepository.delete(analytics);
+                    responseCache.invalidateUser(analytics.getUserId());
+                    return true;
+                })
+                .orElse(false);
     }
 
     public boolean analyticsExistsForPeriod(Long userId, Long categoryId, String period, LocalDate analysisMonth) {
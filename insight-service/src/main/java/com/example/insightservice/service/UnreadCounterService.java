@@ -0,0 +1,195 @@
+package com.example.insightservice.service;
+
+import com.example.insightservice.repository.UserNotificationRepository;
+import com.example.insightservice.repository.UserRecommendationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory unread counters for notifications and recommendations, keyed by userId.
+ *
+ * A counter is seeded lazily from one COUNT query the first time it is read and is then
+ * adjusted in place by the write paths. Adjustments for users that have no counter yet are
+ * ignored, because the next read seeds from the database and already sees the change.
+ * Any drift from races between seeding and concurrent writes is corrected by a periodic
+ * grouped recount of every tracked user. The recount only overwrites a counter that did not
+ * move while it ran, so an adjustment made during the COUNT is never lost; a busy counter is
+ * left for a later pass. The same pass evicts counters that have not been
+ * read for idle-ttl, and at most max-entries users are tracked per kind; beyond that reads
+ * go straight to the database until idle counters have been evicted.
+ */
+@Service
+public class UnreadCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCounterService.class);
+
+    @Autowired
+    private UserNotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRecommendationRepository recommendationRepository;
+
+    @Value("${insight.unread-counters.reconcile-chunk-size:1000}")
+    private int reconcileChunkSize;
+
+    @Value("${insight.unread-counters.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${insight.unread-counters.idle-ttl-ms:1800000}")
+    private long idleTtlMs;
+
+    /**
+     * Unread count of one user plus the time it was last read, which drives idle eviction
+     */
+    private static final class Counter {
+
+        private final AtomicLong count;
+        private volatile long lastReadMillis;
+
+        Counter(long initial) {
+            count = new AtomicLong(initial);
+            lastReadMillis = System.currentTimeMillis();
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Counter> notificationCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Counter> recommendationCounters = new ConcurrentHashMap<>();
+
+    // =============================================
+    // Notifications
+    // =============================================
+
+    public long getUnreadNotificationCount(Long userId) {
+        return read(notificationCounters, userId, notificationRepository::countUnreadNotifications);
+    }
+
+    public void primeNotificationCount(Long userId, long unreadCount) {
+        prime(notificationCounters, userId, unreadCount);
+    }
+
+    public void adjustNotificationCount(Long userId, long delta) {
+        adjust(notificationCounters, userId, delta);
+    }
+
+    // =============================================
+    // Recommendations
+    // =============================================
+
+    public long getUnreadRecommendationCount(Long userId) {
+        return read(recommendationCounters, userId, recommendationRepository::countUnreadRecommendations);
+    }
+
+    public void adjustRecommendationCount(Long userId, long delta) {
+        adjust(recommendationCounters, userId, delta);
+    }
+
+    /**
+     * Drop all recommendation counters, used after bulk updates that span many users
+     */
+    public void invalidateRecommendationCounts() {
+        recommendationCounters.clear();
+    }
+
+    // =============================================
+    // Drift correction
+    // =============================================
+
+    @Scheduled(fixedDelayString = "${insight.unread-counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long idleBefore = System.currentTimeMillis() - idleTtlMs;
+        int evicted = evictIdle(notificationCounters, idleBefore) + evictIdle(recommendationCounters, idleBefore);
+        int corrected = reconcile(notificationCounters, notificationRepository::countUnreadNotificationsByUserIds)
+                + reconcile(recommendationCounters, recommendationRepository::countUnreadRecommendationsByUserIds);
+        if (corrected > 0 || evicted > 0) {
+            logger.info("Unread counter reconciliation corrected {} counters and evicted {} idle ones", corrected, evicted);
+        }
+    }
+
+    private long read(ConcurrentHashMap<Long, Counter> counters, Long userId, Function<Long, Long> loader) {
+        Counter counter = counters.get(userId);
+        if (counter == null) {
+            Long count = loader.apply(userId);
+            long unread = count != null ? count : 0L;
+            if (counters.size() >= maxEntries) {
+                // Full: serve this user from the database until eviction makes room
+                return Math.max(0L, unread);
+            }
+            Counter seeded = new Counter(unread);
+            Counter existing = counters.putIfAbsent(userId, seeded);
+            counter = existing != null ? existing : seeded;
+        }
+        counter.lastReadMillis = System.currentTimeMillis();
+        return Math.max(0L, counter.count.get());
+    }
+
+    private void prime(ConcurrentHashMap<Long, Counter> counters, Long userId, long count) {
+        if (counters.size() < maxEntries) {
+            counters.putIfAbsent(userId, new Counter(count));
+        }
+    }
+
+    private void adjust(ConcurrentHashMap<Long, Counter> counters, Long userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.count.addAndGet(delta);
+        }
+    }
+
+    private int evictIdle(ConcurrentHashMap<Long, Counter> counters, long idleBefore) {
+        int evicted = 0;
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            if (entry.getValue().lastReadMillis < idleBefore && counters.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private int reconcile(ConcurrentHashMap<Long, Counter> counters,
+                          Function<List<Long>, List<Object[]>> batchLoader) {
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += reconcileChunkSize) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + reconcileChunkSize, userIds.size()));
+
+            // Values before the COUNT: a counter that changed while it ran is left for the next pass
+            Map<Long, Long> before = new HashMap<>();
+            for (Long userId : chunk) {
+                Counter counter = counters.get(userId);
+                if (counter != null) {
+                    before.put(userId, counter.count.get());
+                }
+            }
+
+            Map<Long, Long> actual = new HashMap<>();
+            for (Object[] row : batchLoader.apply(chunk)) {
+                actual.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+
+            for (Map.Entry<Long, Long> entry : before.entrySet()) {
+                Counter counter = counters.get(entry.getKey());
+                long expected = actual.getOrDefault(entry.getKey(), 0L);
+                long seen = entry.getValue();
+                if (counter != null && seen != expected && counter.count.compareAndSet(seen, expected)) {
+                    corrected++;
+                }
+            }
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.insightservice.stream;
+
+import com.example.insightservice.metrics.InsightMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user registry of notification Server-Sent Events subscribers.
+ *
+ * Idle connections are parked as async servlet requests and hold no thread. Every connection
+ * has its own queue of pending events, drained by one task at a time on a small pool of
+ * {@code send-threads}, so a slow client never blocks the request that created the notification
+ * and events reach each client in the order they were published. The pool uses platform
+ * threads on purpose: SseEmitter.send writes inside a synchronized method, which would pin the
+ * carrier of a virtual thread for as long as the client takes to read. Payloads are serialized
+ * once per event, not once per subscriber, and heartbeats are bare SSE comments.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InsightMetrics metrics;
+
+    @Value("${insight.notifications.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${insight.notifications.stream.max-per-user:10}")
+    private int maxConnectionsPerUser;
+
+    @Value("${insight.notifications.stream.send-threads:4}")
+    private int sendThreads;
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    void startSendPool() {
+        AtomicInteger sequence = new AtomicInteger();
+        sendExecutor = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-send-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        Set<Subscriber> userSubscribers = subscribers.compute(userId, (id, existing) -> {
+            Set<Subscriber> set = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        metrics.recordStreamOpened();
+
+        if (userSubscribers.size() > maxConnectionsPerUser) {
+            // Evict an older connection rather than refusing the newest tab
+            userSubscribers.stream().filter(s -> s != subscriber).findFirst().ifPresent(s -> s.emitter.complete());
+        }
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        return userSubscribers != null && !userSubscribers.isEmpty();
+    }
+
+    /**
+     * Push a named event to every open stream of a user; each stream receives a user's events in
+     * publish order
+     */
+    public void publish(Long userId, String eventName, Object payload) {
+        Set<Subscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null || userSubscribers.isEmpty()) {
+            return;
+        }
+
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize {} event for user {}: {}", eventName, userId, e.getMessage());
+            return;
+        }
+
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.enqueue(SseEmitter.event().name(eventName).data(data), true);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${insight.notifications.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (Set<Subscriber> userSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.enqueue(SseEmitter.event().comment("hb"), false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(s -> s.emitter.complete()));
+        sendExecutor.shutdown();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            removed.set(set.remove(subscriber));
+            return set.isEmpty() ? null : set;
+        });
+        if (removed.get()) {
+            metrics.recordStreamClosed();
+        }
+    }
+
+    /**
+     * One open stream and its pending events. At most one drain task per stream is queued or
+     * running at a time, which keeps its events in order without holding a lock while writing.
+     */
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<PendingEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event, boolean counted) {
+            pending.add(new PendingEvent(event, counted));
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: the stream is being completed anyway
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            PendingEvent next;
+            while ((next = pending.poll()) != null) {
+                try {
+                    emitter.send(next.event());
+                    if (next.counted()) {
+                        metrics.recordStreamEventSent();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    if (next.counted()) {
+                        metrics.recordStreamSendFailure();
+                    }
+                    pending.clear();
+                    unsubscribe(this);
+                    break;
+                }
+            }
+            draining.set(false);
+            // An event queued after the last poll but before the flag was cleared still needs a drain
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private record PendingEvent(SseEmitter.SseEventBuilder event, boolean counted) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.insightservice.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DependencyGuardTest {
+
+    private final DependencyGuard guard = new DependencyGuard("test", new DependencyGuard.Settings(4, 2, 50, 60_000, 2, 0));
+
+    @Test
+    void clientErrorsAreRethrownAndNeverOpenTheCircuit() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(HttpClientErrorException.NotFound.class, () -> guard.call(() -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            }, (rejection, cause) -> "fallback"));
+        }
+
+        assertEquals(DependencyGuard.State.CLOSED, guard.getState());
+        assertEquals("ok", guard.call(() -> "ok", (rejection, cause) -> "fallback"));
+    }
+
+    @Test
+    void serverErrorsOpenTheCircuit() {
+        assertEquals("CALL_FAILED", failWith(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null)));
+        assertEquals("CALL_FAILED", failWith(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null)));
+
+        assertEquals(DependencyGuard.State.OPEN, guard.getState());
+        assertEquals("CIRCUIT_OPEN", guard.call(() -> "ok", (rejection, cause) -> rejection.name()));
+    }
+
+    @Test
+    void timeoutsOpenTheCircuit() {
+        ResourceAccessException timeout = new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out"));
+        failWith(timeout);
+        failWith(timeout);
+
+        assertEquals(DependencyGuard.State.OPEN, guard.getState());
+    }
+
+    @Test
+    void undecodableAnswersFallBackWithoutCountingAsOutages() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals("CALL_FAILED", failWith(new IllegalStateException("Unexpected token")));
+        }
+
+        assertEquals(DependencyGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void malformedBodiesWrappedByTheTransportFallBackWithoutCountingAsOutages() {
+        // RestTemplate wraps an IOException thrown while extracting the body, parse errors included
+        ResourceAccessException malformed = new ResourceAccessException("I/O error",
+                new JsonParseException(null, "Malformed value for \"targetDate\""));
+        for (int i = 0; i < 4; i++) {
+            assertEquals("CALL_FAILED", failWith(malformed));
+        }
+
+        assertEquals(DependencyGuard.State.CLOSED, guard.getState());
+    }
+
+    private String failWith(RuntimeException failure) {
+        return guard.call(() -> {
+            throw failure;
+        }, (rejection, cause) -> rejection.name());
+    }
+}
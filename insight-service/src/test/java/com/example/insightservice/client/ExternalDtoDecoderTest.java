@@ -0,0 +1,120 @@
+package com.example.insightservice.client;
+
+import com.example.insightservice.dto.external.GoalDto;
+import com.example.insightservice.dto.external.TransactionDto;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExternalDtoDecoderTest {
+
+    private static final String GOALS = "{\"success\": true, \"meta\": {\"ignored\": [1, 2]}, \"goals\": [" +
+            "{\"id\": 1, \"userId\": \"42\", \"title\": \"Emergency fund\", \"category\": {\"id\": 7, \"name\": \"Savings\"}," +
+            " \"targetAmount\": 5000.50, \"currentAmount\": \"1200\", \"targetDate\": \"2026-12-31\"," +
+            " \"status\": \"ACTIVE\", \"priorityLevel\": \"HIGH\", \"createdAt\": \"2025-01-02T03:04:05\", \"extra\": [1]}," +
+            "{\"id\": 2, \"userId\": 42, \"title\": null, \"targetDate\": null}" +
+            "], \"nextCursor\": \"2\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void goalsAreDecodedFieldByField() throws IOException {
+        List<GoalDto> goals = new ArrayList<>();
+        String nextCursor = ExternalDtoDecoder.forEachElement(json(GOALS), "goals",
+                element -> goals.add(ExternalDtoDecoder.readGoal(element)));
+
+        assertEquals("2", nextCursor);
+        assertEquals(2, goals.size());
+        GoalDto first = goals.get(0);
+        assertEquals(1L, first.getId());
+        assertEquals(42L, first.getUserId());
+        assertEquals(7L, first.getCategoryId());
+        assertEquals("Emergency fund", first.getName());
+        assertEquals(new BigDecimal("5000.50"), first.getTargetAmount());
+        assertEquals(new BigDecimal("1200"), first.getCurrentAmount());
+        assertEquals(LocalDate.of(2026, 12, 31), first.getTargetDate());
+        assertEquals("HIGH", first.getPriority());
+        assertEquals(LocalDateTime.of(2025, 1, 2, 3, 4, 5), first.getCreatedAt());
+        assertNull(goals.get(1).getName());
+        assertNull(goals.get(1).getTargetDate());
+    }
+
+    @Test
+    void smileBodiesDecodeTheSameAsJson() throws IOException {
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(objectMapper.readTree(GOALS));
+        List<GoalDto> goals = new ArrayList<>();
+        String nextCursor = ExternalDtoDecoder.forEachElement(new SmileFactory().createParser(smile), "goals",
+                element -> goals.add(ExternalDtoDecoder.readGoal(element)));
+
+        assertEquals("2", nextCursor);
+        assertEquals(2, goals.size());
+        assertEquals("Emergency fund", goals.get(0).getName());
+        assertEquals(0, new BigDecimal("5000.50").compareTo(goals.get(0).getTargetAmount()));
+        assertEquals(LocalDate.of(2026, 12, 31), goals.get(0).getTargetDate());
+    }
+
+    @Test
+    void groupedPageKeepsEachUsersElementsAndTheCursor() throws IOException {
+        ExternalDtoDecoder.GroupedPage<TransactionDto> page = ExternalDtoDecoder.readGroupedPage(json(
+                "{\"transactionsByUser\": {" +
+                        "\"5\": [{\"id\": 10, \"amount\": 12.5, \"type\": \"EXPENSE\", \"transactionDate\": \"2025-03-14\"}]," +
+                        "\"6\": []}, \"nextCursor\": 6}"),
+                "transactionsByUser", ExternalDtoDecoder::readTransaction);
+
+        assertEquals(6L, page.nextCursor());
+        assertEquals(List.of(5L, 6L), List.copyOf(page.groups().keySet()));
+        TransactionDto transaction = page.groups().get(5L).get(0);
+        assertEquals(new BigDecimal("12.5"), transaction.getAmount());
+        assertEquals(LocalDate.of(2025, 3, 14).atStartOfDay(), transaction.getTransactionDate());
+        assertTrue(page.groups().get(6L).isEmpty());
+    }
+
+    @Test
+    void malformedDateIsAParseErrorNamingTheField() {
+        JsonParseException e = assertThrows(JsonParseException.class, () -> ExternalDtoDecoder.forEachElement(
+                json("{\"goals\": [{\"id\": 1, \"targetDate\": \"31/12/2026\"}]}"), "goals", ExternalDtoDecoder::readGoal));
+
+        assertTrue(e.getMessage().contains("\"targetDate\""), e.getMessage());
+    }
+
+    @Test
+    void malformedNumberIsAParseErrorNamingTheField() {
+        JsonParseException e = assertThrows(JsonParseException.class, () -> ExternalDtoDecoder.forEachElement(
+                json("{\"transactions\": [{\"id\": 1, \"amount\": \"12,50\"}]}"), "transactions",
+                ExternalDtoDecoder::readTransaction));
+
+        assertTrue(e.getMessage().contains("\"amount\""), e.getMessage());
+    }
+
+    @Test
+    void malformedUserIdInAGroupedPageIsAParseError() {
+        assertThrows(JsonParseException.class, () -> ExternalDtoDecoder.readGroupedPage(
+                json("{\"transactionsByUser\": {\"abc\": []}}"), "transactionsByUser", ExternalDtoDecoder::readTransaction));
+    }
+
+    @Test
+    void truncatedBodyIsAParseError() {
+        assertThrows(JsonProcessingException.class, () -> ExternalDtoDecoder.forEachElement(
+                json("{\"goals\": [{\"id\": 1, \"title\": \"Emerg"), "goals", ExternalDtoDecoder::readGoal));
+    }
+
+    private JsonParser json(String body) throws IOException {
+        return objectMapper.getFactory().createParser(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.insightservice.client;
+
+import com.example.insightservice.dto.external.GoalDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@SpringBootTest(properties = {
+        "services.goal-service.url=http://goal-service",
+        "insight.clients.batch-size=3",
+        "insight.clients.binary-transport.enabled=false"
+})
+class GoalServiceClientBatchTest {
+
+    private static final String BATCH_URL = "http://goal-service/goals/batch";
+
+    @Autowired
+    private GoalServiceClient goalServiceClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void idsArePostedInSortedChunksAndTruncatedPagesAreResumed() {
+        // First chunk: Goal Service stops after user 2 at its row budget, so 3 is asked for again
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("{\"userIds\": [1, 2, 3]}", true))
+                .andRespond(withSuccess(page("{\"1\": [" + goal(10, 1) + "], \"2\": []}", 2), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(content().json("{\"userIds\": [3]}", true))
+                .andRespond(withSuccess(page("{\"3\": [" + goal(30, 3) + "]}", null), MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(content().json("{\"userIds\": [4, 5]}", true))
+                .andRespond(withSuccess(page("{\"4\": [], \"5\": [" + goal(50, 5) + "]}", null), MediaType.APPLICATION_JSON));
+
+        Map<Long, List<GoalDto>> goals = goalServiceClient.getGoalsForUsers(List.of(5L, 3L, 1L, 4L, 2L, 3L));
+
+        server.verify();
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), List.copyOf(goals.keySet()));
+        assertEquals(10L, goals.get(1L).get(0).getId());
+        assertTrue(goals.get(2L).isEmpty());
+        assertEquals("Goal 30", goals.get(3L).get(0).getName());
+        assertEquals(50L, goals.get(5L).get(0).getId());
+    }
+
+    @Test
+    void failedChunkLeavesItsUsersOutAndTheRestAreStillFetched() {
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(content().json("{\"userIds\": [101, 102, 103]}", true))
+                .andRespond(withServerError());
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(content().json("{\"userIds\": [104]}", true))
+                .andRespond(withSuccess(page("{\"104\": []}", null), MediaType.APPLICATION_JSON));
+
+        Map<Long, List<GoalDto>> goals = goalServiceClient.getGoalsForUsers(List.of(101L, 102L, 103L, 104L));
+
+        server.verify();
+        assertEquals(List.of(104L), List.copyOf(goals.keySet()));
+    }
+
+    @Test
+    void chunkWithAMalformedDateFallsBackAndTheRestAreStillFetched() {
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(content().json("{\"userIds\": [201, 202, 203]}", true))
+                .andRespond(withSuccess(page("{\"201\": [{\"id\": 1, \"targetDate\": \"31/12/2026\"}]}", null),
+                        MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BATCH_URL))
+                .andExpect(content().json("{\"userIds\": [204]}", true))
+                .andRespond(withSuccess(page("{\"204\": [" + goal(40, 204) + "]}", null), MediaType.APPLICATION_JSON));
+
+        Map<Long, List<GoalDto>> goals = goalServiceClient.getGoalsForUsers(List.of(201L, 202L, 203L, 204L));
+
+        server.verify();
+        assertEquals(List.of(204L), List.copyOf(goals.keySet()));
+    }
+
+    private static String page(String goalsByUser, Integer nextCursor) {
+        return "{\"success\": true, \"goalsByUser\": " + goalsByUser + ", \"nextCursor\": " + nextCursor + "}";
+    }
+
+    private static String goal(long id, long userId) {
+        return "{\"id\": " + id + ", \"userId\": " + userId + ", \"title\": \"Goal " + id + "\", \"targetAmount\": 100.00}";
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.insightservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestTemplateConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RestTemplateConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(RestTemplateBuilder.class, RestTemplateBuilder::new);
+
+    @Test
+    void servicesAtDistinctAddressesGetTheirOwnSettings() {
+        contextRunner
+                .withPropertyValues("services.goal-service.url=http://goal-service:8083",
+                        "services.user-finance.url=http://user-finance-service:8082")
+                .run(context -> assertThat(context).hasSingleBean(PoolingHttpClientConnectionManager.class));
+    }
+
+    @Test
+    void twoServicesAtOneAddressFailAtStartup() {
+        contextRunner
+                .withPropertyValues("services.goal-service.url=http://gateway:8080",
+                        "services.user-finance.url=http://gateway:8080/finance")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("gateway:8080"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.insightservice.controller;
+
+import com.example.insightservice.client.GoalServiceClient;
+import com.example.insightservice.client.UserFinanceServiceClient;
+import com.example.insightservice.service.IntegratedResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Spending-vs-goals and recommendations are built from per-user aggregates, never the raw transaction list
+@SpringBootTest
+@AutoConfigureMockMvc
+class IntegratedInsightAggregatesTest {
+
+    private static final long USER_ID = 4_301L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IntegratedResponseCache responseCache;
+
+    @MockitoBean
+    private GoalServiceClient goalServiceClient;
+
+    @MockitoBean
+    private UserFinanceServiceClient userFinanceClient;
+
+    @BeforeEach
+    void setUp() {
+        responseCache.invalidateUser(USER_ID);
+        when(goalServiceClient.getUserGoals(USER_ID)).thenReturn(List.of());
+        when(userFinanceClient.getUserExpenseTotalsByCategory(USER_ID))
+                .thenReturn(Map.of(3L, new BigDecimal("420.00"), 5L, new BigDecimal("80.00")));
+        when(userFinanceClient.getUserTransactionSummary(USER_ID)).thenReturn(Map.of(
+                "success", true, "totalIncome", 1000, "totalExpense", 500, "balance", 500));
+        when(userFinanceClient.getAllCategories()).thenReturn(List.of());
+    }
+
+    @Test
+    void spendingVsGoalsUsesCategoryTotals() throws Exception {
+        mockMvc.perform(get("/integrated/user/{userId}/spending-vs-goals", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.spendingVsGoalsAnalysis.spendingByCategory.3").value(420.00));
+
+        verify(userFinanceClient, never()).getUserTransactions(anyLong());
+    }
+
+    @Test
+    void recommendationsUseCategoryTotalsAndTheSummary() throws Exception {
+        mockMvc.perform(get("/integrated/user/{userId}/recommendations", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.recommendations[*].categoryId", hasItem(3)));
+
+        verify(userFinanceClient).getUserTransactionSummary(USER_ID);
+        verify(userFinanceClient, never()).getUserTransactions(anyLong());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.insightservice.controller;
+
+import com.example.insightservice.client.DependencyGuard;
+import com.example.insightservice.client.DependencyUnavailableException;
+import com.example.insightservice.client.GoalServiceClient;
+import com.example.insightservice.client.UserFinanceServiceClient;
+import com.example.insightservice.dto.external.GoalDto;
+import com.example.insightservice.service.IntegratedResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IntegratedInsightDegradationTest {
+
+    private static final long USER_ID = 42L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IntegratedResponseCache responseCache;
+
+    @MockitoBean
+    private GoalServiceClient goalServiceClient;
+
+    @MockitoBean
+    private UserFinanceServiceClient userFinanceClient;
+
+    @BeforeEach
+    void setUp() {
+        responseCache.invalidateUser(USER_ID);
+        when(userFinanceClient.getUserTransactions(USER_ID)).thenReturn(List.of());
+    }
+
+    @Test
+    void staleFallbackIsServedButFlaggedPartialAndNotCached() throws Exception {
+        GoalDto staleGoal = new GoalDto();
+        staleGoal.setId(7L);
+        staleGoal.setName("Emergency fund");
+        staleGoal.setTargetAmount(new BigDecimal("1000"));
+        staleGoal.setCurrentAmount(new BigDecimal("250"));
+        staleGoal.setStatus("ACTIVE");
+        when(goalServiceClient.getUserGoals(USER_ID)).thenThrow(new DependencyUnavailableException(
+                "goal-service", DependencyGuard.Rejection.CIRCUIT_OPEN, List.of(staleGoal), null));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/integrated/user/{userId}/goal-progress-analysis", USER_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Insight-Cache", "MISS"))
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.partial").value(true))
+                    .andExpect(jsonPath("$.degradedDependencies", contains("goal-service.goals")))
+                    .andExpect(jsonPath("$.goalAnalysis.totalGoals").value(1));
+        }
+    }
+
+    @Test
+    void unavailableWithoutStaleValueIsFlaggedPartialAndNotCached() throws Exception {
+        when(goalServiceClient.getUserGoals(USER_ID)).thenThrow(new DependencyUnavailableException(
+                "goal-service", DependencyGuard.Rejection.CALL_FAILED, null, new IllegalStateException("down")));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/integrated/user/{userId}/goal-progress-analysis", USER_ID))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("X-Insight-Cache", "MISS"))
+                    .andExpect(jsonPath("$.partial").value(true))
+                    .andExpect(jsonPath("$.degradedDependencies", contains("goal-service.goals")));
+        }
+    }
+}
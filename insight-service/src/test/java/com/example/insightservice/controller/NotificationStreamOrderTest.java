@@ -0,0 +1,129 @@
+package com.example.insightservice.controller;
+
+import com.example.insightservice.stream.NotificationStreamRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationStreamOrderTest {
+
+    private static final long USER_ID = 9_901L;
+    private static final int ROUNDS = 30;
+    private static final int PUBLISHES = 1_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NotificationStreamRegistry streamRegistry;
+
+    @Test
+    void eventsReachTheStreamInTheOrderTheyHappened() throws Exception {
+        MockHttpServletResponse stream = openStream(USER_ID);
+
+        // Each round: a new notification (unread 1), then reading it (unread 0)
+        for (int i = 0; i < ROUNDS; i++) {
+            String created = mockMvc.perform(post("/notifications")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"userId\": " + USER_ID + ", \"notificationType\": \"GOAL_MILESTONE\", " +
+                                    "\"title\": \"Milestone " + i + "\", \"message\": \"Reached\"}"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            long id = objectMapper.readTree(created).path("notification").path("id").asLong();
+            mockMvc.perform(put("/notifications/{id}/read", id)).andExpect(status().isOk());
+        }
+
+        List<Event> events = awaitEvents(stream, 1 + 2 * ROUNDS, event -> true);
+
+        assertEquals(new Event("unread-count", 0), events.get(0));
+        for (int i = 0; i < ROUNDS; i++) {
+            assertEquals(new Event("notification", 1), events.get(1 + 2 * i), "round " + i);
+            assertEquals(new Event("unread-count", 0), events.get(2 + 2 * i), "round " + i);
+        }
+    }
+
+    @Test
+    void backToBackPublishesKeepTheirOrderOnEveryStream() throws Exception {
+        long userId = USER_ID + 1;
+        List<MockHttpServletResponse> streams = List.of(openStream(userId), openStream(userId));
+
+        for (int i = 1; i <= PUBLISHES; i++) {
+            streamRegistry.publish(userId, "unread-count", Map.of("unreadCount", i));
+        }
+
+        for (MockHttpServletResponse stream : streams) {
+            // Skip the initial counts of 0 pushed on subscribe
+            List<Long> counts = awaitEvents(stream, PUBLISHES, event -> event.unreadCount() > 0).stream()
+                    .map(Event::unreadCount)
+                    .toList();
+            assertEquals(LongStream.rangeClosed(1, PUBLISHES).boxed().toList(), counts);
+        }
+    }
+
+    private MockHttpServletResponse openStream(long userId) throws Exception {
+        return mockMvc.perform(get("/notifications/user/{userId}/stream", userId).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    private List<Event> awaitEvents(MockHttpServletResponse stream, int expected, Predicate<Event> filter) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<Event> events = parse(stream.getContentAsString(), filter);
+        while (events.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = parse(stream.getContentAsString(), filter);
+        }
+        assertEquals(expected, events.size());
+        return events;
+    }
+
+    private List<Event> parse(String body, Predicate<Event> filter) throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (String block : body.split("\n\n")) {
+            String name = null;
+            String data = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    data = line.substring("data:".length());
+                }
+            }
+            if (name != null && data != null) {
+                JsonNode payload = objectMapper.readTree(data);
+                Event event = new Event(name, payload.path("unreadCount").asLong());
+                if (filter.test(event)) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    private record Event(String name, long unreadCount) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.insightservice.controller;
+
+import com.example.insightservice.entity.UserNotification;
+import com.example.insightservice.repository.UserNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Legacy poller endpoints, with the internal dispatcher off so it does not race the assertions
+@SpringBootTest(properties = "insight.dispatcher.enabled=false")
+@AutoConfigureMockMvc
+class ScheduledToSendEndpointTest {
+
+    private static final long USER_ID = 8_901L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserNotificationRepository notificationRepository;
+
+    @Test
+    void notificationsDueAtCreationAreAlreadySentAndNotListed() throws Exception {
+        mockMvc.perform(post("/notifications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": " + USER_ID + ", \"notificationType\": \"GOAL_MILESTONE\", " +
+                                "\"title\": \"Due now\", \"message\": \"Delivered in-app on insert\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notification.sentAt").isNotEmpty());
+
+        mockMvc.perform(get("/notifications/scheduled-to-send"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notifications[*].title", not(hasItem("Due now"))));
+    }
+
+    @Test
+    void futureNotificationIsListedOnceDueUntilMarkedSent() throws Exception {
+        UserNotification future = save("Later", LocalDateTime.now().plusHours(1));
+        UserNotification due = save("Overdue", LocalDateTime.now().minusMinutes(5));
+
+        mockMvc.perform(get("/notifications/scheduled-to-send"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notifications[*].id", hasItem(due.getId().intValue())))
+                .andExpect(jsonPath("$.notifications[*].id", not(hasItem(future.getId().intValue()))));
+
+        mockMvc.perform(put("/notifications/{id}/mark-sent", due.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        mockMvc.perform(get("/notifications/scheduled-to-send"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.notifications[*].id", not(hasItem(due.getId().intValue()))));
+    }
+
+    private UserNotification save(String title, LocalDateTime scheduledFor) {
+        UserNotification notification = new UserNotification();
+        notification.setUserId(USER_ID);
+        notification.setNotificationType(UserNotification.NotificationType.GOAL_DEADLINE);
+        notification.setTitle(title);
+        notification.setMessage("Scheduled reminder");
+        notification.setScheduledFor(scheduledFor);
+        return notificationRepository.save(notification);
+    }
+}
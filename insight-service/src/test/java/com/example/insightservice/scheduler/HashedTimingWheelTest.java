@@ -0,0 +1,43 @@
+package com.example.insightservice.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void itemsNeverFireBeforeTheirDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(50, 8, 1_000);
+        wheel.schedule("mid-tick", 1_120);
+        wheel.schedule("on-boundary", 1_150);
+
+        assertTrue(wheel.advance(1_119).isEmpty());
+        assertTrue(wheel.advance(1_149).isEmpty());
+        assertEquals(List.of("mid-tick", "on-boundary"), wheel.advance(1_150));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 4, 0);
+        wheel.schedule("late", 100);
+
+        for (long now = 10; now < 100; now += 10) {
+            assertTrue(wheel.advance(now).isEmpty(), "fired at " + now);
+        }
+        assertEquals(List.of("late"), wheel.advance(100));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(50, 8, 1_000);
+        wheel.advance(2_000);
+        wheel.schedule("overdue", 1_500);
+
+        assertEquals(List.of("overdue"), wheel.advance(2_050));
+    }
+}
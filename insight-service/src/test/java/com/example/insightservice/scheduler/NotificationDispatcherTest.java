@@ -0,0 +1,85 @@
+package com.example.insightservice.scheduler;
+
+import com.example.insightservice.entity.UserNotification;
+import com.example.insightservice.repository.UserNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Polls are driven by the test; the wheel ticks every 50 ms
+@SpringBootTest(properties = {
+        "insight.dispatcher.enabled=true",
+        "insight.dispatcher.poll-interval-ms=3600000",
+        "insight.dispatcher.tick-ms=50"
+})
+class NotificationDispatcherTest {
+
+    private static final long USER_ID = 8_801L;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private UserNotificationRepository notificationRepository;
+
+    @Test
+    void claimedNotificationIsSentAtItsSlotAndReleased() throws Exception {
+        UserNotification notification = futureNotification(LocalDateTime.now().plusSeconds(1));
+
+        dispatcher.poll();
+
+        UserNotification claimed = notificationRepository.findById(notification.getId()).orElseThrow();
+        assertNotNull(claimed.getClaimedBy());
+        assertTrue(claimed.getClaimExpiresAt().isAfter(claimed.getScheduledFor()));
+        assertNull(claimed.getSentAt());
+
+        // A second poll finds nothing left to claim
+        dispatcher.poll();
+        assertEquals(claimed.getClaimedBy(), notificationRepository.findById(notification.getId()).orElseThrow().getClaimedBy());
+
+        UserNotification sent = awaitSent(notification.getId());
+        assertNull(sent.getClaimedBy());
+        assertNull(sent.getClaimExpiresAt());
+        assertFalse(sent.getSentAt().isBefore(sent.getScheduledFor()));
+    }
+
+    @Test
+    void notificationsBeyondTheHorizonAreLeftUnclaimed() {
+        UserNotification notification = futureNotification(LocalDateTime.now().plusHours(2));
+
+        dispatcher.poll();
+
+        UserNotification unclaimed = notificationRepository.findById(notification.getId()).orElseThrow();
+        assertNull(unclaimed.getClaimedBy());
+        assertNull(unclaimed.getSentAt());
+    }
+
+    private UserNotification futureNotification(LocalDateTime scheduledFor) {
+        UserNotification notification = new UserNotification();
+        notification.setUserId(USER_ID);
+        notification.setNotificationType(UserNotification.NotificationType.GOAL_DEADLINE);
+        notification.setTitle("Reminder");
+        notification.setMessage("Goal deadline is coming up");
+        notification.setScheduledFor(scheduledFor);
+        return notificationRepository.save(notification);
+    }
+
+    private UserNotification awaitSent(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        UserNotification current = notificationRepository.findById(id).orElseThrow();
+        while (current.getSentAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            current = notificationRepository.findById(id).orElseThrow();
+        }
+        assertNotNull(current.getSentAt(), "notification was not dispatched");
+        return current;
+    }
+}
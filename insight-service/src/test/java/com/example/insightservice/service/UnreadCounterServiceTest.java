@@ -0,0 +1,116 @@
+package com.example.insightservice.service;
+
+import com.example.insightservice.repository.UserNotificationRepository;
+import com.example.insightservice.repository.UserRecommendationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCounterServiceTest {
+
+    private static final long USER_ID = 11L;
+
+    @Mock
+    private UserNotificationRepository notificationRepository;
+
+    @Mock
+    private UserRecommendationRepository recommendationRepository;
+
+    @InjectMocks
+    private UnreadCounterService counters;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(counters, "reconcileChunkSize", 1000);
+        ReflectionTestUtils.setField(counters, "maxEntries", 100);
+        ReflectionTestUtils.setField(counters, "idleTtlMs", 60_000L);
+    }
+
+    @Test
+    void seededOnceThenAdjustedInPlace() {
+        when(notificationRepository.countUnreadNotifications(USER_ID)).thenReturn(3L);
+
+        assertEquals(3, counters.getUnreadNotificationCount(USER_ID));
+        counters.adjustNotificationCount(USER_ID, 2);
+        counters.adjustNotificationCount(USER_ID, -1);
+
+        assertEquals(4, counters.getUnreadNotificationCount(USER_ID));
+        verify(notificationRepository, times(1)).countUnreadNotifications(USER_ID);
+    }
+
+    @Test
+    void adjustmentsForUntrackedUsersAreLeftToTheSeedingCount() {
+        counters.adjustNotificationCount(USER_ID, 5);
+        when(notificationRepository.countUnreadNotifications(USER_ID)).thenReturn(5L);
+
+        assertEquals(5, counters.getUnreadNotificationCount(USER_ID));
+    }
+
+    @Test
+    void countNeverGoesBelowZero() {
+        when(notificationRepository.countUnreadNotifications(USER_ID)).thenReturn(1L);
+        counters.getUnreadNotificationCount(USER_ID);
+
+        counters.adjustNotificationCount(USER_ID, -3);
+
+        assertEquals(0, counters.getUnreadNotificationCount(USER_ID));
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        when(notificationRepository.countUnreadNotifications(USER_ID)).thenReturn(3L);
+        counters.getUnreadNotificationCount(USER_ID);
+        when(notificationRepository.countUnreadNotificationsByUserIds(List.of(USER_ID)))
+                .thenReturn(List.<Object[]>of(new Object[] {USER_ID, 7L}));
+
+        counters.reconcile();
+
+        assertEquals(7, counters.getUnreadNotificationCount(USER_ID));
+    }
+
+    @Test
+    void adjustmentDuringTheRecountIsNotLost() {
+        when(notificationRepository.countUnreadNotifications(USER_ID)).thenReturn(3L);
+        counters.getUnreadNotificationCount(USER_ID);
+        // A notification is marked read while the COUNT runs, after the COUNT saw it as unread
+        when(notificationRepository.countUnreadNotificationsByUserIds(anyList())).thenAnswer(invocation -> {
+            counters.adjustNotificationCount(USER_ID, -1);
+            return List.<Object[]>of(new Object[] {USER_ID, 5L});
+        });
+
+        counters.reconcile();
+
+        // The moving counter is left alone rather than overwritten with the stale 5
+        assertEquals(2, counters.getUnreadNotificationCount(USER_ID));
+
+        when(notificationRepository.countUnreadNotificationsByUserIds(anyList()))
+                .thenReturn(List.<Object[]>of(new Object[] {USER_ID, 4L}));
+        counters.reconcile();
+
+        assertEquals(4, counters.getUnreadNotificationCount(USER_ID));
+    }
+
+    @Test
+    void usersMissingFromTheRecountHaveNoUnread() {
+        when(notificationRepository.countUnreadNotifications(USER_ID)).thenReturn(2L);
+        counters.getUnreadNotificationCount(USER_ID);
+        when(notificationRepository.countUnreadNotificationsByUserIds(anyList())).thenReturn(List.of());
+
+        counters.reconcile();
+
+        assertEquals(0, counters.getUnreadNotificationCount(USER_ID));
+    }
+}
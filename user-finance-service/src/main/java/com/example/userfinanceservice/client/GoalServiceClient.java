@@ -0,0 +1,45 @@
+package com.example.userfinanceservice.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+@Service
+public class GoalServiceClient {
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${services.goal-service.url:http://localhost:8084}")
+    private String goalServiceUrl;
+
+    /**
+     * Owner of a goal, or null when Goal Service does not know it.
+     * Throws a RestClientException when Goal Service cannot answer.
+     */
+    public Long getGoalOwnerId(Long goalId) {
+        String url = goalServiceUrl + "/goals/" + goalId;
+
+        ResponseEntity<Map<String, Object>> response;
+        try {
+            response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<Map<String, Object>>() {}
+            );
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
+        }
+
+        Object userId = response.getBody() != null ? response.getBody().get("userId") : null;
+        return userId != null ? Long.valueOf(userId.toString()) : null;
+    }
+}
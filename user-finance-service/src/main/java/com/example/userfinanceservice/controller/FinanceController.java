@@ -4,7 +4,9 @@ import com.example.userfinanceservice.dto.request.CategoryRequest;
 import com.example.userfinanceservice.dto.request.TransactionRequest;
 import com.example.userfinanceservice.dto.response.CategoryResponse;
 import com.example.userfinanceservice.dto.response.TransactionResponse;
+import com.example.userfinanceservice.entity.Transaction;
 import com.example.userfinanceservice.service.CategoryService;
+import com.example.userfinanceservice.service.DataVersionService;
 import com.example.userfinanceservice.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,7 +17,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -29,6 +33,9 @@ public class FinanceController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
     // Health Check
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the finance service is running")
@@ -70,14 +77,82 @@ public class FinanceController {
     @Operation(summary = "Get user transactions", description = "Retrieve all transactions for a specific user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User transactions retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "User not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Map<String, Object>> getTransactionsByUserId(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getTransactionsByUserId(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
         Map<String, Object> response = transactionService.getTransactionsByUserId(userId);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/transactions/batch")
+    @Operation(summary = "Get transactions for many users", description = "Retrieve transactions for a list of users in one call, grouped by user ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User transactions retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getTransactionsByUserIds(@RequestParam List<Long> userIds, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(userIds))) {
+            return null;
+        }
+        Map<String, Object> response = transactionService.getTransactionsByUserIds(userIds);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/transactions/batch")
+    @Operation(summary = "Get transactions for many users", description = "Same as GET /transactions/batch with the user IDs in the body ({\"userIds\": [...]}), for lists too long for a URL; resend the IDs above nextCursor when it is set")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User transactions retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> postTransactionsByUserIds(@RequestBody Map<String, List<Long>> request) {
+        Map<String, Object> response = transactionService.getTransactionsByUserIds(request.get("userIds"));
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/transactions/batch/range")
+    @Operation(summary = "Get transactions for a user ID range", description = "Page through users with transactions in [fromUserId, toUserId], grouped by user ID; pass nextCursor back as after")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User transactions retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getTransactionsByUserRange(@RequestParam(required = false) Long fromUserId,
+                                                                          @RequestParam(required = false) Long toUserId,
+                                                                          @RequestParam(required = false) Long after,
+                                                                          @RequestParam(defaultValue = "500") int limit) {
+        Map<String, Object> response = transactionService.getTransactionsByUserRange(fromUserId, toUserId, after, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/transactions/batch/monthly-cash-flow")
+    @Operation(summary = "Get monthly cash flow for many users", description = "Monthly income and expense totals over the last N complete months for a list of users, grouped by user ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Monthly cash flow retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getMonthlyCashFlowByUserIds(@RequestParam List<Long> userIds,
+                                                                           @RequestParam(defaultValue = "6") int months) {
+        Map<String, Object> response = transactionService.getMonthlyCashFlowByUserIds(userIds, months);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/transactions/batch/monthly-cash-flow")
+    @Operation(summary = "Get monthly cash flow for many users", description = "Same as GET /transactions/batch/monthly-cash-flow with the user IDs in the body ({\"userIds\": [...]}), for lists too long for a URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Monthly cash flow retrieved successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> postMonthlyCashFlowByUserIds(@RequestBody Map<String, List<Long>> request,
+                                                                            @RequestParam(defaultValue = "6") int months) {
+        Map<String, Object> response = transactionService.getMonthlyCashFlowByUserIds(request.get("userIds"), months);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/transactions/{id}")
     @Operation(summary = "Get transaction by ID", description = "Retrieve a specific transaction by ID")
     @ApiResponses(value = {
@@ -135,14 +210,35 @@ public class FinanceController {
     @Operation(summary = "Get transaction summary", description = "Get a summary of user's transactions (income, expenses, balance)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Summary retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "User not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<Map<String, Object>> getUserTransactionSummary(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getUserTransactionSummary(@PathVariable Long userId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
         Map<String, Object> response = transactionService.getUserTransactionSummary(userId);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/transactions/user/{userId}/category-totals")
+    @Operation(summary = "Get category totals", description = "Get the user's transaction totals grouped by category, optionally for one type (INCOME or EXPENSE)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Category totals retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getUserCategoryTotals(@PathVariable Long userId,
+                                                                     @RequestParam(required = false) Transaction.TransactionType type,
+                                                                     WebRequest webRequest) {
+        if (webRequest.checkNotModified(dataVersionService.etag(userId))) {
+            return null;
+        }
+        Map<String, Object> response = transactionService.getUserCategoryTotals(userId, type);
+        return ResponseEntity.ok(response);
+    }
+
     // Category Endpoints
     @PostMapping("/categories")
     @Operation(summary = "Create category", description = "Create a new transaction category")
@@ -13,6 +13,7 @@ public class TransactionRequest {
     private Transaction.TransactionType type;
     private LocalDate transactionDate;
     private String notes;
+    private Long goalId;
 
     // Constructors
     public TransactionRequest() {}
@@ -73,4 +74,12 @@ public class TransactionRequest {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
 }
\ No newline at end of file
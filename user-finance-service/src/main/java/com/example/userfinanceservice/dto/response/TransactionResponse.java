@@ -15,6 +15,7 @@ public class TransactionResponse {
     private Transaction.TransactionType type;
     private LocalDate transactionDate;
     private String notes;
+    private Long goalId;
     private LocalDateTime createdAt;
 
     // Constructors
@@ -85,6 +86,14 @@ public class TransactionResponse {
         this.notes = notes;
     }
 
+    public Long getGoalId() {
+        return goalId;
+    }
+
+    public void setGoalId(Long goalId) {
+        this.goalId = goalId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_type_category", columnList = "user_id, transaction_type, category_id"),
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date")
+})
 public class Transaction {
 
     @Id
@@ -47,6 +50,11 @@ public class Transaction {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // Bumped by every update and carried in transaction events, so consumers can order them
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     // Constructors
     public Transaction() {
         this.createdAt = LocalDateTime.now();
@@ -120,6 +128,14 @@ public class Transaction {
         this.goalId = goalId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getNotes() {
         return notes;
     }
@@ -13,11 +13,13 @@ public class TransactionEvent implements Serializable {
     private Long userId;
     private String type;
     private String category;
+    private Long goalId;
     private String description;
     private BigDecimal amount;
     private LocalDateTime transactionDate;
     private LocalDateTime createdAt;
     private String eventType; // CREATED, UPDATED, DELETED
+    private Long version; // Transaction version; a DELETED event is one past the last update
 
     // Constructors
     public TransactionEvent() {}
@@ -49,6 +51,9 @@ public class TransactionEvent implements Serializable {
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
 
+    public Long getGoalId() { return goalId; }
+    public void setGoalId(Long goalId) { this.goalId = goalId; }
+
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
@@ -63,4 +68,7 @@ public class TransactionEvent implements Serializable {
 
     public String getEventType() { return eventType; }
     public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -1,6 +1,7 @@
 package com.example.userfinanceservice.repository;
 
 import com.example.userfinanceservice.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -30,4 +32,32 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.userId = :userId AND t.transactionType = :type AND t.transactionDate BETWEEN :startDate AND :endDate")
     BigDecimal getTotalAmountByUserIdAndTypeAndDateRange(@Param("userId") Long userId, @Param("type") Transaction.TransactionType type, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+
+    @Query("SELECT t.category.id, t.transactionType, SUM(t.amount), COUNT(t) FROM Transaction t " +
+           "WHERE t.userId = :userId GROUP BY t.category.id, t.transactionType")
+    List<Object[]> sumAmountsByCategory(@Param("userId") Long userId);
+
+    @Query("SELECT t.category.id, t.transactionType, SUM(t.amount), COUNT(t) FROM Transaction t " +
+           "WHERE t.userId = :userId AND t.transactionType = :type GROUP BY t.category.id, t.transactionType")
+    List<Object[]> sumAmountsByCategoryAndType(@Param("userId") Long userId, @Param("type") Transaction.TransactionType type);
+
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.userId IN :userIds ORDER BY t.userId, t.transactionDate DESC")
+    List<Transaction> findByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // Rows: userId, transaction count
+    @Query("SELECT t.userId, COUNT(t) FROM Transaction t WHERE t.userId IN :userIds GROUP BY t.userId")
+    List<Object[]> countByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    // Rows: userId, transaction count; users in (afterUserId, toUserId] ascending
+    @Query("SELECT t.userId, COUNT(t) FROM Transaction t WHERE t.userId > :afterUserId AND t.userId <= :toUserId " +
+           "GROUP BY t.userId ORDER BY t.userId")
+    List<Object[]> countByUserIdInRange(@Param("afterUserId") Long afterUserId, @Param("toUserId") Long toUserId, Pageable pageable);
+
+    // Rows: userId, year, month, transactionType, totalAmount
+    @Query("SELECT t.userId, YEAR(t.transactionDate), MONTH(t.transactionDate), t.transactionType, SUM(t.amount) " +
+           "FROM Transaction t WHERE t.userId IN :userIds AND t.transactionDate >= :from AND t.transactionDate < :to " +
+           "GROUP BY t.userId, YEAR(t.transactionDate), MONTH(t.transactionDate), t.transactionType")
+    List<Object[]> sumMonthlyAmountsByUserIdIn(@Param("userIds") Collection<Long> userIds,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+}
@@ -18,6 +18,9 @@ public class CategoryService {
     @Autowired
     private TransactionCategoryRepository categoryRepository;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
     public Map<String, Object> createCategory(CategoryRequest request) {
         Map<String, Object> response = new HashMap<>();
 
@@ -99,6 +102,8 @@ public class CategoryService {
         }
 
         TransactionCategory updatedCategory = categoryRepository.save(category);
+        // Transaction listings embed the category
+        dataVersionService.bump(DataVersionService.GLOBAL);
         CategoryResponse categoryResponse = convertToCategoryResponse(updatedCategory);
 
         response.put("success", true);
@@ -119,6 +124,7 @@ public class CategoryService {
         }
 
         categoryRepository.deleteById(id);
+        dataVersionService.bump(DataVersionService.GLOBAL);
 
         response.put("success", true);
         response.put("message", "Category deleted successfully");
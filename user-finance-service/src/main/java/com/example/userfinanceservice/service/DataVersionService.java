@@ -0,0 +1,98 @@
+package com.example.userfinanceservice.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Per-user data versions behind the weak ETags of this service's read endpoints.
+ *
+ * Writers call {@link #bump} after their data rows are written: as the last statement of their
+ * transaction where the write has one (so the version row is always locked after the data rows,
+ * one lock order for every writer), otherwise right after the write has committed. Readers take
+ * the ETag before running their query. Whatever the interleaving, a response is never tagged with
+ * a version newer than its data: a write landing in between yields newer data under the older tag,
+ * which only costs one extra full response later, never a stale 304.
+ *
+ * goal-service and user-finance-service each keep an identical copy of this class and of
+ * UserDataVersion; keep them in sync.
+ */
+@Service
+public class DataVersionService {
+
+    /**
+     * Pseudo user whose version covers shared data (categories)
+     */
+    public static final long GLOBAL = 0L;
+
+    private static final String INCREMENT =
+            "UPDATE user_data_versions SET version = version + 1, updated_at = ? WHERE user_id = ?";
+
+    private static final String INSERT =
+            "INSERT INTO user_data_versions (user_id, version, updated_at) VALUES (?, 1, ?)";
+
+    private static final String SELECT_VERSIONS =
+            "SELECT user_id, version FROM user_data_versions WHERE user_id IN (:userIds)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public void bump(Long userId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update(INCREMENT, now, userId) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT, userId, now);
+        } catch (DuplicateKeyException e) {
+            // A concurrent first write created the row
+            jdbcTemplate.update(INCREMENT, now, userId);
+        }
+    }
+
+    /**
+     * Weak ETag of one user's data, from one primary-key lookup
+     */
+    public String etag(Long userId) {
+        Map<Long, Long> versions = versions(List.of(GLOBAL, userId));
+        return "W/\"" + versions.getOrDefault(userId, 0L) + "." + versions.getOrDefault(GLOBAL, 0L) + "\"";
+    }
+
+    /**
+     * Weak ETag over the data of several users
+     */
+    public String etag(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(new TreeSet<>(userIds));
+        ids.add(GLOBAL);
+        Map<Long, Long> versions = versions(ids);
+        StringBuilder key = new StringBuilder();
+        for (Long id : ids) {
+            key.append(id).append(':').append(versions.getOrDefault(id, 0L)).append(',');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private Map<Long, Long> versions(List<Long> userIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_VERSIONS, new MapSqlParameterSource("userIds", userIds),
+                rs -> { versions.put(rs.getLong("user_id"), rs.getLong("version")); });
+        return versions;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.userfinanceservice.service;
 
+import com.example.userfinanceservice.client.GoalServiceClient;
 import com.example.userfinanceservice.client.InsightServiceClient;
 import com.example.userfinanceservice.dto.request.TransactionRequest;
 import com.example.userfinanceservice.dto.response.CategoryResponse;
@@ -12,16 +13,26 @@ import com.example.userfinanceservice.metrics.FinanceMetrics;
 import com.example.userfinanceservice.repository.TransactionRepository;
 import com.example.userfinanceservice.repository.TransactionCategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestClientException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 @Service
 public class TransactionService {
@@ -35,12 +46,27 @@ public class TransactionService {
     @Autowired
     private InsightServiceClient insightServiceClient;
 
+    @Autowired
+    private GoalServiceClient goalServiceClient;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Autowired(required = false)
     private TransactionEventProducer eventProducer;
 
     @Autowired(required = false)
     private FinanceMetrics metrics;
 
+    @Value("${finance.batch.max-users:1000}")
+    private int batchMaxUsers;
+
+    @Value("${finance.batch.max-rows:5000}")
+    private int batchMaxRows;
+
+    @Value("${finance.cash-flow.max-months:24}")
+    private int cashFlowMaxMonths;
+
     public Map<String, Object> createTransaction(TransactionRequest request) {
         Map<String, Object> response = new HashMap<>();
 
@@ -77,6 +103,13 @@ public class TransactionService {
             return response;
         }
 
+        String goalError = validateGoalLink(request.getGoalId(), request.getUserId());
+        if (goalError != null) {
+            response.put("success", false);
+            response.put("message", goalError);
+            return response;
+        }
+
         // Create transaction
         Transaction transaction = new Transaction();
         transaction.setUserId(request.getUserId());
@@ -86,8 +119,10 @@ public class TransactionService {
         transaction.setType(request.getType() != null ? request.getType() : Transaction.TransactionType.EXPENSE);
         transaction.setTransactionDate(request.getTransactionDate() != null ? request.getTransactionDate() : LocalDate.now());
         transaction.setNotes(request.getNotes());
+        transaction.setGoalId(request.getGoalId());
 
         Transaction savedTransaction = transactionRepository.save(transaction);
+        dataVersionService.bump(savedTransaction.getUserId());
 
         // Record metrics
         if (metrics != null) {
@@ -97,7 +132,7 @@ public class TransactionService {
 
         // Async: Publish Kafka event (non-blocking)
         if (eventProducer != null) {
-            publishTransactionEventAsync(savedTransaction);
+            publishTransactionEventAsync(savedTransaction, "CREATED");
         }
 
         // Async: Notify Insight Service about new transaction (non-blocking)
@@ -116,25 +151,58 @@ public class TransactionService {
      * Asynchronously publishes transaction event to Kafka
      * Does not block the main request thread
      */
-    private void publishTransactionEventAsync(Transaction savedTransaction) {
+    private void publishTransactionEventAsync(Transaction transaction, String eventType) {
         try {
             TransactionEvent event = new TransactionEvent(
-                savedTransaction.getId(),
-                savedTransaction.getUserId(),
-                savedTransaction.getType().toString(),
-                savedTransaction.getCategory().getName(),
-                savedTransaction.getDescription(),
-                savedTransaction.getAmount(),
-                savedTransaction.getTransactionDate().atStartOfDay(),
+                transaction.getId(),
+                transaction.getUserId(),
+                transaction.getType().toString(),
+                transaction.getCategory().getName(),
+                transaction.getDescription(),
+                transaction.getAmount(),
+                transaction.getTransactionDate().atStartOfDay(),
                 LocalDateTime.now(),
-                "CREATED"
+                eventType
             );
-            eventProducer.publishTransactionCreatedAsync(event);
+            event.setGoalId(transaction.getGoalId());
+            // A delete removes the row without bumping its version, so it ranks one past the last update
+            long version = transaction.getVersion() != null ? transaction.getVersion() : 0L;
+            event.setVersion("DELETED".equals(eventType) ? version + 1 : version);
+            switch (eventType) {
+                case "UPDATED" -> eventProducer.publishTransactionUpdatedAsync(event);
+                case "DELETED" -> eventProducer.publishTransactionDeletedAsync(event);
+                default -> eventProducer.publishTransactionCreatedAsync(event);
+            }
         } catch (Exception e) {
             System.err.println("Failed to queue Kafka event for publishing: " + e.getMessage());
         }
     }
 
+    /**
+     * Error message when the goal may not be linked to the user's transaction, or null when it may.
+     * Non-positive ids mean "no goal". If Goal Service cannot answer the link is accepted: goal-service
+     * only ever applies contributions to goals the transaction's user owns.
+     */
+    private String validateGoalLink(Long goalId, Long userId) {
+        if (goalId == null || goalId <= 0) {
+            return null;
+        }
+        Long ownerId;
+        try {
+            ownerId = goalServiceClient.getGoalOwnerId(goalId);
+        } catch (RestClientException e) {
+            System.err.println("Could not verify goal " + goalId + " with Goal Service: " + e.getMessage());
+            return null;
+        }
+        if (ownerId == null) {
+            return "Goal not found";
+        }
+        if (!ownerId.equals(userId)) {
+            return "Goal does not belong to this user";
+        }
+        return null;
+    }
+
     /**
      * Asynchronously notifies Insight Service about new transaction
      * Does not block the main request thread
@@ -163,11 +231,7 @@ public class TransactionService {
     public Map<String, Object> getTransactionsByUserId(Long userId) {
         Map<String, Object> response = new HashMap<>();
 
-        List<Transaction> allTransactions = transactionRepository.findAll();
-        List<Transaction> transactions = allTransactions.stream()
-                .filter(transaction -> transaction.getUserId().equals(userId))
-                .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                .toList();
+        List<Transaction> transactions = transactionRepository.findByUserIdOrderByTransactionDateDesc(userId);
         List<TransactionResponse> transactionResponses = transactions.stream()
                 .map(this::convertToTransactionResponse)
                 .toList();
@@ -180,6 +244,180 @@ public class TransactionService {
         return response;
     }
 
+    /**
+     * Transactions for many users from one IN query, grouped by user in ascending id order; every requested user up to
+     * the max-rows budget gets an entry, and nextCursor (the last included user) is set when the rest were left out
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTransactionsByUserIds(List<Long> userIds) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (userIds == null || userIds.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "At least one user ID is required");
+            return response;
+        }
+        if (userIds.size() > batchMaxUsers) {
+            response.put("success", false);
+            response.put("message", "At most " + batchMaxUsers + " user IDs per request");
+            return response;
+        }
+
+        // Ascending ids, so a page cut short by max-rows can be resumed from nextCursor
+        List<Long> ids = new ArrayList<>(new TreeSet<>(userIds));
+        List<Long> page = withinRowBudget(ids, counts(transactionRepository.countByUserIdIn(ids)));
+        Map<Long, List<TransactionResponse>> transactionsByUser = new LinkedHashMap<>();
+        for (Long userId : page) {
+            transactionsByUser.put(userId, new ArrayList<>());
+        }
+        int count = groupByUser(transactionRepository.findByUserIdIn(page), transactionsByUser);
+
+        response.put("success", true);
+        response.put("message", "User transactions retrieved successfully");
+        response.put("transactionsByUser", transactionsByUser);
+        response.put("userCount", transactionsByUser.size());
+        response.put("count", count);
+        response.put("nextCursor", page.size() < ids.size() ? page.get(page.size() - 1) : null);
+
+        return response;
+    }
+
+    /**
+     * One page of users with transactions in (after, toUserId], ascending; pass nextCursor back as after
+     * until it is null. A user's transactions are never split across pages.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTransactionsByUserRange(Long fromUserId, Long toUserId, Long after, int limit) {
+        Map<String, Object> response = new HashMap<>();
+
+        int pageSize = Math.max(1, Math.min(limit, batchMaxUsers));
+        long afterUserId = after != null ? after : (fromUserId != null ? Math.max(fromUserId, Long.MIN_VALUE + 1) - 1 : Long.MIN_VALUE);
+        long upperUserId = toUserId != null ? toUserId : Long.MAX_VALUE;
+
+        Map<Long, Long> counts = counts(transactionRepository.countByUserIdInRange(afterUserId, upperUserId, PageRequest.of(0, pageSize)));
+        List<Long> userIds = new ArrayList<>(counts.keySet());
+        List<Long> page = withinRowBudget(userIds, counts);
+
+        Map<Long, List<TransactionResponse>> transactionsByUser = new LinkedHashMap<>();
+        for (Long userId : page) {
+            transactionsByUser.put(userId, new ArrayList<>());
+        }
+        int count = page.isEmpty() ? 0 : groupByUser(transactionRepository.findByUserIdIn(page), transactionsByUser);
+
+        response.put("success", true);
+        response.put("message", "User transactions retrieved successfully");
+        response.put("transactionsByUser", transactionsByUser);
+        response.put("userCount", transactionsByUser.size());
+        response.put("count", count);
+        response.put("nextCursor", page.size() < userIds.size() || userIds.size() == pageSize
+                ? page.get(page.size() - 1) : null);
+
+        return response;
+    }
+
+    /**
+     * Monthly income and expense totals for many users over the last {@code months} complete months,
+     * from one GROUP BY. Arrays are oldest month first and zero-filled, and every requested user gets an entry.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getMonthlyCashFlowByUserIds(List<Long> userIds, int months) {
+        Map<String, Object> response = new HashMap<>();
+
+        if (userIds == null || userIds.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "At least one user ID is required");
+            return response;
+        }
+        if (userIds.size() > batchMaxUsers) {
+            response.put("success", false);
+            response.put("message", "At most " + batchMaxUsers + " user IDs per request");
+            return response;
+        }
+        if (months < 1 || months > cashFlowMaxMonths) {
+            response.put("success", false);
+            response.put("message", "months must be between 1 and " + cashFlowMaxMonths);
+            return response;
+        }
+
+        YearMonth to = YearMonth.now();
+        YearMonth from = to.minusMonths(months);
+
+        Map<Long, BigDecimal[][]> totals = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            totals.put(userId, new BigDecimal[][] {zeros(months), zeros(months)});
+        }
+        List<Object[]> rows = transactionRepository.sumMonthlyAmountsByUserIdIn(
+                totals.keySet(), from.atDay(1), to.atDay(1));
+        for (Object[] row : rows) {
+            BigDecimal[][] userTotals = totals.get((Long) row[0]);
+            int month = (int) from.until(YearMonth.of(((Number) row[1]).intValue(), ((Number) row[2]).intValue()), ChronoUnit.MONTHS);
+            int series = row[3] == Transaction.TransactionType.INCOME ? 0 : 1;
+            if (userTotals != null && month >= 0 && month < months && row[4] != null) {
+                userTotals[series][month] = (BigDecimal) row[4];
+            }
+        }
+
+        List<String> monthLabels = new ArrayList<>(months);
+        for (int i = 0; i < months; i++) {
+            monthLabels.add(from.plusMonths(i).toString());
+        }
+        Map<Long, Map<String, Object>> cashFlowByUser = new LinkedHashMap<>();
+        totals.forEach((userId, userTotals) -> {
+            Map<String, Object> cashFlow = new HashMap<>();
+            cashFlow.put("income", userTotals[0]);
+            cashFlow.put("expense", userTotals[1]);
+            cashFlowByUser.put(userId, cashFlow);
+        });
+
+        response.put("success", true);
+        response.put("message", "Monthly cash flow retrieved successfully");
+        response.put("months", monthLabels);
+        response.put("cashFlowByUser", cashFlowByUser);
+        response.put("userCount", cashFlowByUser.size());
+
+        return response;
+    }
+
+    private static BigDecimal[] zeros(int length) {
+        BigDecimal[] values = new BigDecimal[length];
+        Arrays.fill(values, BigDecimal.ZERO);
+        return values;
+    }
+
+    /**
+     * Leading users of the list whose transactions fit in max-rows together; the first user is always included,
+     * so every page makes progress and a user's transactions are never split
+     */
+    private List<Long> withinRowBudget(List<Long> userIds, Map<Long, Long> counts) {
+        long rows = 0;
+        int users = 0;
+        for (Long userId : userIds) {
+            long userRows = counts.getOrDefault(userId, 0L);
+            if (users > 0 && rows + userRows > batchMaxRows) {
+                break;
+            }
+            rows += userRows;
+            users++;
+        }
+        return userIds.subList(0, users);
+    }
+
+    private static Map<Long, Long> counts(List<Object[]> rows) {
+        Map<Long, Long> counts = new TreeMap<>();
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private int groupByUser(List<Transaction> transactions, Map<Long, List<TransactionResponse>> transactionsByUser) {
+        for (Transaction transaction : transactions) {
+            transactionsByUser.computeIfAbsent(transaction.getUserId(), id -> new ArrayList<>())
+                    .add(convertToTransactionResponse(transaction));
+        }
+        return transactions.size();
+    }
+
     public TransactionResponse getTransactionById(Long id) {
         Optional<Transaction> transactionOpt = transactionRepository.findById(id);
         return transactionOpt.map(this::convertToTransactionResponse).orElse(null);
@@ -197,6 +435,13 @@ public class TransactionService {
 
         Transaction transaction = transactionOpt.get();
 
+        String goalError = validateGoalLink(request.getGoalId(), transaction.getUserId());
+        if (goalError != null) {
+            response.put("success", false);
+            response.put("message", goalError);
+            return response;
+        }
+
         // Update fields
         if (request.getAmount() != null) {
             transaction.setAmount(request.getAmount());
@@ -219,8 +464,18 @@ public class TransactionService {
         if (request.getNotes() != null) {
             transaction.setNotes(request.getNotes());
         }
+        if (request.getGoalId() != null) {
+            // 0 (or any non-positive id) unlinks the transaction from its goal
+            transaction.setGoalId(request.getGoalId() > 0 ? request.getGoalId() : null);
+        }
 
         Transaction updatedTransaction = transactionRepository.save(transaction);
+        dataVersionService.bump(updatedTransaction.getUserId());
+
+        // Async: Publish Kafka event (non-blocking); goal-service keeps its contribution ledger from these
+        if (eventProducer != null) {
+            publishTransactionEventAsync(updatedTransaction, "UPDATED");
+        }
 
         // Async: Notify Insight Service about updated transaction (non-blocking)
         notifyInsightServiceAsync(updatedTransaction);
@@ -248,6 +503,12 @@ public class TransactionService {
         Long userId = transaction.getUserId();
 
         transactionRepository.deleteById(id);
+        dataVersionService.bump(userId);
+
+        // Async: Publish Kafka event (non-blocking)
+        if (eventProducer != null) {
+            publishTransactionEventAsync(transaction, "DELETED");
+        }
 
         // Async: Notify Insight Service about deleted transaction (non-blocking)
         insightServiceClient.notifyTransactionDeletedAsync(id, userId);
@@ -262,20 +523,9 @@ public class TransactionService {
     public Map<String, Object> getUserTransactionSummary(Long userId) {
         Map<String, Object> response = new HashMap<>();
 
-        List<Transaction> allTransactions = transactionRepository.findAll();
-        List<Transaction> userTransactions = allTransactions.stream()
-                .filter(transaction -> transaction.getUserId().equals(userId))
-                .toList();
-
-        BigDecimal totalIncome = userTransactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.INCOME)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalExpense = userTransactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.EXPENSE)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Summed in the database for this user only; SUM over no rows is null
+        BigDecimal totalIncome = transactionRepository.getTotalAmountByUserIdAndType(userId, Transaction.TransactionType.INCOME);
+        BigDecimal totalExpense = transactionRepository.getTotalAmountByUserIdAndType(userId, Transaction.TransactionType.EXPENSE);
 
         if (totalIncome == null) totalIncome = BigDecimal.ZERO;
         if (totalExpense == null) totalExpense = BigDecimal.ZERO;
@@ -291,6 +541,35 @@ public class TransactionService {
         return response;
     }
 
+    /**
+     * Per-category totals computed in one GROUP BY, so callers don't need the raw transactions
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUserCategoryTotals(Long userId, Transaction.TransactionType type) {
+        Map<String, Object> response = new HashMap<>();
+
+        List<Object[]> rows = type != null
+                ? transactionRepository.sumAmountsByCategoryAndType(userId, type)
+                : transactionRepository.sumAmountsByCategory(userId);
+
+        List<Map<String, Object>> categoryTotals = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> total = new HashMap<>();
+            total.put("categoryId", row[0]);
+            total.put("type", row[1]);
+            total.put("totalAmount", row[2] != null ? row[2] : BigDecimal.ZERO);
+            total.put("transactionCount", row[3]);
+            categoryTotals.add(total);
+        }
+
+        response.put("success", true);
+        response.put("message", "Category totals retrieved successfully");
+        response.put("categoryTotals", categoryTotals);
+        response.put("count", categoryTotals.size());
+
+        return response;
+    }
+
     private TransactionResponse convertToTransactionResponse(Transaction transaction) {
         TransactionResponse response = new TransactionResponse();
         response.setId(transaction.getId());
@@ -300,6 +579,7 @@ public class TransactionService {
         response.setType(transaction.getType());
         response.setTransactionDate(transaction.getTransactionDate());
         response.setNotes(transaction.getNotes());
+        response.setGoalId(transaction.getGoalId());
         response.setCreatedAt(transaction.getCreatedAt());
 
         // Convert category
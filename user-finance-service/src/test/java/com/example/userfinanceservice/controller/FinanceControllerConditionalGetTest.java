@@ -0,0 +1,98 @@
+package com.example.userfinanceservice.controller;
+
+import com.example.userfinanceservice.client.GoalServiceClient;
+import com.example.userfinanceservice.entity.TransactionCategory;
+import com.example.userfinanceservice.event.TransactionEventProducer;
+import com.example.userfinanceservice.repository.TransactionCategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class FinanceControllerConditionalGetTest {
+
+    private static final long USER_ID = 701L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionCategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private GoalServiceClient goalServiceClient;
+
+    @MockitoBean
+    private TransactionEventProducer eventProducer;
+
+    private TransactionCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new TransactionCategory("ETag Test " + System.nanoTime(),
+                TransactionCategory.CategoryType.EXPENSE, "#000000"));
+    }
+
+    @Test
+    void unchangedTransactionsAnswer304WithoutRunningTheListQuery() throws Exception {
+        String etag = fetchEtag();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/finance/transactions/user/{userId}", USER_ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // The ETag comes from one JDBC lookup of the version rows; the transaction listing never runs
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void writeChangesTheTag() throws Exception {
+        String before = fetchEtag();
+
+        mockMvc.perform(post("/finance/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": " + USER_ID + ", \"amount\": 12.50, \"description\": \"Coffee\", " +
+                                "\"categoryId\": " + category.getId() + ", \"type\": \"EXPENSE\"}"))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(jsonPath("$.success").value(true));
+
+        String after = mockMvc.perform(get("/finance/transactions/user/{userId}", USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+    }
+
+    private String fetchEtag() throws Exception {
+        String etag = mockMvc.perform(get("/finance/transactions/user/{userId}", USER_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
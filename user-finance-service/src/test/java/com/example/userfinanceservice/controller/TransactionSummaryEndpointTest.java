@@ -0,0 +1,115 @@
+package com.example.userfinanceservice.controller;
+
+import com.example.userfinanceservice.client.GoalServiceClient;
+import com.example.userfinanceservice.entity.Transaction;
+import com.example.userfinanceservice.entity.TransactionCategory;
+import com.example.userfinanceservice.event.TransactionEventProducer;
+import com.example.userfinanceservice.repository.TransactionCategoryRepository;
+import com.example.userfinanceservice.repository.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class TransactionSummaryEndpointTest {
+
+    private static final long USER_ID = 901L;
+    private static final long OTHER_USER_ID = 902L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionCategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private GoalServiceClient goalServiceClient;
+
+    @MockitoBean
+    private TransactionEventProducer eventProducer;
+
+    private TransactionCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new TransactionCategory("Summary Test " + System.nanoTime(),
+                TransactionCategory.CategoryType.EXPENSE, "#000000"));
+    }
+
+    @Test
+    void summaryIsSummedForTheUserWithoutLoadingTransactions() throws Exception {
+        long userId = USER_ID;
+        save(userId, "1000.00", Transaction.TransactionType.INCOME, LocalDate.of(2025, 1, 1));
+        save(userId, "250.50", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 1, 2));
+        save(userId, "49.50", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 1, 3));
+        save(OTHER_USER_ID, "9999.00", Transaction.TransactionType.INCOME, LocalDate.of(2025, 1, 1));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/finance/transactions/user/{userId}/summary", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalIncome").value(1000.00))
+                .andExpect(jsonPath("$.totalExpense").value(300.00))
+                .andExpect(jsonPath("$.balance").value(700.00));
+
+        // Two aggregate queries; no transaction rows are materialised
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void summaryOfAUserWithoutTransactionsIsZero() throws Exception {
+        mockMvc.perform(get("/finance/transactions/user/{userId}/summary", USER_ID + 10))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalIncome").value(0))
+                .andExpect(jsonPath("$.totalExpense").value(0))
+                .andExpect(jsonPath("$.balance").value(0));
+    }
+
+    @Test
+    void userTransactionsAreOnlyThatUsersNewestFirst() throws Exception {
+        long userId = USER_ID + 20;
+        save(userId, "10.00", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 2, 1));
+        save(userId, "20.00", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 3, 1));
+        save(OTHER_USER_ID, "30.00", Transaction.TransactionType.EXPENSE, LocalDate.of(2025, 4, 1));
+
+        mockMvc.perform(get("/finance/transactions/user/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.transactions[0].amount").value(20.00))
+                .andExpect(jsonPath("$.transactions[1].amount").value(10.00));
+    }
+
+    private void save(long userId, String amount, Transaction.TransactionType type, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setUserId(userId);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription("Summary test");
+        transaction.setCategory(category);
+        transaction.setType(type);
+        transaction.setTransactionDate(date);
+        transactionRepository.save(transaction);
+    }
+}
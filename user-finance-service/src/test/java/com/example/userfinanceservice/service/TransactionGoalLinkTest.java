@@ -0,0 +1,112 @@
+package com.example.userfinanceservice.service;
+
+import com.example.userfinanceservice.client.GoalServiceClient;
+import com.example.userfinanceservice.dto.request.TransactionRequest;
+import com.example.userfinanceservice.dto.response.TransactionResponse;
+import com.example.userfinanceservice.entity.Transaction;
+import com.example.userfinanceservice.entity.TransactionCategory;
+import com.example.userfinanceservice.event.TransactionEvent;
+import com.example.userfinanceservice.event.TransactionEventProducer;
+import com.example.userfinanceservice.repository.TransactionCategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class TransactionGoalLinkTest {
+
+    private static final long USER_ID = 501L;
+    private static final long OWN_GOAL = 11L;
+    private static final long FOREIGN_GOAL = 12L;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionCategoryRepository categoryRepository;
+
+    @MockitoBean
+    private GoalServiceClient goalServiceClient;
+
+    @MockitoBean
+    private TransactionEventProducer eventProducer;
+
+    private TransactionCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new TransactionCategory("Goal Link Test " + System.nanoTime(),
+                TransactionCategory.CategoryType.INCOME, "#000000"));
+        when(goalServiceClient.getGoalOwnerId(OWN_GOAL)).thenReturn(USER_ID);
+        when(goalServiceClient.getGoalOwnerId(FOREIGN_GOAL)).thenReturn(USER_ID + 1);
+    }
+
+    @Test
+    void rejectsGoalsOfOtherUsersOnCreateAndUpdate() {
+        Map<String, Object> created = transactionService.createTransaction(request(FOREIGN_GOAL));
+        assertFalse((Boolean) created.get("success"));
+        assertEquals("Goal does not belong to this user", created.get("message"));
+
+        Map<String, Object> own = transactionService.createTransaction(request(OWN_GOAL));
+        assertTrue((Boolean) own.get("success"));
+
+        TransactionRequest relink = new TransactionRequest();
+        relink.setGoalId(FOREIGN_GOAL);
+        Map<String, Object> updated = transactionService.updateTransaction(transactionId(own), relink);
+        assertFalse((Boolean) updated.get("success"));
+    }
+
+    @Test
+    void acceptsTheLinkWhenGoalServiceCannotAnswer() {
+        when(goalServiceClient.getGoalOwnerId(99L)).thenThrow(new ResourceAccessException("down"));
+
+        assertTrue((Boolean) transactionService.createTransaction(request(99L)).get("success"));
+    }
+
+    @Test
+    void eventsCarryIncreasingVersions() {
+        Long id = transactionId(transactionService.createTransaction(request(OWN_GOAL)));
+        TransactionRequest update = new TransactionRequest();
+        update.setAmount(new BigDecimal("200.00"));
+        transactionService.updateTransaction(id, update);
+        transactionService.deleteTransaction(id);
+
+        ArgumentCaptor<TransactionEvent> created = ArgumentCaptor.forClass(TransactionEvent.class);
+        ArgumentCaptor<TransactionEvent> updated = ArgumentCaptor.forClass(TransactionEvent.class);
+        ArgumentCaptor<TransactionEvent> deleted = ArgumentCaptor.forClass(TransactionEvent.class);
+        verify(eventProducer).publishTransactionCreatedAsync(created.capture());
+        verify(eventProducer).publishTransactionUpdatedAsync(updated.capture());
+        verify(eventProducer).publishTransactionDeletedAsync(deleted.capture());
+        assertEquals(0L, created.getValue().getVersion());
+        assertEquals(1L, updated.getValue().getVersion());
+        assertEquals(2L, deleted.getValue().getVersion());
+    }
+
+    private TransactionRequest request(Long goalId) {
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(USER_ID);
+        request.setAmount(new BigDecimal("100.00"));
+        request.setDescription("Savings transfer");
+        request.setCategoryId(category.getId());
+        request.setType(Transaction.TransactionType.INCOME);
+        request.setGoalId(goalId);
+        return request;
+    }
+
+    private static Long transactionId(Map<String, Object> response) {
+        return ((TransactionResponse) response.get("transaction")).getId();
+    }
+}